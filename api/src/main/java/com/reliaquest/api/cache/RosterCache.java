@@ -0,0 +1,313 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeHttpClient;
+import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StopWatch;
+
+/**
+ * Caches the employee roster fetched from the employee service so that read endpoints do not hit the upstream on
+ * every request.
+ * <p>
+ * A snapshot younger than {@code ttl} is served as is. A snapshot older than {@code ttl} but younger than
+ * {@code maxStale} is still served while a single background refresh replaces it (stale-while-revalidate). Anything
+ * older, or a snapshot invalidated by a write, is reloaded synchronously by the caller.
+ * <p>
+ * Snapshots are tagged with the roster version of the employee service. A snapshot is brought up to date by fetching
+ * only the changes since its version, and the full roster is fetched only if the employee service can no longer serve
+ * them.
+ * <p>
+ * Every loaded snapshot is passed to the registered {@link RosterSnapshotListener}s together with its diff to the
+ * previous one, so that indexes over the roster are maintained incrementally. Listeners are only notified while the
+ * cache is enabled.
+ */
+@Component
+@Slf4j
+public class RosterCache {
+    private final EmployeeHttpClient employeeHttpClient;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration maxStale;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final List<RosterSnapshotListener> listeners;
+
+    private final AtomicReference<RosterSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    // Guarded by loadLock
+    private RosterSnapshot lastNotified;
+    // Guarded by loadLock. Last full roster fetched and the version recorded before fetching it.
+    private List<Employee> lastFetched;
+    private Long lastFetchedVersion;
+
+    @Autowired
+    public RosterCache(EmployeeHttpClient employeeHttpClient,
+                       @Value("${employee.roster.cache.enabled:true}") boolean enabled,
+                       @Value("${employee.roster.cache.ttl:30s}") Duration ttl,
+                       @Value("${employee.roster.cache.max-stale:5m}") Duration maxStale,
+                       @Qualifier("employeeClientExecutor") Executor refreshExecutor,
+                       List<RosterSnapshotListener> listeners) {
+        this(employeeHttpClient, enabled, ttl, maxStale, refreshExecutor, Clock.systemUTC(), listeners);
+    }
+
+    RosterCache(EmployeeHttpClient employeeHttpClient, boolean enabled, Duration ttl, Duration maxStale,
+                Executor refreshExecutor, Clock clock, List<RosterSnapshotListener> listeners) {
+        if (maxStale.compareTo(ttl) < 0) {
+            throw new IllegalArgumentException("employee.roster.cache.max-stale must not be shorter than the ttl");
+        }
+        this.employeeHttpClient = employeeHttpClient;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /**
+     * @return whether snapshots are cached and listeners are maintained
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the current roster snapshot, loading it from the employee service if there is no usable one.
+     * @return roster snapshot
+     * @throws InternalServerErrorException if the roster has to be loaded and the employee service call fails
+     */
+    public RosterSnapshot getSnapshot() throws InternalServerErrorException {
+        if (!enabled) {
+            return RosterSnapshot.of(employeeHttpClient.getAllEmployees(), clock.instant(), generation.get());
+        }
+
+        RosterSnapshot current = snapshot.get();
+        Instant now = clock.instant();
+        if (!isUsable(current, now)) {
+            return loadSynchronously();
+        }
+
+        if (current.isOlderThan(ttl, now)) {
+            scheduleRefresh();
+        }
+        return current;
+    }
+
+    /**
+     * Discards the current snapshot so that the next read reloads the roster. Loads that are in flight when this is
+     * called are discarded as well.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+        log.debug("Invalidated roster snapshot.");
+    }
+
+    /**
+     * Applies a write that succeeded against the employee service to the current snapshot, so that it is visible to
+     * reads without reloading the roster. The patched snapshot keeps the load time of the snapshot it was derived
+     * from, so it is still revalidated against the employee service once its ttl has passed. Without a usable
+     * snapshot this is a no-op, as the next read loads the roster including the write.
+     * @param diff employees created and deleted by the write
+     */
+    public void apply(RosterDiff diff) {
+        if (!enabled || diff.isFull()) {
+            invalidate();
+            return;
+        }
+
+        loadLock.lock();
+        try {
+            RosterSnapshot current = snapshot.get();
+            if (!isUsable(current, clock.instant())) {
+                return;
+            }
+            RosterSnapshot patched = current.apply(diff);
+            notifyListeners(patched, diff);
+            snapshot.set(patched);
+            log.debug("Applied write to roster snapshot. added={} removed={}",
+                diff.getAdded().size(), diff.getRemoved().size());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Applies a delete by name that succeeded against the employee service. The employee service deletes the oldest
+     * employee with the name, ignoring case, and only reports whether it deleted one, so the deleted employee is only
+     * known if the snapshot has a single employee with the name. Otherwise the snapshot is invalidated.
+     * @param name name the employee was deleted by
+     */
+    public void applyDeleteByName(String name) {
+        if (!enabled) {
+            return;
+        }
+
+        loadLock.lock();
+        try {
+            RosterSnapshot current = snapshot.get();
+            if (!isUsable(current, clock.instant())) {
+                return;
+            }
+            List<Employee> namesakes = current.getEmployees().stream()
+                .filter(employee -> employee.getName() != null && employee.getName().equalsIgnoreCase(name))
+                .limit(2)
+                .toList();
+            if (namesakes.size() != 1) {
+                log.debug("Deleted employee is ambiguous, invalidating roster snapshot. matches={}", namesakes.size());
+                invalidate();
+                return;
+            }
+            RosterDiff diff = RosterDiff.of(List.of(), namesakes);
+            RosterSnapshot patched = current.apply(diff);
+            notifyListeners(patched, diff);
+            snapshot.set(patched);
+            log.debug("Applied delete by name to roster snapshot.");
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private boolean isUsable(RosterSnapshot current, Instant now) {
+        return current != null
+            && current.getGeneration() == generation.get()
+            && !current.isOlderThan(maxStale, now);
+    }
+
+    private RosterSnapshot loadSynchronously() throws InternalServerErrorException {
+        loadLock.lock();
+        try {
+            // Another caller may have loaded the roster while this one was waiting for the lock
+            RosterSnapshot current = snapshot.get();
+            if (isUsable(current, clock.instant())) {
+                return current;
+            }
+            return load();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void scheduleRefresh() {
+        if (!refreshScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                loadLock.lock();
+                try {
+                    RosterSnapshot current = snapshot.get();
+                    if (current == null || current.isOlderThan(ttl, clock.instant())) {
+                        load();
+                    }
+                } catch (Exception e) {
+                    log.warn("Background refresh of the roster failed, serving stale snapshot.", e);
+                } finally {
+                    loadLock.unlock();
+                    refreshScheduled.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshScheduled.set(false);
+            log.warn("Could not schedule background refresh of the roster.", e);
+        }
+    }
+
+    private RosterSnapshot load() throws InternalServerErrorException {
+        long loadGeneration = generation.get();
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        RosterSnapshot current = snapshot.get();
+        Optional<RosterSnapshot> advanced = current != null && current.getGeneration() == loadGeneration
+            ? advance(current) : Optional.empty();
+        RosterSnapshot loaded;
+        if (advanced.isPresent()) {
+            loaded = advanced.get();
+        } else {
+            loaded = loadFull(loadGeneration);
+            notifyListeners(loaded, RosterDiff.between(lastNotified, loaded));
+        }
+        stopWatch.stop();
+        // A snapshot from an outdated generation is never served, so it is safe to publish it unconditionally
+        snapshot.set(loaded);
+        log.debug("Loaded roster snapshot. size={} incremental={} timeTaken={}",
+            loaded.size(), advanced.isPresent(), stopWatch.getTotalTimeMillis());
+        return loaded;
+    }
+
+    private Optional<RosterSnapshot> advance(RosterSnapshot current) throws InternalServerErrorException {
+        if (current.getVersion() == null) {
+            return Optional.empty();
+        }
+        Optional<EmployeeChanges> changes = employeeHttpClient.getEmployeeChanges(current.getVersion());
+        if (changes.isEmpty() || changes.get().getChanges() == null) {
+            return Optional.empty();
+        }
+        RosterDiff diff = RosterDiff.fromChanges(current, changes.get().getChanges());
+        if (diff.isFull()) {
+            return Optional.empty();
+        }
+        RosterSnapshot advanced = current.advance(diff, clock.instant(), changes.get().getVersion());
+        // Listeners may not have seen the current snapshot, if one of them failed on it
+        notifyListeners(advanced, lastNotified == current ? diff : RosterDiff.between(lastNotified, advanced));
+        return Optional.of(advanced);
+    }
+
+    private RosterSnapshot loadFull(long loadGeneration) throws InternalServerErrorException {
+        // Changes are applied idempotently, so a version recorded before the fetch is safe to advance from
+        Long version = employeeHttpClient.getEmployeeChanges(null).map(EmployeeChanges::getVersion).orElse(null);
+        List<Employee> employees = employeeHttpClient.getAllEmployees();
+        if (employees == lastFetched) {
+            // While the employee service is throttling the client serves the last fetched roster again, which may
+            // predate the version just recorded
+            version = lastFetchedVersion;
+        }
+        lastFetched = employees;
+        lastFetchedVersion = version;
+        return RosterSnapshot.of(employees, clock.instant(), loadGeneration, version);
+    }
+
+    private void notifyListeners(RosterSnapshot loaded, RosterDiff diff) {
+        if (lastNotified == null) {
+            diff = RosterDiff.full();
+        }
+        if (diff.isEmpty()) {
+            lastNotified = loaded;
+            return;
+        }
+
+        boolean failed = false;
+        for (RosterSnapshotListener listener : listeners) {
+            try {
+                listener.onSnapshot(loaded, diff);
+            } catch (RuntimeException e) {
+                failed = true;
+                log.error("Failed to apply roster snapshot to listener={}", listener.getClass().getSimpleName(), e);
+            }
+        }
+        // After a failure nothing is known about the listener's state, so the next snapshot is a full rebuild
+        lastNotified = failed ? null : loaded;
+    }
+}
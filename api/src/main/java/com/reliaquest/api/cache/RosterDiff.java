@@ -0,0 +1,142 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Changes between two roster snapshots, used to maintain derived structures incrementally. A diff is either a list of
+ * added and removed employees, or a full diff telling listeners to rebuild from the new snapshot.
+ * <p>
+ * An employee whose attributes changed shows up as removed (old version) and added (new version).
+ */
+public final class RosterDiff {
+    private static final RosterDiff FULL = new RosterDiff(true, List.of(), List.of());
+
+    private final boolean full;
+    private final List<Employee> added;
+    private final List<Employee> removed;
+
+    private RosterDiff(boolean full, List<Employee> added, List<Employee> removed) {
+        this.full = full;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    /**
+     * @return diff telling listeners to rebuild from the new snapshot
+     */
+    public static RosterDiff full() {
+        return FULL;
+    }
+
+    /**
+     * Creates an incremental diff.
+     * @param added employees added to the roster
+     * @param removed employees removed from the roster
+     * @return diff
+     */
+    public static RosterDiff of(List<Employee> added, List<Employee> removed) {
+        return new RosterDiff(false, List.copyOf(added), List.copyOf(removed));
+    }
+
+    /**
+     * Computes the diff between two snapshots. Falls back to a full diff if there is no previous snapshot, if employees
+     * cannot be matched by id, or if more than half of the roster changed.
+     * @param previous snapshot listeners were last updated with, null if none
+     * @param next new snapshot
+     * @return diff
+     */
+    public static RosterDiff between(RosterSnapshot previous, RosterSnapshot next) {
+        if (previous == null) {
+            return FULL;
+        }
+
+        int changeLimit = Math.max(16, next.size() / 2);
+        List<Employee> added = new ArrayList<>();
+        List<Employee> removed = new ArrayList<>();
+        for (Employee employee : next.getEmployees()) {
+            if (employee.getId() == null) {
+                return FULL;
+            }
+            Optional<Employee> before = previous.findById(employee.getId());
+            if (before.isEmpty() || !Objects.equals(before.get(), employee)) {
+                before.ifPresent(removed::add);
+                added.add(employee);
+            }
+            if (added.size() + removed.size() > changeLimit) {
+                return FULL;
+            }
+        }
+        for (Employee employee : previous.getEmployees()) {
+            if (employee.getId() == null) {
+                return FULL;
+            }
+            if (next.findById(employee.getId()).isEmpty()) {
+                removed.add(employee);
+            }
+            if (added.size() + removed.size() > changeLimit) {
+                return FULL;
+            }
+        }
+        return new RosterDiff(false, added, removed);
+    }
+
+    /**
+     * Computes the diff that brings a snapshot up to date with changes from the employee service's change log. Changes
+     * are folded per employee, so only the last change of each employee counts, and changes the snapshot already
+     * reflects, such as writes made through this api, drop out. Falls back to a full diff if employees cannot be
+     * matched by id.
+     * @param current snapshot the changes apply to
+     * @param changes changes after the version of the snapshot, oldest first
+     * @return diff
+     */
+    public static RosterDiff fromChanges(RosterSnapshot current, List<EmployeeChange> changes) {
+        // Latest state per id, null for deleted employees
+        Map<UUID, Employee> latest = new LinkedHashMap<>();
+        for (EmployeeChange change : changes) {
+            Employee employee = change.getEmployee();
+            if (employee == null || employee.getId() == null || change.getType() == null) {
+                return FULL;
+            }
+            latest.put(employee.getId(),
+                change.getType() == EmployeeChange.Type.CREATED ? employee : null);
+        }
+
+        List<Employee> added = new ArrayList<>();
+        List<Employee> removed = new ArrayList<>();
+        latest.forEach((id, employee) -> {
+            Optional<Employee> before = current.findById(id);
+            if (employee == null) {
+                before.ifPresent(removed::add);
+            } else if (before.isEmpty() || !Objects.equals(before.get(), employee)) {
+                before.ifPresent(removed::add);
+                added.add(employee);
+            }
+        });
+        return new RosterDiff(false, added, removed);
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public boolean isEmpty() {
+        return !full && added.isEmpty() && removed.isEmpty();
+    }
+
+    public List<Employee> getAdded() {
+        return added;
+    }
+
+    public List<Employee> getRemoved() {
+        return removed;
+    }
+}
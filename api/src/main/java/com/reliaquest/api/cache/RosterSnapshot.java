@@ -0,0 +1,136 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable point-in-time view of the employee roster as returned by the employee service.
+ */
+public final class RosterSnapshot {
+    private final List<Employee> employees;
+    private final Map<UUID, Employee> employeesById;
+    private final Instant loadedAt;
+    private final long generation;
+    private final Long version;
+
+    private RosterSnapshot(List<Employee> employees, Instant loadedAt, long generation, Long version) {
+        this.employees = employees;
+        this.employeesById = new HashMap<>(Math.max(16, (int) (employees.size() / 0.75f) + 1));
+        for (Employee employee : employees) {
+            if (employee.getId() != null) {
+                employeesById.put(employee.getId(), employee);
+            }
+        }
+        this.loadedAt = loadedAt;
+        this.generation = generation;
+        this.version = version;
+    }
+
+    /**
+     * Creates a snapshot over a copy of the given employees.
+     * @param employees employees fetched from the employee service
+     * @param loadedAt time at which the employees were fetched
+     * @param generation cache generation the snapshot belongs to
+     * @return snapshot
+     */
+    static RosterSnapshot of(List<Employee> employees, Instant loadedAt, long generation) {
+        return of(employees, loadedAt, generation, null);
+    }
+
+    /**
+     * Creates a snapshot over a copy of the given employees.
+     * @param employees employees fetched from the employee service
+     * @param loadedAt time at which the employees were fetched
+     * @param generation cache generation the snapshot belongs to
+     * @param version roster version of the employee service no newer than the employees, null if unknown
+     * @return snapshot
+     */
+    static RosterSnapshot of(List<Employee> employees, Instant loadedAt, long generation, Long version) {
+        return new RosterSnapshot(List.copyOf(employees), loadedAt, generation, version);
+    }
+
+    /**
+     * Creates a copy of this snapshot with the diff applied. Added employees are appended, replacing any employee with
+     * the same id.
+     * @param diff incremental diff
+     * @return patched snapshot with the same load time and generation
+     */
+    RosterSnapshot apply(RosterDiff diff) {
+        return apply(diff, loadedAt, version);
+    }
+
+    /**
+     * Creates a copy of this snapshot with the changes fetched from the employee service's change log applied.
+     * @param diff incremental diff
+     * @param loadedAt time at which the changes were fetched
+     * @param version roster version after the changes
+     * @return patched snapshot with the same generation
+     */
+    RosterSnapshot advance(RosterDiff diff, Instant loadedAt, long version) {
+        return apply(diff, loadedAt, version);
+    }
+
+    private RosterSnapshot apply(RosterDiff diff, Instant loadedAt, Long version) {
+        Set<UUID> dropped = new HashSet<>();
+        diff.getRemoved().forEach(employee -> dropped.add(employee.getId()));
+        diff.getAdded().forEach(employee -> dropped.add(employee.getId()));
+        List<Employee> patched = new ArrayList<>(employees.size() + diff.getAdded().size());
+        for (Employee employee : employees) {
+            if (employee.getId() == null || !dropped.contains(employee.getId())) {
+                patched.add(employee);
+            }
+        }
+        patched.addAll(diff.getAdded());
+        return new RosterSnapshot(Collections.unmodifiableList(patched), loadedAt, generation, version);
+    }
+
+    /**
+     * @return unmodifiable list of employees in the order returned by the employee service
+     */
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * Looks up an employee in the snapshot.
+     * @param id employee id
+     * @return employee if present in the snapshot, empty optional otherwise
+     */
+    public Optional<Employee> findById(UUID id) {
+        return Optional.ofNullable(employeesById.get(id));
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return roster version of the employee service the snapshot can be advanced from, null if unknown
+     */
+    Long getVersion() {
+        return version;
+    }
+
+    boolean isOlderThan(Duration age, Instant now) {
+        return loadedAt.plus(age).isBefore(now);
+    }
+}
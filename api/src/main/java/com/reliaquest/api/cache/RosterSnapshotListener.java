@@ -0,0 +1,16 @@
+package com.reliaquest.api.cache;
+
+/**
+ * Maintains a structure derived from the roster. Listeners are notified by the {@link RosterCache} every time a new
+ * snapshot is loaded, before the snapshot is served, and are never notified concurrently.
+ */
+public interface RosterSnapshotListener {
+
+    /**
+     * Applies a new roster snapshot.
+     * @param snapshot new snapshot
+     * @param diff changes since the snapshot previously passed to the listener, or a full diff if the listener has to
+     *             rebuild from the new snapshot
+     */
+    void onSnapshot(RosterSnapshot snapshot, RosterDiff diff);
+}
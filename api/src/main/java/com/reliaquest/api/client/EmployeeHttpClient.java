@@ -1,57 +1,115 @@
 package com.reliaquest.api.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.exception.InternalServerErrorException;
 import com.reliaquest.api.model.AllEmployeeHttpResponse;
+import com.reliaquest.api.model.BatchEmployeeHttpResponse;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.DeleteEmployeeHttpResponse;
 import com.reliaquest.api.model.DeleteEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeChangesHttpResponse;
 import com.reliaquest.api.model.EmployeeHttpResponse;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.EmployeePageHttpResponse;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import com.reliaquest.api.util.ApiUtil;
+import com.reliaquest.api.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StopWatch;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * This class is responsible for making HTTP calls to the employee service for getting, creating and deleting employees.
+ * Concurrent reads of the same resource are coalesced into a single upstream call, and all calls are paced by the
+ * {@link RateLimitGovernor}.
  */
 @Component
 @Slf4j
-public class EmployeeHttpClient {
+public class EmployeeHttpClient implements MeterBinder {
+    private static final String ALL_EMPLOYEES_KEY = "all";
+
     private final RestTemplate restTemplate;
     private final String url;
+    private final SingleFlight<String, List<Employee>> allEmployeesFlight = new SingleFlight<>();
+    private final SingleFlight<String, Optional<Employee>> employeeByIdFlight = new SingleFlight<>();
+    private final RateLimitGovernor rateLimitGovernor;
+    private final EmployeeStreamReader employeeStreamReader;
+    private final AtomicReference<List<Employee>> lastGoodEmployees = new AtomicReference<>();
+    private final AtomicReference<TaggedEmployees> lastTaggedEmployees = new AtomicReference<>();
+    private volatile boolean deleteByIdUnsupported;
 
     public EmployeeHttpClient(RestTemplate restTemplate,
+                              RateLimitGovernor rateLimitGovernor,
+                              ObjectMapper objectMapper,
                               @Value("${employee.v1.server.host}") String host,
                               @Value("${employee.v1.server.path}") String path) {
         this.restTemplate = restTemplate;
+        this.rateLimitGovernor = rateLimitGovernor;
+        this.employeeStreamReader = new EmployeeStreamReader(objectMapper);
         url = host + path;
     }
 
     /**
-     * Fetches all employees from the employee service.
-     * @return List of employees
+     * Fetches all employees from the employee service. Callers arriving while a fetch is in flight share its result.
+     * While the employee service is throttling, the last successfully fetched list is returned.
+     * <p>
+     * The fetch is conditional on the ETag of the last list. If the roster has not changed, the employee service
+     * answers 304 Not Modified without a body and the last list is returned as is.
+     * @return List of employees, which must not be modified
      * @throws InternalServerErrorException if there is an error while fetching employees
      */
     public List<Employee> getAllEmployees() throws InternalServerErrorException {
+        return allEmployeesFlight.execute(ALL_EMPLOYEES_KEY,
+            () -> rateLimitGovernor.execute(this::fetchAllEmployees, () -> Optional.ofNullable(lastGoodEmployees.get())));
+    }
+
+    private List<Employee> fetchAllEmployees() throws InternalServerErrorException {
         log.info("Fetching employees.");
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
+        TaggedEmployees tagged = lastTaggedEmployees.get();
+        HttpEntity<Void> request = null;
+        if (tagged != null) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(tagged.eTag());
+            request = new HttpEntity<>(headers);
+        }
         ResponseEntity<AllEmployeeHttpResponse> response = restTemplate
-            .exchange(url, HttpMethod.GET, null, AllEmployeeHttpResponse.class);
+            .exchange(url, HttpMethod.GET, request, AllEmployeeHttpResponse.class);
 
+        if (tagged != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            stopWatch.stop();
+            log.info("Employees not modified. size={} timeTaken={}",
+                tagged.employees().size(), stopWatch.getTotalTimeMillis());
+            return tagged.employees();
+        }
         if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
             log.error("Error while getting employees. httpStatusCode={} responseBody={}",
                 response.getStatusCode(), response.getBody());
@@ -65,18 +123,184 @@ public class EmployeeHttpClient {
         }
 
         List<Employee> employees = allEmployeeHttpResponse.getData();
+        lastGoodEmployees.set(employees);
+        String eTag = response.getHeaders().getETag();
+        lastTaggedEmployees.set(eTag == null || employees == null ? null : new TaggedEmployees(eTag, employees));
         stopWatch.stop();
         log.info("Fetched employees. size={} timeTaken={}", employees.size(), stopWatch.getTotalTimeMillis());
         return employees;
     }
 
     /**
-     * Fetches employee by id.
+     * Streams all employees from the employee service. The response is parsed incrementally and each employee is handed
+     * to the consumer as soon as it is read, so the full list is never held in memory. Unlike
+     * {@link #getAllEmployees()}, concurrent callers are not coalesced and there is no last good list to fall back on.
+     * @param consumer receives each employee, in response order
+     * @return number of employees passed to the consumer
+     * @throws InternalServerErrorException if there is an error while fetching employees
+     */
+    public long streamAllEmployees(Consumer<Employee> consumer) throws InternalServerErrorException {
+        return rateLimitGovernor.execute(() -> fetchAllEmployees(consumer), Optional::empty);
+    }
+
+    private long fetchAllEmployees(Consumer<Employee> consumer) throws InternalServerErrorException {
+        log.info("Streaming employees.");
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        Long count = restTemplate.execute(url, HttpMethod.GET, null, response -> {
+            if (response.getStatusCode() != HttpStatus.OK) {
+                log.error("Error while streaming employees. httpStatusCode={}", response.getStatusCode());
+                return null;
+            }
+            return employeeStreamReader.read(response.getBody(), consumer);
+        });
+        stopWatch.stop();
+
+        if (count == null) {
+            throw new InternalServerErrorException("Failed to get employees.");
+        }
+        log.info("Streamed employees. size={} timeTaken={}", count, stopWatch.getTotalTimeMillis());
+        return count;
+    }
+
+    /**
+     * Opens the newline-delimited JSON export of all employees. The response is returned as soon as the employee
+     * service has answered with its status, so the body can be relayed while it is still being produced.
+     * @return open response with a 200 status, which the caller must close to release the connection
+     * @throws InternalServerErrorException if the export cannot be opened
+     */
+    public ClientHttpResponse openEmployeeStream() throws InternalServerErrorException {
+        return rateLimitGovernor.execute(this::sendOpenEmployeeStream, Optional::empty);
+    }
+
+    private ClientHttpResponse sendOpenEmployeeStream() throws InternalServerErrorException {
+        ClientHttpResponse response;
+        try {
+            ClientHttpRequest request =
+                restTemplate.getRequestFactory().createRequest(URI.create(url + "/stream"), HttpMethod.GET);
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON));
+            response = request.execute();
+        } catch (IOException e) {
+            log.error("Error while opening employee stream.", e);
+            throw new InternalServerErrorException("Failed to stream employees.");
+        }
+
+        try {
+            HttpStatusCode statusCode = response.getStatusCode();
+            if (statusCode == HttpStatus.OK) {
+                return response;
+            }
+            response.close();
+            if (statusCode == HttpStatus.TOO_MANY_REQUESTS) {
+                // Lets the rate governor back off and retry, as it does for calls made through the RestTemplate
+                throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                    response.getHeaders(), null, null);
+            }
+            log.error("Error while opening employee stream. httpStatusCode={}", statusCode);
+            throw new InternalServerErrorException("Failed to stream employees.");
+        } catch (IOException e) {
+            response.close();
+            log.error("Error while opening employee stream.", e);
+            throw new InternalServerErrorException("Failed to stream employees.");
+        }
+    }
+
+    /**
+     * Pages through all employees. The next page is only fetched once the consumer has processed the current one, so
+     * at most one page of employees is held in memory.
+     * @param pageSize number of employees per page, capped by the employee service
+     * @param consumer receives each employee, in id order
+     * @return number of employees passed to the consumer
+     * @throws InternalServerErrorException if there is an error while fetching a page
+     */
+    public long forEachEmployee(int pageSize, Consumer<Employee> consumer) throws InternalServerErrorException {
+        long count = 0;
+        String cursor = null;
+        do {
+            String pageCursor = cursor;
+            EmployeePage page =
+                rateLimitGovernor.execute(() -> fetchEmployeePage(pageCursor, pageSize), Optional::empty);
+            if (page.getEmployees() != null) {
+                for (Employee employee : page.getEmployees()) {
+                    consumer.accept(employee);
+                    count++;
+                }
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return count;
+    }
+
+    private EmployeePage fetchEmployeePage(String cursor, int pageSize) throws InternalServerErrorException {
+        String pageUrl = url + "/page?size=" + pageSize + (cursor == null ? "" : "&cursor=" + cursor);
+        ResponseEntity<EmployeePageHttpResponse> response =
+            restTemplate.exchange(pageUrl, HttpMethod.GET, null, EmployeePageHttpResponse.class);
+
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null
+            || response.getBody().getData() == null) {
+            log.error("Error while getting employee page. httpStatusCode={} responseBody={}",
+                response.getStatusCode(), response.getBody());
+            throw new InternalServerErrorException("Failed to get employee page.");
+        }
+        return response.getBody().getData();
+    }
+
+    /**
+     * Fetches the changes of the roster after the given version from the employee service's change log. Without a
+     * version only the current version is fetched, which callers record before fetching the full roster.
+     * @param since roster version the caller holds, null for the current version only
+     * @return changes, empty if they are not available, in which case the caller has to fetch the full roster. This
+     *     includes the employee service throttling and employee services without a change log.
+     * @throws InternalServerErrorException if there is an error while fetching the changes
+     */
+    public Optional<EmployeeChanges> getEmployeeChanges(Long since) throws InternalServerErrorException {
+        return rateLimitGovernor.execute(() -> fetchEmployeeChanges(since), () -> Optional.of(Optional.empty()));
+    }
+
+    private Optional<EmployeeChanges> fetchEmployeeChanges(Long since) throws InternalServerErrorException {
+        ResponseEntity<EmployeeChangesHttpResponse> response;
+        try {
+            response = restTemplate.exchange(url + "/changes" + (since == null ? "" : "?since=" + since),
+                HttpMethod.GET, null, EmployeeChangesHttpResponse.class);
+        } catch (HttpClientErrorException.Gone | HttpClientErrorException.NotFound e) {
+            log.debug("Roster changes are not available. since={} httpStatusCode={}", since, e.getStatusCode());
+            return Optional.empty();
+        }
+
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null
+            || response.getBody().getData() == null) {
+            log.error("Error while getting roster changes. httpStatusCode={} responseBody={}",
+                response.getStatusCode(), response.getBody());
+            throw new InternalServerErrorException("Failed to get roster changes.");
+        }
+        return Optional.of(response.getBody().getData());
+    }
+
+    /**
+     * Fetches employee by id. Callers arriving while a fetch of the same id is in flight share its result.
+     * While the employee service is throttling, the employee is looked up in the last successfully fetched list.
      * @param id employee id
      * @return employee if found, empty optional otherwise
      * @throws InternalServerErrorException if there is an error while fetching employee
      */
     public Optional<Employee> getEmployeeById(String id) throws InternalServerErrorException {
+        return employeeByIdFlight.execute(id,
+            () -> rateLimitGovernor.execute(() -> fetchEmployeeById(id), () -> lastGoodEmployee(id)));
+    }
+
+    private Optional<Optional<Employee>> lastGoodEmployee(String id) {
+        List<Employee> employees = lastGoodEmployees.get();
+        if (employees == null) {
+            return Optional.empty();
+        }
+        // Only a hit is trustworthy, the employee may have been created after the list was fetched
+        return employees.stream()
+            .filter(employee -> employee.getId() != null && employee.getId().toString().equals(id))
+            .findFirst()
+            .map(Optional::of);
+    }
+
+    private Optional<Employee> fetchEmployeeById(String id) throws InternalServerErrorException {
         log.info("Fetching employee by id={}", id);
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
@@ -115,6 +339,10 @@ public class EmployeeHttpClient {
      * @throws InternalServerErrorException if there is an error while creating employee
      */
     public Employee createEmployee(CreateEmployeeInput employeeInput) throws InternalServerErrorException {
+        return rateLimitGovernor.execute(() -> postEmployee(employeeInput), Optional::empty);
+    }
+
+    private Employee postEmployee(CreateEmployeeInput employeeInput) throws InternalServerErrorException {
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
         ResponseEntity<EmployeeHttpResponse> response = restTemplate
@@ -137,6 +365,11 @@ public class EmployeeHttpClient {
      * @throws InternalServerErrorException if there is an error while deleting employee
      */
     public Optional<Boolean> deleteEmployee(DeleteEmployeeInput deleteEmployeeInput) throws InternalServerErrorException {
+        return rateLimitGovernor.execute(() -> sendDeleteEmployee(deleteEmployeeInput), Optional::empty);
+    }
+
+    private Optional<Boolean> sendDeleteEmployee(DeleteEmployeeInput deleteEmployeeInput)
+        throws InternalServerErrorException {
         log.info("Deleting employee with name={}", ApiUtil.mask(deleteEmployeeInput.getName()));
         StopWatch stopWatch = new StopWatch();
         stopWatch.start();
@@ -159,4 +392,111 @@ public class EmployeeHttpClient {
 
         return Optional.of(response.getBody().isData());
     }
+
+    /**
+     * Deletes an employee by id with a single call, on employee services that support it. Once the employee service
+     * has answered 405 Method Not Allowed, it is not asked again and callers fall back to {@link #deleteEmployee}.
+     * @param id employee id
+     * @return the deleted employee, empty if not found. Empty outer optional if the employee service does not support
+     *     deletes by id.
+     * @throws InternalServerErrorException if there is an error while deleting employee
+     */
+    public Optional<Optional<Employee>> deleteEmployeeById(String id) throws InternalServerErrorException {
+        if (deleteByIdUnsupported) {
+            return Optional.empty();
+        }
+        return rateLimitGovernor.execute(() -> sendDeleteEmployeeById(id), Optional::empty);
+    }
+
+    private Optional<Optional<Employee>> sendDeleteEmployeeById(String id) throws InternalServerErrorException {
+        log.info("Deleting employee with id={}", id);
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        ResponseEntity<EmployeeHttpResponse> response;
+        try {
+            response = restTemplate.exchange(url + "/" + id, HttpMethod.DELETE, null, EmployeeHttpResponse.class);
+        } catch (HttpClientErrorException.NotFound e) {
+            log.info("No employee found with id={}", id);
+            return Optional.of(Optional.empty());
+        } catch (HttpClientErrorException.MethodNotAllowed e) {
+            log.warn("Employee service does not support deletes by id, deleting by name instead.");
+            deleteByIdUnsupported = true;
+            return Optional.empty();
+        }
+        stopWatch.stop();
+
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            log.error("Error while deleting employee. httpStatusCode={} responseBody={} timeTaken={}",
+                response.getStatusCode(), response.getBody(), stopWatch.getTotalTimeMillis());
+            throw new InternalServerErrorException("Failed to delete employee.");
+        }
+        log.info("Deleted employee with id={} timeTaken={}", id, stopWatch.getTotalTimeMillis());
+        return Optional.of(Optional.ofNullable(response.getBody().getData()));
+    }
+
+    /**
+     * Creates employees in a single call. The employee service validates each input, creates the valid ones in a
+     * single write and reports the outcome of each input.
+     * @param employeeInputs employee inputs
+     * @return created employee or error of each input, in input order
+     * @throws InternalServerErrorException if there is an error while creating employees
+     */
+    public List<BatchItemResult<Employee>> createEmployees(List<CreateEmployeeInput> employeeInputs)
+        throws InternalServerErrorException {
+        return rateLimitGovernor.execute(() -> sendBatch(HttpMethod.POST, employeeInputs), Optional::empty);
+    }
+
+    /**
+     * Deletes employees by id in a single call.
+     * @param ids employee ids
+     * @return deleted employee or error of each id, in input order
+     * @throws InternalServerErrorException if there is an error while deleting employees
+     */
+    public List<BatchItemResult<Employee>> deleteEmployeesById(List<String> ids) throws InternalServerErrorException {
+        return rateLimitGovernor.execute(() -> sendBatch(HttpMethod.DELETE, ids), Optional::empty);
+    }
+
+    private List<BatchItemResult<Employee>> sendBatch(HttpMethod method, List<?> items)
+        throws InternalServerErrorException {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        ResponseEntity<BatchEmployeeHttpResponse> response = restTemplate
+            .exchange(url + "/batch", method, new HttpEntity<>(items), BatchEmployeeHttpResponse.class);
+        stopWatch.stop();
+
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null
+            || response.getBody().getData() == null || response.getBody().getData().size() != items.size()) {
+            log.error("Error while sending employee batch. method={} httpStatusCode={} responseBody={} timeTaken={}",
+                method, response.getStatusCode(), response.getBody(), stopWatch.getTotalTimeMillis());
+            throw new InternalServerErrorException("Failed to process employee batch.");
+        }
+        log.info("Sent employee batch. method={} size={} timeTaken={}",
+            method, items.size(), stopWatch.getTotalTimeMillis());
+        return response.getBody().getData();
+    }
+
+    /**
+     * Publishes how many upstream reads were executed and how many were coalesced into an in-flight read.
+     * @param registry meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindFlight(registry, "getAllEmployees", allEmployeesFlight);
+        bindFlight(registry, "getEmployeeById", employeeByIdFlight);
+    }
+
+    private static void bindFlight(MeterRegistry registry, String operation, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("employee.client.requests.executed", flight, SingleFlight::getExecutionCount)
+            .description("Upstream reads executed by the employee client")
+            .tag("operation", operation)
+            .register(registry);
+        FunctionCounter.builder("employee.client.requests.coalesced", flight, SingleFlight::getCoalescedCount)
+            .description("Reads served by joining an upstream read already in flight")
+            .tag("operation", operation)
+            .register(registry);
+    }
+
+    // Last list of all employees and the ETag it was served with
+    private record TaggedEmployees(String eTag, List<Employee> employees) {
+    }
 }
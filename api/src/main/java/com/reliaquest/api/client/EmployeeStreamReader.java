@@ -0,0 +1,78 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.model.Employee;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Reads the get all employees response body with the Jackson streaming API. The {@code data} array is walked token by
+ * token and each employee is handed to a consumer as soon as it is parsed, so the list of employees is never
+ * materialized and memory use does not grow with the roster.
+ * <p>
+ * Employees are bound with the application's {@link ObjectMapper}, so they are read with the same Jackson settings as
+ * the rest of the api.
+ */
+class EmployeeStreamReader {
+
+    private static final String DATA_FIELD = "data";
+
+    private final ObjectReader employeeReader;
+
+    EmployeeStreamReader(ObjectMapper objectMapper) {
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+    }
+
+    /**
+     * Reads the employees of a response body.
+     * @param body response body, closed once it has been read
+     * @param consumer receives each employee, in response order
+     * @return number of employees passed to the consumer
+     * @throws IOException if the body cannot be read or is not a valid response, including a {@code data} field that
+     *     is not an array of employee objects
+     */
+    long read(InputStream body, Consumer<Employee> consumer) throws IOException {
+        try (JsonParser parser = employeeReader.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected the response to be a JSON object");
+            }
+
+            long count = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!DATA_FIELD.equals(field) || value == JsonToken.VALUE_NULL) {
+                    parser.skipChildren();
+                } else if (value == JsonToken.START_ARRAY) {
+                    count += readEmployees(parser, consumer);
+                } else {
+                    throw new JsonParseException(parser, "Expected the data to be an array, found " + value);
+                }
+            }
+            if (token != JsonToken.END_OBJECT) {
+                throw new JsonParseException(parser, "Expected the end of the response, found " + token);
+            }
+            return count;
+        }
+    }
+
+    private long readEmployees(JsonParser parser, Consumer<Employee> consumer) throws IOException {
+        long count = 0;
+        JsonToken element;
+        while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (element != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected an employee object, found " + element);
+            }
+            consumer.accept(employeeReader.readValue(parser));
+            count++;
+        }
+        return count;
+    }
+}
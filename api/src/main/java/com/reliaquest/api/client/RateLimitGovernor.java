@@ -0,0 +1,321 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.InternalServerErrorException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Client side rate governor for calls to the employee service.
+ * <p>
+ * Outbound calls are paced by a token bucket. A 429 from the upstream pauses all calls for a jittered window that
+ * doubles with every consecutive 429, and shrinks the bucket to the number of calls that went through since the
+ * previous throttling window. Once a call succeeds again, the pacing rate is set to that budget spread over the
+ * observed length of the throttling window; after that every successful call raises the rate additively.
+ * <p>
+ * Reads that have last-good data are answered from it while the upstream is paused. Other calls wait for the pause
+ * and are retried as long as the wait stays within {@code max-wait}, after which the 429 is surfaced to the caller.
+ */
+@Component
+@Slf4j
+public class RateLimitGovernor implements MeterBinder {
+
+    /**
+     * Call to the employee service executed under the governor.
+     * @param <V> result type
+     */
+    @FunctionalInterface
+    public interface UpstreamCall<V> {
+        V call() throws InternalServerErrorException;
+    }
+
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    private final double maxRate;
+    private final double minRate;
+    private final double rateIncrease;
+    private final int maxRetries;
+    private final long initialPauseNanos;
+    private final long maxPauseNanos;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+
+    // A lock rather than synchronized, so virtual threads waiting for it do not pin their carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private double rate;
+    private double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+    private int consecutiveThrottles;
+    private long throttledSinceNanos;
+    private long callsSinceThrottle;
+    private long budget;
+
+    private final LongAdder throttleEvents = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder lastGoodServed = new LongAdder();
+    private final LongAdder pausedNanos = new LongAdder();
+
+    @Autowired
+    public RateLimitGovernor(@Value("${employee.v1.client.rate-limit.initial-rate:10}") double initialRate,
+                             @Value("${employee.v1.client.rate-limit.max-rate:50}") double maxRate,
+                             @Value("${employee.v1.client.rate-limit.min-rate:0.05}") double minRate,
+                             @Value("${employee.v1.client.rate-limit.rate-increase:0.1}") double rateIncrease,
+                             @Value("${employee.v1.client.rate-limit.burst:10}") int burst,
+                             @Value("${employee.v1.client.rate-limit.max-retries:3}") int maxRetries,
+                             @Value("${employee.v1.client.rate-limit.initial-pause:1s}") Duration initialPause,
+                             @Value("${employee.v1.client.rate-limit.max-pause:2m}") Duration maxPause,
+                             @Value("${employee.v1.client.rate-limit.max-wait:2s}") Duration maxWait) {
+        this(initialRate, maxRate, minRate, rateIncrease, burst, maxRetries, initialPause, maxPause, maxWait,
+            System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    RateLimitGovernor(double initialRate, double maxRate, double minRate, double rateIncrease, int burst,
+                      int maxRetries, Duration initialPause, Duration maxPause, Duration maxWait,
+                      LongSupplier nanoClock, Sleeper sleeper) {
+        this.maxRate = maxRate;
+        this.minRate = minRate;
+        this.rateIncrease = rateIncrease;
+        this.maxRetries = maxRetries;
+        this.initialPauseNanos = initialPause.toNanos();
+        this.maxPauseNanos = maxPause.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+        this.rate = Math.min(initialRate, maxRate);
+        this.capacity = Math.max(1, burst);
+        this.budget = (long) capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Executes a call to the employee service under the governor.
+     * @param call call to execute
+     * @param lastGood last-good result to serve while the upstream is throttling, if there is one
+     * @return result of the call, or the last-good result while the upstream is throttling
+     * @throws InternalServerErrorException if the call fails
+     * @throws HttpClientErrorException.TooManyRequests if the upstream keeps throttling and there is no last-good result
+     */
+    public <V> V execute(UpstreamCall<V> call, Supplier<Optional<V>> lastGood) throws InternalServerErrorException {
+        int attempt = 0;
+        while (true) {
+            long waitNanos = tryAcquire();
+            if (waitNanos > 0) {
+                Optional<V> fallback = isPaused() ? lastGood.get() : Optional.empty();
+                if (fallback.isPresent()) {
+                    lastGoodServed.increment();
+                    return fallback.get();
+                }
+                if (waitNanos > maxWaitNanos) {
+                    throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Employee service rate limit reached, retry later.");
+                }
+                pause(waitNanos);
+                continue;
+            }
+
+            try {
+                V result = call.call();
+                onSuccess();
+                return result;
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                onThrottled(retryAfterNanos(e));
+                Optional<V> fallback = lastGood.get();
+                if (fallback.isPresent()) {
+                    lastGoodServed.increment();
+                    log.warn("Employee service is throttling, serving last-good data.");
+                    return fallback.get();
+                }
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                // The retry waits for the pause set by onThrottled, which is the jittered exponential backoff
+                attempt++;
+                retries.increment();
+                log.warn("Employee service is throttling, retrying. attempt={}", attempt);
+            }
+        }
+    }
+
+    /**
+     * @return whether calls to the employee service are currently paused because of a 429
+     */
+    public boolean isPaused() {
+        lock.lock();
+        try {
+            return nanoClock.getAsLong() < pausedUntilNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return current pacing rate in calls per second
+     */
+    public double getRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.client.throttle.events", throttleEvents, LongAdder::sum)
+            .description("429 responses received from the employee service")
+            .register(registry);
+        FunctionCounter.builder("employee.client.throttle.retries", retries, LongAdder::sum)
+            .description("Calls retried after a 429")
+            .register(registry);
+        FunctionCounter.builder("employee.client.throttle.last.good.served", lastGoodServed, LongAdder::sum)
+            .description("Reads answered from last-good data while the employee service was throttling")
+            .register(registry);
+        FunctionCounter.builder("employee.client.throttle.paused", pausedNanos,
+                adder -> adder.sum() / (double) TimeUnit.SECONDS.toNanos(1))
+            .description("Time callers spent waiting on the rate governor")
+            .baseUnit("seconds")
+            .register(registry);
+        Gauge.builder("employee.client.throttle.rate", this, RateLimitGovernor::getRate)
+            .description("Current pacing rate towards the employee service")
+            .baseUnit("calls/s")
+            .register(registry);
+    }
+
+    /**
+     * Takes a token if one is available.
+     * @return 0 if a token was taken, otherwise how long to wait before trying again
+     */
+    private long tryAcquire() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            if (now < pausedUntilNanos) {
+                return pausedUntilNanos - now;
+            }
+
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * rate / TimeUnit.SECONDS.toNanos(1));
+            lastRefillNanos = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                callsSinceThrottle++;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * TimeUnit.SECONDS.toNanos(1) / rate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess() {
+        lock.lock();
+        try {
+            if (consecutiveThrottles == 0) {
+                rate = Math.min(maxRate, rate + rateIncrease);
+                return;
+            }
+
+            // First success after a throttling window: the budget is granted once per observed window
+            double windowSeconds = Math.max(1, (nanoClock.getAsLong() - throttledSinceNanos)
+                / (double) TimeUnit.SECONDS.toNanos(1));
+            rate = Math.max(minRate, Math.min(maxRate, budget / windowSeconds));
+            consecutiveThrottles = 0;
+            log.info("Learned employee service rate limit. budget={} windowSeconds={} rate={}",
+                budget, windowSeconds, rate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onThrottled(long retryAfterNanos) {
+        lock.lock();
+        try {
+            throttleEvents.increment();
+            long now = nanoClock.getAsLong();
+            if (now < pausedUntilNanos) {
+                // Another caller already reacted to this 429
+                return;
+            }
+
+            if (consecutiveThrottles == 0) {
+                // The calls that went through since the previous throttling window are the budget the upstream grants
+                throttledSinceNanos = now;
+                budget = Math.max(1, callsSinceThrottle - 1);
+                capacity = budget;
+                rate = Math.max(minRate, rate / 2);
+            }
+            consecutiveThrottles++;
+            long pauseNanos = retryAfterNanos > 0
+                ? retryAfterNanos
+                : jitter(Math.min(maxPauseNanos, initialPauseNanos << Math.min(consecutiveThrottles - 1, 16)));
+            pausedUntilNanos = now + pauseNanos;
+            // The upstream grants a full budget again once its window is over
+            tokens = capacity;
+            lastRefillNanos = pausedUntilNanos;
+            callsSinceThrottle = 0;
+            log.warn("Employee service is throttling. budget={} consecutiveThrottles={} pauseMillis={}",
+                budget, consecutiveThrottles, TimeUnit.NANOSECONDS.toMillis(pauseNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pause(long nanos) {
+        try {
+            sleeper.sleep(nanos);
+            pausedNanos.add(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS,
+                "Interrupted while waiting for the employee service rate limit.");
+        }
+    }
+
+    /**
+     * Equal jitter: half of the delay is kept, the other half is randomized, so concurrent callers spread out without
+     * retrying immediately.
+     */
+    private static long jitter(long nanos) {
+        long half = nanos / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private static long retryAfterNanos(HttpClientErrorException e) {
+        HttpHeaders headers = e.getResponseHeaders();
+        String retryAfter = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
+    }
+}
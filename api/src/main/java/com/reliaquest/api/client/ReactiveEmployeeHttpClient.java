@@ -0,0 +1,186 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.model.BatchEmployeeHttpResponse;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.DeleteEmployeeHttpResponse;
+import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeHttpResponse;
+import com.reliaquest.api.util.ApiUtil;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeHttpClient}, built on WebClient. Calls are executed on the event loop
+ * threads of the HTTP connector, so no thread is held while a call is in flight.
+ * <p>
+ * A 429 from the employee service is retried with jittered exponential backoff, using the retry settings of the
+ * blocking client. Once the retries are exhausted it is surfaced as {@link HttpClientErrorException}, every other
+ * failure as {@link InternalServerErrorException}.
+ */
+@Component
+@Profile("reactive")
+@Slf4j
+public class ReactiveEmployeeHttpClient {
+
+    private final WebClient webClient;
+    private final Retry throttlingRetry;
+
+    public ReactiveEmployeeHttpClient(@Qualifier("employeeWebClient") WebClient webClient,
+                                      @Value("${employee.v1.client.rate-limit.max-retries:3}") int maxRetries,
+                                      @Value("${employee.v1.client.rate-limit.initial-pause:1s}") Duration initialPause,
+                                      @Value("${employee.v1.client.rate-limit.max-pause:2m}") Duration maxPause) {
+        this.webClient = webClient;
+        this.throttlingRetry = Retry.backoff(maxRetries, initialPause)
+            .maxBackoff(maxPause)
+            .filter(WebClientResponseException.TooManyRequests.class::isInstance)
+            .doBeforeRetry(signal -> log.warn("Employee service is throttling, retrying. attempt={}",
+                signal.totalRetries() + 1))
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * Streams all employees from the newline-delimited JSON export of the employee service. Employees are emitted as
+     * their lines arrive, and cancelling the subscription closes the upstream response.
+     * @return employees, in export order
+     */
+    public Flux<Employee> streamAllEmployees() {
+        return webClient.get()
+            .uri("/stream")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .retrieve()
+            .bodyToFlux(Employee.class)
+            .retryWhen(throttlingRetry)
+            .onErrorMap(ReactiveEmployeeHttpClient::translate);
+    }
+
+    /**
+     * Fetches employee by id.
+     * @param id employee id
+     * @return employee, empty if not found
+     */
+    public Mono<Employee> getEmployeeById(String id) {
+        return webClient.get()
+            .uri("/{id}", id)
+            .retrieve()
+            .bodyToMono(EmployeeHttpResponse.class)
+            .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+            .mapNotNull(EmployeeHttpResponse::getData)
+            .retryWhen(throttlingRetry)
+            .onErrorMap(ReactiveEmployeeHttpClient::translate);
+    }
+
+    /**
+     * Creates an employee.
+     * @param employeeInput employee input
+     * @return created employee
+     */
+    public Mono<Employee> createEmployee(CreateEmployeeInput employeeInput) {
+        return webClient.post()
+            .bodyValue(employeeInput)
+            .retrieve()
+            .bodyToMono(EmployeeHttpResponse.class)
+            .mapNotNull(EmployeeHttpResponse::getData)
+            .switchIfEmpty(Mono.error(() -> new InternalServerErrorException("Failed to create employee.")))
+            .retryWhen(throttlingRetry)
+            .onErrorMap(ReactiveEmployeeHttpClient::translate);
+    }
+
+    /**
+     * Deletes an employee by name.
+     * @param deleteEmployeeInput delete employee input
+     * @return true if an employee is deleted, false otherwise
+     */
+    public Mono<Boolean> deleteEmployee(DeleteEmployeeInput deleteEmployeeInput) {
+        return webClient.method(HttpMethod.DELETE)
+            .bodyValue(deleteEmployeeInput)
+            .retrieve()
+            .bodyToMono(DeleteEmployeeHttpResponse.class)
+            .map(DeleteEmployeeHttpResponse::isData)
+            .doOnNext(deleted -> log.info("Deleted employee with name={} deleted={}",
+                ApiUtil.mask(deleteEmployeeInput.getName()), deleted))
+            .retryWhen(throttlingRetry)
+            .onErrorMap(ReactiveEmployeeHttpClient::translate);
+    }
+
+    /**
+     * Deletes an employee by id with a single call, on employee services that support it.
+     * @param id employee id
+     * @return the deleted employee, empty optional if not found. Completes empty if the employee service does not
+     *     support deletes by id.
+     */
+    public Mono<Optional<Employee>> deleteEmployeeById(String id) {
+        return webClient.delete()
+            .uri("/{id}", id)
+            .retrieve()
+            .bodyToMono(EmployeeHttpResponse.class)
+            .map(response -> Optional.ofNullable(response.getData()))
+            .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(Optional.empty()))
+            .onErrorResume(WebClientResponseException.MethodNotAllowed.class, e -> Mono.empty())
+            .retryWhen(throttlingRetry)
+            .onErrorMap(ReactiveEmployeeHttpClient::translate);
+    }
+
+    /**
+     * Creates employees in a single call.
+     * @param employeeInputs employee inputs
+     * @return created employee or error of each input, in input order
+     */
+    public Mono<List<BatchItemResult<Employee>>> createEmployees(List<CreateEmployeeInput> employeeInputs) {
+        return sendBatch(HttpMethod.POST, employeeInputs);
+    }
+
+    /**
+     * Deletes employees by id in a single call.
+     * @param ids employee ids
+     * @return deleted employee or error of each id, in input order
+     */
+    public Mono<List<BatchItemResult<Employee>>> deleteEmployeesById(List<String> ids) {
+        return sendBatch(HttpMethod.DELETE, ids);
+    }
+
+    private Mono<List<BatchItemResult<Employee>>> sendBatch(HttpMethod method, List<?> items) {
+        return webClient.method(method)
+            .uri("/batch")
+            .bodyValue(items)
+            .retrieve()
+            .bodyToMono(BatchEmployeeHttpResponse.class)
+            .mapNotNull(BatchEmployeeHttpResponse::getData)
+            .filter(results -> results.size() == items.size())
+            .switchIfEmpty(Mono.error(() -> new InternalServerErrorException("Failed to process employee batch.")))
+            .retryWhen(throttlingRetry)
+            .onErrorMap(ReactiveEmployeeHttpClient::translate);
+    }
+
+    private static Throwable translate(Throwable error) {
+        if (error instanceof WebClientResponseException.TooManyRequests e) {
+            return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, e.getStatusText(), e.getHeaders(),
+                e.getResponseBodyAsByteArray(), null);
+        }
+        if (error instanceof WebClientException) {
+            log.error("Error while calling the employee service.", error);
+            return new InternalServerErrorException("Failed to call the employee service.");
+        }
+        return error;
+    }
+}
@@ -1,8 +1,31 @@
 package com.reliaquest.api.config;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * Maintains common configurations
@@ -11,11 +34,141 @@ import org.springframework.web.client.RestTemplate;
 public class ApiApplicationConfig {
 
     /**
-     * Creates a RestTemplate bean. More configurations can be added here.
+     * Creates the pooled HTTP client used to call the employee service. Connections are kept alive and reused across
+     * requests, idle connections are evicted in the background and every phase of a request is bounded by a timeout,
+     * so a hung upstream cannot hold on to the servlet worker threads.
+     * @return HTTP client bean
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient employeeHttpClientTransport(
+        @Value("${employee.v1.client.http.max-connections:200}") int maxConnections,
+        @Value("${employee.v1.client.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+        @Value("${employee.v1.client.http.connect-timeout:2s}") Duration connectTimeout,
+        @Value("${employee.v1.client.http.read-timeout:10s}") Duration readTimeout,
+        @Value("${employee.v1.client.http.connection-request-timeout:2s}") Duration connectionRequestTimeout,
+        @Value("${employee.v1.client.http.keep-alive:30s}") Duration keepAlive,
+        @Value("${employee.v1.client.http.connection-time-to-live:5m}") Duration connectionTimeToLive,
+        @Value("${employee.v1.client.http.validate-after-inactivity:2s}") Duration validateAfterInactivity,
+        @Value("${employee.v1.client.http.idle-eviction:30s}") Duration idleEviction,
+        @Value("${employee.v1.client.http.compression-enabled:true}") boolean compressionEnabled) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.of(connectTimeout))
+            .setSocketTimeout(Timeout.of(readTimeout))
+            .setTimeToLive(TimeValue.of(connectionTimeToLive))
+            .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+            .build();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setDefaultConnectionConfig(connectionConfig)
+            .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+            .setResponseTimeout(Timeout.of(readTimeout))
+            .build();
+
+        HttpClientBuilder builder = HttpClientBuilder.create()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            // The upstream does not send Keep-Alive hints, so the configured value is always used
+            .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.of(idleEviction));
+        if (!compressionEnabled) {
+            // Content compression is on by default: requests advertise Accept-Encoding gzip/deflate and responses
+            // are decompressed transparently
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a RestTemplate bean backed by the pooled HTTP client.
+     * @param employeeHttpClientTransport pooled HTTP client
      * @return RestTemplate bean
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate(); // Other rest template configurations can be added here
+    public RestTemplate restTemplate(CloseableHttpClient employeeHttpClientTransport) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(employeeHttpClientTransport));
+    }
+
+    /**
+     * Creates the executor for work the employee client runs off the request threads, such as background roster
+     * refreshes and rebuilds of the roster indexes. With {@code spring.threads.virtual.enabled} every task gets its own virtual thread, matching the
+     * Tomcat request threads, otherwise tasks run on a cached pool of platform threads.
+     * @param virtualThreadsEnabled whether virtual threads are enabled
+     * @return executor bean, shut down with the application context
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService employeeClientExecutor(
+        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        if (virtualThreadsEnabled) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("employee-client-", 0).factory());
+        }
+        return Executors.newCachedThreadPool(new CustomizableThreadFactory("employee-client-"));
+    }
+
+    /**
+     * Creates the pool that evaluates queries over large rosters in parallel. It is kept apart from the common pool so
+     * queries neither compete with parallel streams elsewhere in the application nor wait behind them.
+     * @param parallelism number of worker threads, the number of available processors when 0
+     * @return pool bean, shut down with the application context
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool employeeQueryPool(@Value("${employee.query.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("employee-query-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+    }
+
+    /**
+     * Creates the connection pool of the reactive employee client, with the limits of the blocking client's pool.
+     * Connections idle for longer than the keep-alive are closed by the background eviction.
+     * @return connection provider bean, disposed with the application context
+     */
+    @Bean(destroyMethod = "dispose")
+    @Profile("reactive")
+    public ConnectionProvider employeeConnectionProvider(
+        @Value("${employee.v1.client.http.max-connections:200}") int maxConnections,
+        @Value("${employee.v1.client.http.connection-request-timeout:2s}") Duration connectionRequestTimeout,
+        @Value("${employee.v1.client.http.keep-alive:30s}") Duration keepAlive,
+        @Value("${employee.v1.client.http.connection-time-to-live:5m}") Duration connectionTimeToLive,
+        @Value("${employee.v1.client.http.idle-eviction:30s}") Duration idleEviction) {
+        return ConnectionProvider.builder("employee-client")
+            .maxConnections(maxConnections)
+            .pendingAcquireTimeout(connectionRequestTimeout)
+            .maxIdleTime(keepAlive)
+            .maxLifeTime(connectionTimeToLive)
+            .evictInBackground(idleEviction)
+            .build();
+    }
+
+    /**
+     * Creates the WebClient used by the reactive employee client. Requests run on the Reactor Netty event loop, so a
+     * call in flight does not hold a thread.
+     * @param webClientBuilder builder configured with the application's codecs
+     * @param employeeConnectionProvider connection pool
+     * @return WebClient bean, with the employee service as base URL
+     */
+    @Bean
+    @Profile("reactive")
+    public WebClient employeeWebClient(WebClient.Builder webClientBuilder,
+        ConnectionProvider employeeConnectionProvider,
+        @Value("${employee.v1.server.host}") String host,
+        @Value("${employee.v1.server.path}") String path,
+        @Value("${employee.v1.client.http.connect-timeout:2s}") Duration connectTimeout,
+        @Value("${employee.v1.client.http.read-timeout:10s}") Duration readTimeout,
+        @Value("${employee.v1.client.http.compression-enabled:true}") boolean compressionEnabled) {
+        HttpClient httpClient = HttpClient.create(employeeConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+            .responseTimeout(readTimeout)
+            .compress(compressionEnabled);
+        return webClientBuilder
+            .baseUrl(host + path)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
     }
 }
@@ -11,4 +11,14 @@ public interface ErrorMessages {
     String INVALID_EMPLOYEE_SALARY = "Employee salary cannot be null or negative";
     String INVALID_EMPLOYEE_AGE = "Invalid employee age: %s. It should be between 16 and 75.";
     String EMPLOYEE_TITLE_NULL_OR_EMPTY = "Employee title cannot be null or empty";
+    String BATCH_NULL_OR_EMPTY = "Batch cannot be null or empty";
+    String BATCH_TOO_LARGE = "Batch cannot have more than %s items";
+    String QUERY_NULL = "Query cannot be null";
+    String INVALID_QUERY_RANGE = "Invalid %s range: %s to %s. The lower bound cannot exceed the upper bound.";
+    String INVALID_QUERY_SORT_BY = "Invalid sort field: %s. It should be salary, age or name.";
+    String INVALID_QUERY_SORT_DIRECTION = "Invalid sort direction: %s. It should be asc or desc.";
+    String INVALID_QUERY_GROUP_BY = "Invalid group by field: %s. It should be title.";
+    String INVALID_QUERY_LIMIT = "Invalid limit: %s. It should be between 0 and %s.";
+    String INVALID_PERCENTILE = "Invalid percentile: %s. It should be between 0 and 100.";
+    String NO_EMPLOYEE_SALARIES = "No employee has a salary";
 }
@@ -0,0 +1,52 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.RestBadRequestException;
+import com.reliaquest.api.exception.RestInternalServerErrorException;
+import com.reliaquest.api.service.EmployeeQueryService;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Controller class for name type-ahead. Suggestions are precomputed per prefix when the roster snapshot is loaded, so
+ * a keystroke is answered without scanning the roster or calling the employee service.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/employee")
+public class EmployeeAutocompleteController {
+
+    private final EmployeeQueryService employeeQueryService;
+
+    public EmployeeAutocompleteController(EmployeeQueryService employeeQueryService) {
+        this.employeeQueryService = employeeQueryService;
+    }
+
+    /**
+     * Get name suggestions.
+     * @param prefix beginning of a first or last name, or of a full name
+     * @param limit maximum number of suggestions
+     * @return distinct names, the most common first
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<String>> getNameSuggestions(@RequestParam String prefix,
+        @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(employeeQueryService.getNameSuggestions(prefix, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Error while getting name suggestions: {}", prefix, e);
+            throw new RestBadRequestException(e.getMessage());
+        } catch (HttpClientErrorException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error while getting name suggestions: {}", prefix, e);
+            throw new RestInternalServerErrorException(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.RestBadRequestException;
+import com.reliaquest.api.exception.RestInternalServerErrorException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.util.ApiValidationUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Controller class for creating and deleting employees in batches, with a single call to the employee service per
+ * batch. Each item is validated on its own: invalid items are reported in the results and the valid ones are sent on.
+ * Results are in request order.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/employee")
+public class EmployeeBatchController {
+
+    private final IEmployeeService employeeService;
+
+    public EmployeeBatchController(IEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * Create employees.
+     * @param employeeInputs Employee inputs
+     * @return created employee or error of each input
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<Employee>>> createEmployees(
+        @RequestBody List<CreateEmployeeInput> employeeInputs) {
+        try {
+            ApiValidationUtil.validateBatch(employeeInputs);
+            @SuppressWarnings("unchecked")
+            BatchItemResult<Employee>[] results = new BatchItemResult[employeeInputs.size()];
+            List<CreateEmployeeInput> valid = new ArrayList<>(employeeInputs.size());
+            List<Integer> positions = new ArrayList<>(employeeInputs.size());
+            for (int i = 0; i < employeeInputs.size(); i++) {
+                try {
+                    ApiValidationUtil.validateCreateEmployeeInput(employeeInputs.get(i));
+                    valid.add(employeeInputs.get(i));
+                    positions.add(i);
+                } catch (IllegalArgumentException e) {
+                    results[i] = BatchItemResult.error(e.getMessage());
+                }
+            }
+            if (!valid.isEmpty()) {
+                List<BatchItemResult<Employee>> created = employeeService.createEmployees(valid);
+                for (int i = 0; i < created.size(); i++) {
+                    results[positions.get(i)] = created.get(i);
+                }
+            }
+            return ResponseEntity.ok(Arrays.asList(results));
+        } catch (IllegalArgumentException e) {
+            log.error("Error while creating employees.", e);
+            throw new RestBadRequestException(e.getMessage());
+        } catch (HttpClientErrorException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error while creating employees.", e);
+            throw new RestInternalServerErrorException(e.getMessage());
+        }
+    }
+
+    /**
+     * Delete employees by id.
+     * @param ids Employee ids
+     * @return message or error of each id
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<String>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        try {
+            ApiValidationUtil.validateBatch(ids);
+            @SuppressWarnings("unchecked")
+            BatchItemResult<String>[] results = new BatchItemResult[ids.size()];
+            List<String> valid = new ArrayList<>(ids.size());
+            List<Integer> positions = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                try {
+                    ApiValidationUtil.validateEmployeeId(ids.get(i));
+                    valid.add(ids.get(i));
+                    positions.add(i);
+                } catch (IllegalArgumentException e) {
+                    results[i] = BatchItemResult.error(e.getMessage());
+                }
+            }
+            if (!valid.isEmpty()) {
+                List<BatchItemResult<String>> deleted = employeeService.deleteEmployeesById(valid);
+                for (int i = 0; i < deleted.size(); i++) {
+                    results[positions.get(i)] = deleted.get(i);
+                }
+            }
+            return ResponseEntity.ok(Arrays.asList(results));
+        } catch (IllegalArgumentException e) {
+            log.error("Error while deleting employees.", e);
+            throw new RestBadRequestException(e.getMessage());
+        } catch (HttpClientErrorException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error while deleting employees.", e);
+            throw new RestInternalServerErrorException(e.getMessage());
+        }
+    }
+}
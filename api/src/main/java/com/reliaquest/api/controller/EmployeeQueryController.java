@@ -0,0 +1,108 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.constants.ErrorMessages;
+import com.reliaquest.api.exception.RestBadRequestException;
+import com.reliaquest.api.exception.RestInternalServerErrorException;
+import com.reliaquest.api.exception.RestNotFoundRequestException;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.EmployeeQueryResult;
+import com.reliaquest.api.service.EmployeeQueryService;
+import java.util.OptionalInt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Controller class for ad-hoc queries over the roster: salary and age ranges, title, name fragment, sort, limit and
+ * aggregates per title, answered from the roster snapshot in a single call. Salary ranges and percentiles have
+ * endpoints of their own, answered from the salary order of the roster.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v2/employee")
+public class EmployeeQueryController {
+
+    private final EmployeeQueryService employeeQueryService;
+
+    public EmployeeQueryController(EmployeeQueryService employeeQueryService) {
+        this.employeeQueryService = employeeQueryService;
+    }
+
+    /**
+     * Query employees.
+     * @param query conditions, sort, limit and grouping
+     * @return matching employees and their aggregates
+     */
+    @PostMapping("/query")
+    public ResponseEntity<EmployeeQueryResult> queryEmployees(@RequestBody EmployeeQuery query) {
+        try {
+            return ResponseEntity.ok(employeeQueryService.query(query));
+        } catch (IllegalArgumentException e) {
+            log.error("Error while querying employees.", e);
+            throw new RestBadRequestException(e.getMessage());
+        } catch (HttpClientErrorException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error while querying employees.", e);
+            throw new RestInternalServerErrorException(e.getMessage());
+        }
+    }
+
+    /**
+     * Get employees by salary range.
+     * @param min lowest salary, inclusive
+     * @param max highest salary, inclusive
+     * @param limit maximum number of employees to return
+     * @return number of employees in the range and the first of them by ascending salary
+     */
+    @GetMapping("/salary/range")
+    public ResponseEntity<EmployeeQueryResult> getEmployeesBySalaryRange(
+        @RequestParam(required = false) Integer min,
+        @RequestParam(required = false) Integer max,
+        @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(employeeQueryService.getEmployeesBySalaryRange(min, max, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Error while getting employees by salary range: {} to {}", min, max, e);
+            throw new RestBadRequestException(e.getMessage());
+        } catch (HttpClientErrorException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error while getting employees by salary range: {} to {}", min, max, e);
+            throw new RestInternalServerErrorException(e.getMessage());
+        }
+    }
+
+    /**
+     * Get a salary percentile.
+     * @param percentile percentile, from 0 to 100
+     * @return lowest salary that the given percentage of employees earn at most
+     */
+    @GetMapping("/salary/percentile/{percentile}")
+    public ResponseEntity<Integer> getSalaryPercentile(@PathVariable double percentile) {
+        OptionalInt salary;
+        try {
+            salary = employeeQueryService.getSalaryPercentile(percentile);
+        } catch (IllegalArgumentException e) {
+            log.error("Error while getting salary percentile: {}", percentile, e);
+            throw new RestBadRequestException(e.getMessage());
+        } catch (HttpClientErrorException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error while getting salary percentile: {}", percentile, e);
+            throw new RestInternalServerErrorException(e.getMessage());
+        }
+        if (salary.isEmpty()) {
+            throw new RestNotFoundRequestException(ErrorMessages.NO_EMPLOYEE_SALARIES);
+        }
+        return ResponseEntity.ok(salary.getAsInt());
+    }
+}
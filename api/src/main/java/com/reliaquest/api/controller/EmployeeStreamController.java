@@ -0,0 +1,54 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.client.EmployeeHttpClient;
+import com.reliaquest.api.exception.RestInternalServerErrorException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Controller class for the streamed export of all employees. The newline-delimited JSON produced by the employee
+ * service is relayed byte for byte as it arrives, without parsing or buffering the roster.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/employee")
+public class EmployeeStreamController {
+
+    private final EmployeeHttpClient employeeHttpClient;
+
+    public EmployeeStreamController(EmployeeHttpClient employeeHttpClient) {
+        this.employeeHttpClient = employeeHttpClient;
+    }
+
+    /**
+     * Stream all employees, one JSON object per line.
+     * @return chunked newline-delimited JSON response
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        ClientHttpResponse upstream;
+        try {
+            upstream = employeeHttpClient.openEmployeeStream();
+        } catch (HttpClientErrorException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error while streaming employees.", e);
+            throw new RestInternalServerErrorException(e.getMessage());
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (upstream) {
+                long bytes = upstream.getBody().transferTo(outputStream);
+                log.info("Streamed employees. bytes={}", bytes);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
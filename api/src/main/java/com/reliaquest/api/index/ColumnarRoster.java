@@ -0,0 +1,68 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.cache.RosterDiff;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.cache.RosterSnapshotListener;
+
+import java.util.concurrent.Executor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StopWatch;
+
+/**
+ * Columnar form of the latest roster snapshot. The columns of a new snapshot are built in the background, queries are
+ * answered from the previous columns until they are ready.
+ */
+@Component
+@Slf4j
+public class ColumnarRoster implements RosterSnapshotListener, MeterBinder {
+
+    private final SnapshotDerived<RosterColumns> columns;
+
+    public ColumnarRoster(@Qualifier("employeeClientExecutor") Executor buildExecutor) {
+        this.columns = new SnapshotDerived<>(RosterColumns.empty(), ColumnarRoster::build, buildExecutor);
+    }
+
+    /**
+     * @return columns of the latest snapshot that has been built, without rows before the first snapshot is loaded
+     */
+    public RosterColumns getColumns() {
+        return columns.get();
+    }
+
+    @Override
+    public void onSnapshot(RosterSnapshot snapshot, RosterDiff diff) {
+        columns.onSnapshot(snapshot);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.index.columns.memory", columns, built -> built.getLastBuilt().getMemoryFootprintBytes())
+            .description("Approximate heap used by the columnar roster")
+            .baseUnit("bytes")
+            .register(registry);
+        Gauge.builder("employee.index.columns.pojo.memory", columns,
+                built -> built.getLastBuilt().getPojoFootprintBytes())
+            .description("Approximate heap used by the same fields in the employee objects")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    private static RosterColumns build(RosterSnapshot snapshot) {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        RosterColumns built = RosterColumns.of(snapshot.getEmployees());
+        stopWatch.stop();
+        if (log.isDebugEnabled() && built.size() > 0) {
+            log.debug("Built columnar roster. size={} bytesPerEmployee={} pojoBytesPerEmployee={} timeTaken={}",
+                built.size(), built.getMemoryFootprintBytes() / built.size(),
+                built.getPojoFootprintBytes() / built.size(), stopWatch.getTotalTimeMillis());
+        }
+        return built;
+    }
+}
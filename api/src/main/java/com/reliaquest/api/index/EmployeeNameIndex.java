@@ -0,0 +1,283 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.cache.RosterDiff;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.cache.RosterSnapshotListener;
+import com.reliaquest.api.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trigram inverted index over lower-cased employee names, answering the same "name contains" queries as a linear
+ * {@code toLowerCase().contains(...)} scan.
+ * <p>
+ * Every employee is a document with an ascending id. Each trigram of a name maps to a posting list of the documents
+ * containing it, so a query only has to intersect the posting lists of its own trigrams and verify the few remaining
+ * candidates. Queries shorter than a trigram scan the pre-lower-cased names. Removed employees are tombstoned and
+ * the index is compacted once a quarter of the documents are dead.
+ * <p>
+ * Results are in document order: roster order right after a rebuild, but employees added incrementally, including
+ * employees whose attributes changed, come after the others until the next rebuild. A search therefore returns the
+ * same employees as a linear scan, not necessarily in the same order.
+ */
+@Component
+@Slf4j
+public class EmployeeNameIndex implements RosterSnapshotListener, MeterBinder {
+    private static final int GRAM_LENGTH = 3;
+    private static final float COMPACTION_RATIO = 0.25f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Employee[] documents = new Employee[0];
+    private String[] normalizedNames = new String[0];
+    private int documentCount;
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+    private final Map<UUID, Integer> documentsByEmployeeId = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    /**
+     * Finds the employees whose name contains the query, ignoring case.
+     * @param query name fragment
+     * @param limit maximum number of employees to return
+     * @return matching employees in document order
+     */
+    public List<Employee> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (normalizedQuery.length() < GRAM_LENGTH) {
+                return scan(normalizedQuery, limit);
+            }
+
+            int[] candidates = candidates(normalizedQuery);
+            List<Employee> matches = new ArrayList<>();
+            for (int i = 0; i < candidates.length && matches.size() < limit; i++) {
+                int document = candidates[i];
+                // Sharing all trigrams does not imply containing the query, e.g. "abcxbcd" for "abcd"
+                if (!removed.get(document) && normalizedNames[document].contains(normalizedQuery)) {
+                    matches.add(documents[document]);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSnapshot(RosterSnapshot snapshot, RosterDiff diff) {
+        lock.writeLock().lock();
+        try {
+            if (diff.isFull()) {
+                rebuild(snapshot.getEmployees());
+                return;
+            }
+
+            for (Employee employee : diff.getRemoved()) {
+                Integer document = documentsByEmployeeId.remove(employee.getId());
+                if (document != null && !removed.get(document)) {
+                    removed.set(document);
+                    removedCount++;
+                }
+            }
+            for (Employee employee : diff.getAdded()) {
+                add(employee);
+            }
+            if (removedCount > documentCount * COMPACTION_RATIO) {
+                rebuild(liveDocuments());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return approximate heap used by the posting lists, the normalized names and the document arrays, in bytes
+     */
+    public long getMemoryFootprintBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) documents.length * Integer.BYTES * 2;
+            for (int i = 0; i < documentCount; i++) {
+                // String header plus its backing array, assuming compact (Latin-1) strings
+                bytes += 40 + normalizedNames[i].length();
+            }
+            for (PostingList postingList : postings.values()) {
+                // Map entry, boxed key and posting list header plus its backing array
+                bytes += 32 + 16 + 32 + (long) postingList.documents.length * Integer.BYTES;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of employees in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.index.name.memory", this, EmployeeNameIndex::getMemoryFootprintBytes)
+            .description("Approximate heap used by the employee name index")
+            .baseUnit("bytes")
+            .register(registry);
+        Gauge.builder("employee.index.name.size", this, EmployeeNameIndex::size)
+            .description("Employees in the employee name index")
+            .register(registry);
+    }
+
+    private List<Employee> scan(String normalizedQuery, int limit) {
+        List<Employee> matches = new ArrayList<>();
+        for (int document = 0; document < documentCount && matches.size() < limit; document++) {
+            if (!removed.get(document) && normalizedNames[document].contains(normalizedQuery)) {
+                matches.add(documents[document]);
+            }
+        }
+        return matches;
+    }
+
+    private int[] candidates(String normalizedQuery) {
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalizedQuery.length(); i++) {
+            PostingList postingList = postings.get(gram(normalizedQuery, i));
+            if (postingList == null) {
+                return new int[0];
+            }
+            lists.add(postingList);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        int[] candidates = Arrays.copyOf(lists.get(0).documents, lists.get(0).size);
+        int candidateCount = candidates.length;
+        for (int i = 1; i < lists.size() && candidateCount > 0; i++) {
+            candidateCount = intersect(candidates, candidateCount, lists.get(i));
+        }
+        return candidateCount == candidates.length ? candidates : Arrays.copyOf(candidates, candidateCount);
+    }
+
+    /**
+     * Intersects the first {@code count} candidates with the posting list in place, galloping through the (usually
+     * much longer) posting list.
+     * @return number of candidates left
+     */
+    private static int intersect(int[] candidates, int count, PostingList postingList) {
+        int[] documents = postingList.documents;
+        int size = postingList.size;
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < size; i++) {
+            int candidate = candidates[i];
+            int step = 1;
+            int to = from;
+            while (to < size && documents[to] < candidate) {
+                from = to + 1;
+                to += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(documents, from, Math.min(to + 1, size), candidate);
+            if (position >= 0) {
+                candidates[kept++] = candidate;
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return kept;
+    }
+
+    private void rebuild(List<Employee> employees) {
+        documents = new Employee[Math.max(16, employees.size())];
+        normalizedNames = new String[documents.length];
+        documentCount = 0;
+        removed.clear();
+        removedCount = 0;
+        documentsByEmployeeId.clear();
+        postings.clear();
+        for (Employee employee : employees) {
+            add(employee);
+        }
+        log.debug("Rebuilt employee name index. size={} grams={} memoryBytes={}",
+            documentCount, postings.size(), getMemoryFootprintBytes());
+    }
+
+    private List<Employee> liveDocuments() {
+        List<Employee> live = new ArrayList<>(documentCount - removedCount);
+        for (int document = 0; document < documentCount; document++) {
+            if (!removed.get(document)) {
+                live.add(documents[document]);
+            }
+        }
+        return live;
+    }
+
+    private void add(Employee employee) {
+        if (documentCount == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+            normalizedNames = Arrays.copyOf(normalizedNames, documents.length);
+        }
+        int document = documentCount++;
+        String normalizedName = normalize(employee.getName());
+        documents[document] = employee;
+        normalizedNames[document] = normalizedName;
+        if (employee.getId() != null) {
+            documentsByEmployeeId.put(employee.getId(), document);
+        }
+        for (int i = 0; i + GRAM_LENGTH <= normalizedName.length(); i++) {
+            postings.computeIfAbsent(gram(normalizedName, i), ignored -> new PostingList()).add(document);
+        }
+    }
+
+    private static String normalize(String name) {
+        // Same normalization as the linear scan this index replaces, so that results are identical
+        return name == null ? "" : name.toLowerCase();
+    }
+
+    private static long gram(String normalized, int offset) {
+        return ((long) normalized.charAt(offset) << 32)
+            | ((long) normalized.charAt(offset + 1) << 16)
+            | normalized.charAt(offset + 2);
+    }
+
+    /**
+     * Ascending list of the documents containing a trigram.
+     */
+    private static final class PostingList {
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            // Documents are added in ascending order, a name repeating a trigram would add the document twice
+            if (size > 0 && documents[size - 1] == document) {
+                return;
+            }
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.cache.RosterDiff;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.cache.RosterSnapshotListener;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StopWatch;
+
+/**
+ * Name autocompletion over the latest roster snapshot. The {@link NameTrie} of a new snapshot is built in the
+ * background, so a keystroke after a write is answered from the previous trie instead of waiting for a rebuild.
+ */
+@Component
+@Slf4j
+public class NameAutocompleteIndex implements RosterSnapshotListener, MeterBinder {
+
+    private final int maxSuggestions;
+    private final SnapshotDerived<NameTrie> trie;
+
+    public NameAutocompleteIndex(@Value("${employee.autocomplete.max-suggestions:10}") int maxSuggestions,
+                                 @Qualifier("employeeClientExecutor") Executor buildExecutor) {
+        this.maxSuggestions = maxSuggestions;
+        this.trie = new SnapshotDerived<>(NameTrie.empty(), this::build, buildExecutor);
+    }
+
+    /**
+     * Completes a prefix of a name, or of one of its tokens.
+     * @param prefix prefix, normalized like the names
+     * @param limit maximum number of suggestions
+     * @return distinct names, the most common first
+     */
+    public List<String> complete(String prefix, int limit) {
+        return getTrie().complete(NameTrie.normalize(prefix), limit);
+    }
+
+    /**
+     * @return number of suggestions stored per trie node, the highest limit a lookup can ask for
+     */
+    public int getMaxSuggestions() {
+        return maxSuggestions;
+    }
+
+    /**
+     * @return trie of the latest snapshot that has been built, without names before the first snapshot is loaded
+     */
+    public NameTrie getTrie() {
+        return trie.get();
+    }
+
+    @Override
+    public void onSnapshot(RosterSnapshot snapshot, RosterDiff diff) {
+        trie.onSnapshot(snapshot);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.index.autocomplete.memory", trie,
+                built -> built.getLastBuilt().getMemoryFootprintBytes())
+            .description("Approximate heap used by the name autocompletion trie")
+            .baseUnit("bytes")
+            .register(registry);
+        Gauge.builder("employee.index.autocomplete.nodes", trie, built -> built.getLastBuilt().nodeCount())
+            .description("Nodes in the name autocompletion trie")
+            .register(registry);
+    }
+
+    private NameTrie build(RosterSnapshot snapshot) {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+        NameTrie built = NameTrie.of(snapshot.getEmployees(), maxSuggestions);
+        stopWatch.stop();
+        log.debug("Built name autocompletion trie. names={} nodes={} memoryBytes={} timeTaken={}",
+            built.size(), built.nodeCount(), built.getMemoryFootprintBytes(), stopWatch.getTotalTimeMillis());
+        return built;
+    }
+}
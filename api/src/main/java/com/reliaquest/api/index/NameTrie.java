@@ -0,0 +1,408 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable radix trie for prefix autocompletion of employee names.
+ * <p>
+ * Names are normalized (lower-cased, accents stripped, whitespace collapsed) and every suffix of a name that starts
+ * at a token is a key, so "Tiger Nixon" is found by "ti", "tiger n" and "nix". Chains of single-child nodes are
+ * collapsed into one node whose label is a range of a shared {@code char} arena, and the nodes, their children and
+ * their suggestions are laid out in flat {@code int} arrays.
+ * <p>
+ * Distinct names are ranked by the number of employees with the name, then alphabetically, and numbered in rank
+ * order. Each node stores the best ranked names of its subtree, up to {@code maxSuggestions}, computed when the trie is
+ * built. A lookup walks at most the length of the prefix and copies the stored suggestions of the node it ends on.
+ */
+public final class NameTrie {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Comparator<NameCount> BY_RANK = Comparator.comparingInt((NameCount name) -> name.count)
+        .reversed()
+        .thenComparing(name -> name.normalized);
+
+    private static final NameTrie EMPTY = of(List.of(), 0);
+
+    private final int maxSuggestions;
+    // Display names in rank order, a name's rank is its index
+    private final String[] names;
+    private final char[] labelArena;
+    // Per node: label range in the arena, children range in the node arrays, suggestions range in the suggestion arena
+    private final int[] labelStarts;
+    private final int[] labelEnds;
+    private final int[] firstChildren;
+    private final int[] childCounts;
+    private final int[] suggestionStarts;
+    private final int[] suggestionCounts;
+    private final int[] suggestionArena;
+
+    private NameTrie(int maxSuggestions, String[] names, char[] labelArena, int[] labelStarts, int[] labelEnds,
+        int[] firstChildren, int[] childCounts, int[] suggestionStarts, int[] suggestionCounts,
+        int[] suggestionArena) {
+        this.maxSuggestions = maxSuggestions;
+        this.names = names;
+        this.labelArena = labelArena;
+        this.labelStarts = labelStarts;
+        this.labelEnds = labelEnds;
+        this.firstChildren = firstChildren;
+        this.childCounts = childCounts;
+        this.suggestionStarts = suggestionStarts;
+        this.suggestionCounts = suggestionCounts;
+        this.suggestionArena = suggestionArena;
+    }
+
+    /**
+     * Builds the trie of a roster.
+     * @param employees employees, those without a name are left out
+     * @param maxSuggestions number of suggestions stored per node
+     * @return trie
+     */
+    public static NameTrie of(List<Employee> employees, int maxSuggestions) {
+        // Distinct names by normalized form, displayed as first seen
+        Map<String, NameCount> namesByKey = new HashMap<>();
+        for (Employee employee : employees) {
+            String normalized = normalize(employee.getName());
+            if (!normalized.isEmpty()) {
+                namesByKey.computeIfAbsent(normalized, key -> new NameCount(employee.getName().strip(), key)).count++;
+            }
+        }
+        List<NameCount> ranked = new ArrayList<>(namesByKey.values());
+        ranked.sort(BY_RANK);
+
+        List<Key> keys = new ArrayList<>();
+        String[] names = new String[ranked.size()];
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            String normalized = ranked.get(rank).normalized;
+            names[rank] = ranked.get(rank).display;
+            keys.add(new Key(normalized, rank));
+            for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+                keys.add(new Key(normalized.substring(i + 1), rank));
+            }
+        }
+        keys.sort(Comparator.comparing(Key::text).thenComparingInt(Key::rank));
+        return new Builder(keys, names, maxSuggestions).build();
+    }
+
+    /**
+     * Completes a prefix by scanning a roster, for a roster that is not kept long enough to pay for building a trie.
+     * Suggests the same names, in the same order, as {@link #complete(String, int)} on the trie of the roster.
+     * @param employees employees, those without a name are left out
+     * @param prefix beginning of a name or of one of its tokens, normalized by {@link #normalize(String)}
+     * @param limit maximum number of suggestions
+     * @return names starting with the prefix, or with a token starting with it, best ranked first
+     */
+    public static List<String> scan(List<Employee> employees, String prefix, int limit) {
+        Map<String, NameCount> matches = new HashMap<>();
+        String tokenPrefix = " " + prefix;
+        for (Employee employee : employees) {
+            String normalized = normalize(employee.getName());
+            if (!normalized.isEmpty() && (normalized.startsWith(prefix) || normalized.contains(tokenPrefix))) {
+                matches.computeIfAbsent(normalized, key -> new NameCount(employee.getName().strip(), key)).count++;
+            }
+        }
+        List<NameCount> ranked = new ArrayList<>(matches.values());
+        ranked.sort(BY_RANK);
+        List<String> suggestions = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < limit && i < ranked.size(); i++) {
+            suggestions.add(ranked.get(i).display);
+        }
+        return suggestions;
+    }
+
+    /**
+     * @return trie without names
+     */
+    public static NameTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Same normalization for names and prefixes: lower-cased, without accents, tokens separated by single spaces.
+     * @param name name or prefix, may be null
+     * @return normalized form, empty if there is no token
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > 0x7f) {
+                // Decomposed, accents are combining marks following their letter
+                String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+                String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+                return WHITESPACE.matcher(stripped.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+            }
+        }
+        // ASCII names, the common case, are normalized in a single pass without regular expressions
+        char[] normalized = new char[name.length()];
+        int length = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = length > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized[length++] = ' ';
+                pendingSpace = false;
+            }
+            normalized[length++] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return new String(normalized, 0, length);
+    }
+
+    /**
+     * Completes a prefix.
+     * @param prefix beginning of a name or of one of its tokens, normalized by {@link #normalize(String)}
+     * @param limit maximum number of suggestions, at most the number stored per node
+     * @return names starting with the prefix, or with a token starting with it, best ranked first
+     */
+    public List<String> complete(String prefix, int limit) {
+        int node = 0;
+        int matched = 0;
+        while (matched < prefix.length()) {
+            node = child(node, prefix.charAt(matched));
+            if (node < 0) {
+                return List.of();
+            }
+            for (int i = labelStarts[node]; i < labelEnds[node] && matched < prefix.length(); i++, matched++) {
+                if (labelArena[i] != prefix.charAt(matched)) {
+                    return List.of();
+                }
+            }
+        }
+        int count = Math.min(Math.min(limit, maxSuggestions), suggestionCounts[node]);
+        String[] suggestions = new String[count];
+        for (int i = 0; i < count; i++) {
+            suggestions[i] = names[suggestionArena[suggestionStarts[node] + i]];
+        }
+        return Arrays.asList(suggestions);
+    }
+
+    /**
+     * @return number of distinct names
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @return number of nodes, including the root
+     */
+    public int nodeCount() {
+        return labelStarts.length;
+    }
+
+    /**
+     * @return approximate heap used by the trie, in bytes
+     */
+    public long getMemoryFootprintBytes() {
+        long bytes = 16 + 2L * labelArena.length + 16 + 4L * suggestionArena.length;
+        bytes += 6 * (16 + 4L * labelStarts.length);
+        bytes += 16 + 4L * names.length;
+        for (String name : names) {
+            // String header plus its backing array, assuming compact (Latin-1) strings
+            bytes += 40 + name.length();
+        }
+        return bytes;
+    }
+
+    // Child of a node whose label starts with the character, -1 if there is none
+    private int child(int node, char first) {
+        int low = firstChildren[node];
+        int high = low + childCounts[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char label = labelArena[labelStarts[middle]];
+            if (label < first) {
+                low = middle + 1;
+            } else if (label > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static final class NameCount {
+        private final String display;
+        private final String normalized;
+        private int count;
+
+        private NameCount(String display, String normalized) {
+            this.display = display;
+            this.normalized = normalized;
+        }
+    }
+
+    private record Key(String text, int rank) {
+    }
+
+    /**
+     * Builds the trie from the sorted keys. Nodes are numbered breadth first, so the children of a node are
+     * contiguous and ordered by the first character of their labels.
+     */
+    private static final class Builder {
+
+        private final List<Key> keys;
+        private final String[] names;
+        private final int maxSuggestions;
+        private final StringBuilder labelArena = new StringBuilder();
+
+        private Builder(List<Key> keys, String[] names, int maxSuggestions) {
+            this.keys = keys;
+            this.names = names;
+            this.maxSuggestions = maxSuggestions;
+        }
+
+        NameTrie build() {
+            Node root = node(0, keys.size(), 0, true);
+
+            List<Node> nodes = new ArrayList<>();
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                node.index = nodes.size();
+                nodes.add(node);
+                queue.addAll(node.children);
+            }
+
+            int[] labelStarts = new int[nodes.size()];
+            int[] labelEnds = new int[nodes.size()];
+            int[] firstChildren = new int[nodes.size()];
+            int[] childCounts = new int[nodes.size()];
+            int[] suggestionStarts = new int[nodes.size()];
+            int[] suggestionCounts = new int[nodes.size()];
+            int suggestionCount = 0;
+            for (Node node : nodes) {
+                suggestionCount += node.suggestions.length;
+            }
+            int[] suggestionArena = new int[suggestionCount];
+            suggestionCount = 0;
+            for (Node node : nodes) {
+                int index = node.index;
+                labelStarts[index] = node.labelStart;
+                labelEnds[index] = node.labelEnd;
+                firstChildren[index] = node.children.isEmpty() ? 0 : node.children.get(0).index;
+                childCounts[index] = node.children.size();
+                suggestionStarts[index] = suggestionCount;
+                suggestionCounts[index] = node.suggestions.length;
+                System.arraycopy(node.suggestions, 0, suggestionArena, suggestionCount, node.suggestions.length);
+                suggestionCount += node.suggestions.length;
+            }
+            char[] arena = new char[labelArena.length()];
+            labelArena.getChars(0, arena.length, arena, 0);
+            return new NameTrie(maxSuggestions, names, arena, labelStarts, labelEnds, firstChildren, childCounts,
+                suggestionStarts, suggestionCounts, suggestionArena);
+        }
+
+        /*
+         * Node of the keys from, inclusive, to to, exclusive, which share their first depth characters. Its label
+         * extends the shared prefix as far as the first and last key agree, as the keys are sorted. The root keeps an
+         * empty label, so that every key starts at one of its children.
+         */
+        private Node node(int from, int to, int depth, boolean root) {
+            int end = depth;
+            if (!root) {
+                String first = keys.get(from).text();
+                String last = keys.get(to - 1).text();
+                while (end < first.length() && end < last.length() && first.charAt(end) == last.charAt(end)) {
+                    end++;
+                }
+            }
+            Node node = new Node();
+            if (!root) {
+                node.labelStart = labelArena.length();
+                labelArena.append(keys.get(from).text(), depth, end);
+                node.labelEnd = labelArena.length();
+            }
+
+            // Keys ending at this node come first in sorted order, by rank, and only the first maxSuggestions count.
+            // The rest are grouped by their next character.
+            int start = from;
+            while (start < to && keys.get(start).text().length() == end) {
+                start++;
+            }
+            int[] ranks = new int[Math.min(start - from, maxSuggestions)];
+            for (int i = 0; i < ranks.length; i++) {
+                ranks[i] = keys.get(from + i).rank();
+            }
+            List<int[]> suggestionLists = new ArrayList<>();
+            suggestionLists.add(ranks);
+            while (start < to) {
+                int groupEnd = groupEnd(start, to, end);
+                Node child = node(start, groupEnd, end, false);
+                node.children.add(child);
+                suggestionLists.add(child.suggestions);
+                start = groupEnd;
+            }
+            node.suggestions = best(suggestionLists);
+            return node;
+        }
+
+        // End of the keys sharing the character at the depth with the first key, found by binary search
+        private int groupEnd(int from, int to, int depth) {
+            char first = keys.get(from).text().charAt(depth);
+            int low = from + 1;
+            int high = to;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys.get(middle).text().charAt(depth) == first) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // Best ranked distinct names of the lists, each list in ascending rank order
+        private int[] best(List<int[]> lists) {
+            int[] best = new int[maxSuggestions];
+            int count = 0;
+            int[] positions = new int[lists.size()];
+            while (count < best.length) {
+                int lowest = Integer.MAX_VALUE;
+                for (int i = 0; i < lists.size(); i++) {
+                    int[] list = lists.get(i);
+                    // A name reached through several of its tokens is in several lists
+                    while (positions[i] < list.length && count > 0 && list[positions[i]] == best[count - 1]) {
+                        positions[i]++;
+                    }
+                    if (positions[i] < list.length) {
+                        lowest = Math.min(lowest, list[positions[i]]);
+                    }
+                }
+                if (lowest == Integer.MAX_VALUE) {
+                    break;
+                }
+                best[count++] = lowest;
+            }
+            return count == best.length ? best : Arrays.copyOf(best, count);
+        }
+    }
+
+    private static final class Node {
+        private int labelStart;
+        private int labelEnd;
+        private int index;
+        private int[] suggestions;
+        private final List<Node> children = new ArrayList<>();
+    }
+}
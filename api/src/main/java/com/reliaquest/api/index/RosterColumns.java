@@ -0,0 +1,547 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.TopKSelector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Immutable columnar form of a roster snapshot for analytics queries. Row i is the i-th employee of the snapshot.
+ * <p>
+ * Salaries and ages are parallel {@code int} arrays, titles are dictionary encoded into an {@code int} array of codes
+ * and the lower-cased names are packed into a single {@code char} arena addressed by offsets. Aggregates and filters
+ * are loops over these arrays, without unboxing or following a reference per employee. Employees are only touched to
+ * return the rows a query selected.
+ */
+public final class RosterColumns {
+
+    /**
+     * Salary or age of an employee the employee service returned without one. Fails every bounded range.
+     */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private static final int NO_TITLE = -1;
+
+    private static final RosterColumns EMPTY = of(List.of());
+
+    private final List<Employee> employees;
+    private final int size;
+    private final int[] salaries;
+    private final int[] ages;
+    private final int[] titleCodes;
+    private final String[] titles;
+    private final Map<String, Integer> codesByTitle;
+    private final char[] nameArena;
+    private final int[] nameOffsets;
+
+    // Rows of each title code, built on the first title lookup. Racing builds produce equal postings.
+    private volatile int[][] rowsByTitleCode;
+
+    // Built on the first salary range lookup. Racing builds produce equal indexes.
+    private volatile SalaryRangeIndex salaryIndex;
+
+    /**
+     * Salary histogram with equal-width buckets.
+     * @param lowerBound lowest salary of the first bucket
+     * @param bucketWidth salaries per bucket
+     * @param counts employees per bucket, the last bucket includes the highest salary
+     */
+    public record Histogram(int lowerBound, int bucketWidth, int[] counts) {
+    }
+
+    /**
+     * Row filter, every bound is inclusive. A filter without bounds selects every row.
+     * @param minSalary lowest salary, {@link #MISSING} for no lower bound
+     * @param maxSalary highest salary
+     * @param minAge lowest age, {@link #MISSING} for no lower bound
+     * @param maxAge highest age
+     * @param title title, matched exactly, null for any title
+     * @param nameContains name fragment, matched ignoring case, null or empty for any name
+     */
+    public record Filter(int minSalary, int maxSalary, int minAge, int maxAge, String title, String nameContains) {
+
+        public static final Filter ALL = new Filter(MISSING, Integer.MAX_VALUE, MISSING, Integer.MAX_VALUE, null, null);
+
+        public Filter withSalary(int min, int max) {
+            return new Filter(min, max, minAge, maxAge, title, nameContains);
+        }
+
+        public Filter withAge(int min, int max) {
+            return new Filter(minSalary, maxSalary, min, max, title, nameContains);
+        }
+
+        public Filter withTitle(String title) {
+            return new Filter(minSalary, maxSalary, minAge, maxAge, title, nameContains);
+        }
+
+        public Filter withNameContaining(String fragment) {
+            return new Filter(minSalary, maxSalary, minAge, maxAge, title, fragment);
+        }
+    }
+
+    private RosterColumns(List<Employee> employees) {
+        this.employees = employees;
+        this.size = employees.size();
+        this.salaries = new int[size];
+        this.ages = new int[size];
+        this.titleCodes = new int[size];
+        this.nameOffsets = new int[size + 1];
+        this.codesByTitle = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        StringBuilder arena = new StringBuilder(size * 16);
+        int row = 0;
+        for (Employee employee : employees) {
+            salaries[row] = employee.getSalary() != null ? employee.getSalary() : MISSING;
+            ages[row] = employee.getAge() != null ? employee.getAge() : MISSING;
+            if (employee.getTitle() == null) {
+                titleCodes[row] = NO_TITLE;
+            } else {
+                titleCodes[row] = codesByTitle.computeIfAbsent(employee.getTitle(), title -> {
+                    dictionary.add(title);
+                    return dictionary.size() - 1;
+                });
+            }
+            // Same normalization as the name index, so that name filters match the same employees
+            if (employee.getName() != null) {
+                arena.append(employee.getName().toLowerCase());
+            }
+            nameOffsets[++row] = arena.length();
+        }
+        this.titles = dictionary.toArray(new String[0]);
+        this.nameArena = new char[arena.length()];
+        arena.getChars(0, arena.length(), nameArena, 0);
+    }
+
+    /**
+     * Builds the columns of a roster.
+     * @param employees employees of a snapshot, referenced by the columns and not copied
+     * @return columns
+     */
+    public static RosterColumns of(List<Employee> employees) {
+        return new RosterColumns(employees);
+    }
+
+    /**
+     * @return columns without rows
+     */
+    public static RosterColumns empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the employee of a row
+     */
+    public Employee employee(int row) {
+        return employees.get(row);
+    }
+
+    /**
+     * @return the salary of a row, {@link #MISSING} if the employee has none
+     */
+    public int salary(int row) {
+        return salaries[row];
+    }
+
+    /**
+     * @return the age of a row, {@link #MISSING} if the employee has none
+     */
+    public int age(int row) {
+        return ages[row];
+    }
+
+    /**
+     * @return the title code of a row, negative if the employee has no title
+     */
+    public int titleCode(int row) {
+        return titleCodes[row];
+    }
+
+    /**
+     * @return the title of a code
+     */
+    public String title(int code) {
+        return titles[code];
+    }
+
+    /**
+     * @return the number of distinct titles, title codes range from 0 to this number, exclusive
+     */
+    public int distinctTitles() {
+        return titles.length;
+    }
+
+    /**
+     * Looks up the employees with a title. The rows of every title are built on the first lookup, in one pass over
+     * the title column.
+     * @param title title, matched exactly
+     * @return rows with the title, in roster order
+     */
+    public int[] rowsWithTitle(String title) {
+        Integer code = codesByTitle.get(title);
+        if (code == null) {
+            return new int[0];
+        }
+        int[][] postings = rowsByTitleCode;
+        if (postings == null) {
+            postings = buildRowsByTitleCode();
+            rowsByTitleCode = postings;
+        }
+        return postings[code];
+    }
+
+    /**
+     * @return the salary order of the roster, sorted on the first call
+     */
+    public SalaryRangeIndex salaryIndex() {
+        SalaryRangeIndex index = salaryIndex;
+        if (index == null) {
+            index = SalaryRangeIndex.of(this);
+            salaryIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * @return the employees of the given rows, in the given order
+     */
+    public List<Employee> employees(int[] rows) {
+        List<Employee> selected = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            selected.add(employees.get(row));
+        }
+        return selected;
+    }
+
+    /**
+     * @return the highest salary, empty if no employee has a salary
+     */
+    public OptionalInt highestSalary() {
+        int highest = maxSalary(0, size);
+        return highest == MISSING ? OptionalInt.empty() : OptionalInt.of(highest);
+    }
+
+    /**
+     * @param from first row, inclusive
+     * @param to last row, exclusive
+     * @return the highest salary of the range, {@link #MISSING} if no employee of the range has a salary
+     */
+    public int maxSalary(int from, int to) {
+        int highest = MISSING;
+        for (int row = from; row < to; row++) {
+            highest = Math.max(highest, salaries[row]);
+        }
+        return highest;
+    }
+
+    /**
+     * @param from first row, inclusive
+     * @param to last row, exclusive
+     * @return the lowest salary of the range, {@link #MISSING} if no employee of the range has a salary
+     */
+    public int minSalary(int from, int to) {
+        int lowest = Integer.MAX_VALUE;
+        boolean found = false;
+        for (int row = from; row < to; row++) {
+            int salary = salaries[row];
+            if (salary != MISSING) {
+                lowest = Math.min(lowest, salary);
+                found = true;
+            }
+        }
+        return found ? lowest : MISSING;
+    }
+
+    /**
+     * Selects the highest earners with a bounded heap over the salary column.
+     * @param k number of employees
+     * @return at most k rows by descending salary, ties broken by roster order
+     */
+    public int[] topEarners(int k) {
+        return topEarners(k, 0, size);
+    }
+
+    /**
+     * Selects the highest earners of a range.
+     * @param k number of employees
+     * @param from first row, inclusive
+     * @param to last row, exclusive
+     * @return at most k rows by descending salary, ties broken by roster order
+     */
+    public int[] topEarners(int k, int from, int to) {
+        int[] rows = TopKSelector.selectTopK(salaries, from, to, k);
+        // Employees without salary sort last and are only selected when there are fewer than k with one
+        int selected = rows.length;
+        while (selected > 0 && salaries[rows[selected - 1]] == MISSING) {
+            selected--;
+        }
+        return selected == rows.length ? rows : Arrays.copyOf(rows, selected);
+    }
+
+    /**
+     * Merges the highest earners of two ranges.
+     * @param first rows by descending salary, ties broken by roster order
+     * @param second rows by descending salary, ties broken by roster order
+     * @param k number of employees
+     * @return at most k rows by descending salary, ties broken by roster order
+     */
+    public int[] mergeTopEarners(int[] first, int[] second, int k) {
+        int[] merged = new int[Math.min(k, first.length + second.length)];
+        int i = 0;
+        int j = 0;
+        for (int m = 0; m < merged.length; m++) {
+            if (j == second.length || (i < first.length && earnsMore(first[i], second[j]))) {
+                merged[m] = first[i++];
+            } else {
+                merged[m] = second[j++];
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Counts employees by salary, in equal-width buckets between the lowest and the highest salary.
+     * @param bucketCount number of buckets
+     * @return histogram, without buckets if no employee has a salary
+     */
+    public Histogram salaryHistogram(int bucketCount) {
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("bucketCount must be positive");
+        }
+        int lowest = Integer.MAX_VALUE;
+        int highest = MISSING;
+        for (int i = 0; i < size; i++) {
+            int salary = salaries[i];
+            if (salary != MISSING) {
+                lowest = Math.min(lowest, salary);
+                highest = Math.max(highest, salary);
+            }
+        }
+        if (highest == MISSING) {
+            return new Histogram(0, 0, new int[0]);
+        }
+        long range = (long) highest - lowest + 1;
+        int bucketWidth = (int) Math.max(1, (range + bucketCount - 1) / bucketCount);
+        int[] counts = new int[(int) ((range + bucketWidth - 1) / bucketWidth)];
+        for (int i = 0; i < size; i++) {
+            int salary = salaries[i];
+            if (salary != MISSING) {
+                counts[(int) (((long) salary - lowest) / bucketWidth)]++;
+            }
+        }
+        return new Histogram(lowest, bucketWidth, counts);
+    }
+
+    /**
+     * @return rows matching the filter, in roster order
+     */
+    public int[] select(Filter filter) {
+        return select(filter, 0, size);
+    }
+
+    /**
+     * @param from first row, inclusive
+     * @param to last row, exclusive
+     * @return rows of the range matching the filter, in roster order
+     */
+    public int[] select(Filter filter, int from, int to) {
+        RowMatcher matcher = new RowMatcher(filter);
+        if (matcher.matchesNothing()) {
+            return new int[0];
+        }
+        int[] rows = new int[Math.min(to - from, 1024)];
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            if (!matcher.matches(row)) {
+                continue;
+            }
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rows[count++] = row;
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Filters candidate rows, such as the rows of an index lookup.
+     * @param candidates rows to filter
+     * @return candidates matching the filter, in the order of the candidates
+     */
+    public int[] select(Filter filter, int[] candidates) {
+        RowMatcher matcher = new RowMatcher(filter);
+        if (matcher.matchesNothing()) {
+            return new int[0];
+        }
+        int[] rows = new int[candidates.length];
+        int count = 0;
+        for (int row : candidates) {
+            if (matcher.matches(row)) {
+                rows[count++] = row;
+            }
+        }
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * @return the number of employees with each title, in order of first appearance. Employees without title are not
+     *     counted.
+     */
+    public Map<String, Integer> countByTitle() {
+        return countByTitle(countTitleCodes(0, size));
+    }
+
+    /**
+     * @param from first row, inclusive
+     * @param to last row, exclusive
+     * @return the number of employees of the range with each title, indexed by title code
+     */
+    public int[] countTitleCodes(int from, int to) {
+        int[] counts = new int[titles.length];
+        for (int row = from; row < to; row++) {
+            int code = titleCodes[row];
+            if (code != NO_TITLE) {
+                counts[code]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @param counts number of employees with each title, indexed by title code
+     * @return the number of employees with each title, in order of first appearance
+     */
+    public Map<String, Integer> countByTitle(int[] counts) {
+        Map<String, Integer> countsByTitle = new LinkedHashMap<>();
+        for (int code = 0; code < titles.length; code++) {
+            countsByTitle.put(titles[code], counts[code]);
+        }
+        return countsByTitle;
+    }
+
+    /**
+     * @return approximate heap used by the columns and the title dictionary, in bytes
+     */
+    public long getMemoryFootprintBytes() {
+        // Array headers plus their elements
+        long bytes = 4L * 16 + (long) size * Integer.BYTES * 3 + (long) (size + 1) * Integer.BYTES
+            + (long) nameArena.length * Character.BYTES;
+        for (String title : titles) {
+            // String header plus its backing array, assuming compact (Latin-1) strings, and its dictionary entry
+            bytes += 40 + title.length() + 32 + 16;
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the heap the same fields take in the employee objects: the boxed salaries and ages, the name and title
+     * strings and the references to them.
+     * @return approximate heap in bytes
+     */
+    public long getPojoFootprintBytes() {
+        long bytes = 0;
+        for (int i = 0; i < size; i++) {
+            Employee employee = employees.get(i);
+            // Four references per employee
+            bytes += 4 * 4;
+            // Integers outside of the Integer cache are their own 16 byte objects
+            bytes += boxedBytes(salaries[i]) + boxedBytes(ages[i]);
+            bytes += employee.getName() != null ? 40 + employee.getName().length() : 0;
+            bytes += employee.getTitle() != null ? 40 + employee.getTitle().length() : 0;
+        }
+        return bytes;
+    }
+
+    private int[][] buildRowsByTitleCode() {
+        int[] counts = countTitleCodes(0, size);
+        int[][] postings = new int[titles.length][];
+        for (int code = 0; code < titles.length; code++) {
+            postings[code] = new int[counts[code]];
+        }
+        int[] filled = new int[titles.length];
+        for (int row = 0; row < size; row++) {
+            int code = titleCodes[row];
+            if (code != NO_TITLE) {
+                postings[code][filled[code]++] = row;
+            }
+        }
+        return postings;
+    }
+
+    private boolean earnsMore(int row, int other) {
+        return salaries[row] > salaries[other] || (salaries[row] == salaries[other] && row < other);
+    }
+
+    private boolean nameContains(int row, char[] fragment) {
+        int start = nameOffsets[row];
+        int last = nameOffsets[row + 1] - fragment.length;
+        for (int i = start; i <= last; i++) {
+            int j = 0;
+            while (j < fragment.length && nameArena[i + j] == fragment[j]) {
+                j++;
+            }
+            if (j == fragment.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Filter resolved against the columns: title looked up in the dictionary, name fragment lower-cased.
+     */
+    private final class RowMatcher {
+
+        private final int minSalary;
+        private final int maxSalary;
+        private final int minAge;
+        private final int maxAge;
+        private final int titleCode;
+        private final boolean unknownTitle;
+        private final char[] fragment;
+
+        private RowMatcher(Filter filter) {
+            Integer code = filter.title() == null ? null : codesByTitle.get(filter.title());
+            this.unknownTitle = filter.title() != null && code == null;
+            this.titleCode = code == null ? NO_TITLE : code;
+            this.fragment = filter.nameContains() == null
+                ? new char[0]
+                : filter.nameContains().toLowerCase().toCharArray();
+            // Rows without salary or age only pass when the range is unbounded
+            this.minSalary = lowerBound(filter.minSalary(), filter.maxSalary());
+            this.maxSalary = filter.maxSalary();
+            this.minAge = lowerBound(filter.minAge(), filter.maxAge());
+            this.maxAge = filter.maxAge();
+        }
+
+        boolean matchesNothing() {
+            return unknownTitle;
+        }
+
+        boolean matches(int row) {
+            int salary = salaries[row];
+            int age = ages[row];
+            return salary >= minSalary && salary <= maxSalary
+                && age >= minAge && age <= maxAge
+                && (titleCode == NO_TITLE || titleCodes[row] == titleCode)
+                && (fragment.length == 0 || nameContains(row, fragment));
+        }
+    }
+
+    private static int lowerBound(int min, int max) {
+        return min == MISSING && max == Integer.MAX_VALUE ? MISSING : Math.max(min, MISSING + 1);
+    }
+
+    private static int boxedBytes(int value) {
+        return value == MISSING || (value >= -128 && value <= 127) ? 0 : 16;
+    }
+}
@@ -0,0 +1,154 @@
+package com.reliaquest.api.index;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+
+/**
+ * Immutable salary order of a {@link RosterColumns}: the salaries sorted ascending in a primitive array, and the row
+ * of each salary in a parallel permutation array. Ties are in roster order. Employees without salary are left out.
+ * <p>
+ * A salary range is located with two binary searches, so range counts and percentiles are O(log N), and range
+ * listings, the highest salary and the top earners are O(log N + k).
+ */
+public final class SalaryRangeIndex {
+
+    private final int[] salaries;
+    private final int[] rows;
+
+    private SalaryRangeIndex(int[] salaries, int[] rows) {
+        this.salaries = salaries;
+        this.rows = rows;
+    }
+
+    /**
+     * Sorts the salary column. Each salary is packed with its row into a {@code long}, so a single primitive sort
+     * orders by salary and then by row without boxing.
+     * @param columns roster
+     * @return index
+     */
+    static SalaryRangeIndex of(RosterColumns columns) {
+        long[] packed = new long[columns.size()];
+        int count = 0;
+        for (int row = 0; row < columns.size(); row++) {
+            int salary = columns.salary(row);
+            if (salary != RosterColumns.MISSING) {
+                packed[count++] = (long) salary << 32 | row;
+            }
+        }
+        Arrays.sort(packed, 0, count);
+        int[] salaries = new int[count];
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            salaries[i] = (int) (packed[i] >> 32);
+            rows[i] = (int) packed[i];
+        }
+        return new SalaryRangeIndex(salaries, rows);
+    }
+
+    /**
+     * @return the number of employees with a salary
+     */
+    public int size() {
+        return salaries.length;
+    }
+
+    /**
+     * @param min lowest salary, inclusive
+     * @param max highest salary, inclusive
+     * @return the number of employees with a salary in the range
+     */
+    public int count(int min, int max) {
+        return Math.max(0, upperBound(max) - lowerBound(min));
+    }
+
+    /**
+     * Lists the employees with a salary in a range.
+     * @param min lowest salary, inclusive
+     * @param max highest salary, inclusive
+     * @param limit maximum number of rows
+     * @return at most limit rows by ascending salary, ties in roster order
+     */
+    public int[] rows(int min, int max, int limit) {
+        int from = lowerBound(min);
+        int to = Math.max(from, upperBound(max));
+        return Arrays.copyOfRange(rows, from, from + Math.min(limit, to - from));
+    }
+
+    /**
+     * Computes a percentile with the nearest-rank method: the lowest salary that at least {@code percentile} percent
+     * of the employees with a salary earn at most.
+     * @param percentile percentile, from 0 to 100
+     * @return the salary at the percentile, empty if no employee has a salary
+     */
+    public OptionalInt percentile(double percentile) {
+        if (salaries.length == 0) {
+            return OptionalInt.empty();
+        }
+        int rank = (int) Math.ceil(percentile / 100 * salaries.length);
+        return OptionalInt.of(salaries[Math.min(Math.max(rank, 1), salaries.length) - 1]);
+    }
+
+    /**
+     * @return the highest salary, empty if no employee has a salary
+     */
+    public OptionalInt highestSalary() {
+        return salaries.length == 0 ? OptionalInt.empty() : OptionalInt.of(salaries[salaries.length - 1]);
+    }
+
+    /**
+     * Walks the salary order down from the highest salary. Equal salaries are located with a binary search, so that
+     * their rows are returned in roster order, as {@link RosterColumns#topEarners(int)} does.
+     * @param k number of employees
+     * @return at most k rows by descending salary, ties broken by roster order
+     */
+    public int[] topEarners(int k) {
+        int[] selected = new int[Math.min(k, salaries.length)];
+        int count = 0;
+        int to = salaries.length;
+        while (count < selected.length) {
+            int from = lowerBound(salaries[to - 1]);
+            int taken = Math.min(to - from, selected.length - count);
+            System.arraycopy(rows, from, selected, count, taken);
+            count += taken;
+            to = from;
+        }
+        return selected;
+    }
+
+    /**
+     * @return approximate heap used by the index
+     */
+    public long getMemoryFootprintBytes() {
+        return 2 * (16 + 4L * salaries.length);
+    }
+
+    // First position with a salary of at least min
+    private int lowerBound(int min) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (salaries[middle] < min) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // First position with a salary above max
+    private int upperBound(int max) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (salaries[middle] <= max) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
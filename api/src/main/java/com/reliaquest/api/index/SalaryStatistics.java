@@ -0,0 +1,115 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.cache.RosterDiff;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.cache.RosterSnapshotListener;
+import com.reliaquest.api.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Salary aggregates maintained alongside the roster: an ordered multiset of employees by descending salary, ties
+ * broken by roster order like a stable sort of the roster. Adding or removing an employee is O(log N), the highest
+ * salary is O(1) and the top k earners are O(k).
+ */
+@Component
+public class SalaryStatistics implements RosterSnapshotListener {
+
+    /**
+     * Employee as ordered by salary.
+     * @param salary salary
+     * @param id employee id, null if the employee service did not return one
+     * @param name employee name
+     * @param sequence position in the roster, assigned in roster order on full rebuilds and in append order after
+     */
+    public record SalaryEntry(int salary, UUID id, String name, long sequence) {
+    }
+
+    private static final Comparator<SalaryEntry> BY_SALARY_DESCENDING =
+        Comparator.comparingInt(SalaryEntry::salary).reversed().thenComparingLong(SalaryEntry::sequence);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Replaced as a whole on full rebuilds, so readers never see a half built set
+    private volatile ConcurrentSkipListSet<SalaryEntry> entries = new ConcurrentSkipListSet<>(BY_SALARY_DESCENDING);
+
+    // Only accessed by the roster cache, which never notifies listeners concurrently
+    private Map<UUID, SalaryEntry> entriesById = new HashMap<>();
+
+    /**
+     * @return the highest salary, empty if there are no employees with a salary
+     */
+    public OptionalInt getHighestSalary() {
+        // first() would throw if a concurrent removal emptied the set after an isEmpty() check
+        Iterator<SalaryEntry> iterator = entries.iterator();
+        return iterator.hasNext() ? OptionalInt.of(iterator.next().salary()) : OptionalInt.empty();
+    }
+
+    /**
+     * Returns the highest earners.
+     * @param k number of employees to return
+     * @return at most k employees by descending salary, ties in roster order
+     */
+    public List<SalaryEntry> getTopEarners(int k) {
+        List<SalaryEntry> topEarners = new ArrayList<>(Math.min(k, 64));
+        Iterator<SalaryEntry> iterator = entries.iterator();
+        while (topEarners.size() < k && iterator.hasNext()) {
+            topEarners.add(iterator.next());
+        }
+        return topEarners;
+    }
+
+    @Override
+    public void onSnapshot(RosterSnapshot snapshot, RosterDiff diff) {
+        if (diff.isFull()) {
+            ConcurrentSkipListSet<SalaryEntry> rebuilt = new ConcurrentSkipListSet<>(BY_SALARY_DESCENDING);
+            Map<UUID, SalaryEntry> rebuiltById = new HashMap<>();
+            for (Employee employee : snapshot.getEmployees()) {
+                add(employee, rebuilt, rebuiltById);
+            }
+            entriesById = rebuiltById;
+            entries = rebuilt;
+            return;
+        }
+
+        for (Employee employee : diff.getRemoved()) {
+            SalaryEntry entry = entriesById.remove(employee.getId());
+            if (entry != null) {
+                entries.remove(entry);
+            }
+        }
+        for (Employee employee : diff.getAdded()) {
+            add(employee, entries, entriesById);
+        }
+    }
+
+    private void add(Employee employee, ConcurrentSkipListSet<SalaryEntry> target, Map<UUID, SalaryEntry> targetById) {
+        if (employee.getId() != null) {
+            // The roster moves a re-added employee to its end
+            SalaryEntry replaced = targetById.remove(employee.getId());
+            if (replaced != null) {
+                target.remove(replaced);
+            }
+        }
+        if (employee.getSalary() == null) {
+            return;
+        }
+        SalaryEntry entry = new SalaryEntry(employee.getSalary(), employee.getId(), employee.getName(),
+            sequence.incrementAndGet());
+        target.add(entry);
+        if (employee.getId() != null) {
+            targetById.put(employee.getId(), entry);
+        }
+    }
+}
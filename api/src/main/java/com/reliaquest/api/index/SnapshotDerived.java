@@ -0,0 +1,107 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.cache.RosterSnapshot;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Value derived from the latest roster snapshot. Once a value has been built, a new snapshot is built on the build
+ * executor while readers keep getting the previous value, so neither a reader nor the roster cache notifying the
+ * snapshot waits for a build. Snapshots loaded while a build runs are coalesced into the next build, so a burst of
+ * writes costs at most two. Only the first snapshot is built by the reader that needs it, since there is no previous
+ * value of a loaded roster to serve.
+ * @param <T> type of the value
+ */
+final class SnapshotDerived<T> {
+
+    private final Function<RosterSnapshot, T> builder;
+    private final Executor buildExecutor;
+
+    // Held by the build in progress, never by readers of the value or by onSnapshot
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    // Latest snapshot that has not been built yet
+    private final AtomicReference<RosterSnapshot> pending = new AtomicReference<>();
+
+    private final AtomicReference<T> value;
+
+    private volatile boolean built;
+
+    /**
+     * @param initial value before the first snapshot is loaded
+     * @param builder builds the value of a snapshot
+     * @param buildExecutor runs the builds after the first one
+     */
+    SnapshotDerived(T initial, Function<RosterSnapshot, T> builder, Executor buildExecutor) {
+        this.builder = builder;
+        this.buildExecutor = buildExecutor;
+        this.value = new AtomicReference<>(initial);
+    }
+
+    /**
+     * @return value of the latest snapshot that has been built, built first if no snapshot has been yet
+     */
+    T get() {
+        if (!built && pending.get() != null) {
+            buildLock.lock();
+            try {
+                buildPending();
+            } finally {
+                buildLock.unlock();
+            }
+            // Snapshots loaded during the first build were left to the build executor
+            if (pending.get() != null) {
+                buildExecutor.execute(this::buildInBackground);
+            }
+        }
+        return value.get();
+    }
+
+    /**
+     * For metrics, which must not build: a scrape before the first query would otherwise build on the scraping thread.
+     * @return value of the last build
+     */
+    T getLastBuilt() {
+        return value.get();
+    }
+
+    void onSnapshot(RosterSnapshot snapshot) {
+        pending.set(snapshot);
+        if (built) {
+            buildExecutor.execute(this::buildInBackground);
+        }
+    }
+
+    /*
+     * A build that finds the lock taken leaves its snapshot to the build holding it, which checks for a pending
+     * snapshot again after releasing the lock.
+     */
+    private void buildInBackground() {
+        while (pending.get() != null && buildLock.tryLock()) {
+            try {
+                buildPending();
+            } finally {
+                buildLock.unlock();
+            }
+        }
+    }
+
+    // Guarded by buildLock
+    private void buildPending() {
+        RosterSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            value.set(builder.apply(snapshot));
+            built = true;
+        } catch (RuntimeException | Error e) {
+            // Left for the next build, unless a newer snapshot has been loaded meanwhile
+            pending.compareAndSet(null, snapshot);
+            throw e;
+        }
+    }
+}
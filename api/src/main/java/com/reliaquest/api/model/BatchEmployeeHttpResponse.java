@@ -0,0 +1,17 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class for deserializing the response for a batch create or delete, with the created or deleted employee of
+ * each item
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchEmployeeHttpResponse {
+    private List<BatchItemResult<Employee>> data;
+}
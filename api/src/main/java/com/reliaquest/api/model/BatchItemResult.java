@@ -0,0 +1,33 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class for the outcome of one item of a batch request, at the position of the item in the request
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult<T> {
+    /**
+     * Result of the item, null if the item failed
+     */
+    private T data;
+
+    /**
+     * Reason the item failed, null if it succeeded
+     */
+    private String error;
+
+    public static <T> BatchItemResult<T> of(T data) {
+        return new BatchItemResult<>(data, null);
+    }
+
+    public static <T> BatchItemResult<T> error(String error) {
+        return new BatchItemResult<>(null, error);
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class for an entry of the employee service's roster change log
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChange {
+    /**
+     * Roster version the change produced
+     */
+    private long version;
+    private Type type;
+
+    /**
+     * Employee as created, or as it was when deleted
+     */
+    private Employee employee;
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,24 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class for the changes of the roster after a version
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChanges {
+    /**
+     * Current roster version
+     */
+    private long version;
+
+    /**
+     * Changes after the requested version, oldest first
+     */
+    private List<EmployeeChange> changes;
+}
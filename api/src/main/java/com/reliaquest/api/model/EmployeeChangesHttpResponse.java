@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class for deserializing the response for the roster changes
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChangesHttpResponse {
+    private EmployeeChanges data;
+}
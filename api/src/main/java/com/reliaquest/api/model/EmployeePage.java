@@ -0,0 +1,21 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class for a page of employees, in id order
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeePage {
+    private List<Employee> employees;
+
+    /**
+     * Opaque cursor of the next page, null on the last page
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class for deserializing the response for a page of employees
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeePageHttpResponse {
+    private EmployeePage data;
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class for an ad-hoc query over the roster. Every condition is optional and bounds are inclusive.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeQuery {
+    private Integer minSalary;
+    private Integer maxSalary;
+    private Integer minAge;
+    private Integer maxAge;
+
+    /**
+     * Title, matched exactly
+     */
+    private String title;
+
+    /**
+     * Name fragment, matched ignoring case
+     */
+    private String nameContains;
+
+    /**
+     * Field to sort by: salary, age or name. Employees are returned in roster order if not set.
+     */
+    private String sortBy;
+
+    /**
+     * Sort direction: asc or desc, asc if not set
+     */
+    private String sortDirection;
+
+    /**
+     * Maximum number of employees to return, the configured maximum if not set
+     */
+    private Integer limit;
+
+    /**
+     * Field to group the matching employees by: title
+     */
+    private String groupBy;
+}
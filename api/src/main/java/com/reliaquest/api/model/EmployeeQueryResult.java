@@ -0,0 +1,28 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class for the result of an {@link EmployeeQuery}
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeQueryResult {
+    /**
+     * Number of employees matching the query, before the limit is applied
+     */
+    private int total;
+
+    private List<Employee> employees;
+
+    /**
+     * Aggregates of the matching employees per title, null if the query is not grouped
+     */
+    private List<TitleGroup> groups;
+}
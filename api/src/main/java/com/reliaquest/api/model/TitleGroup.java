@@ -0,0 +1,26 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Model class for the aggregates of the employees with one title
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TitleGroup {
+    private String title;
+    private int count;
+
+    /**
+     * Average salary of the employees with a salary, null if none has one
+     */
+    private Double averageSalary;
+
+    /**
+     * Highest salary, null if no employee has one
+     */
+    private Integer maxSalary;
+}
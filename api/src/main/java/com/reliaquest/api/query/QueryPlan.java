@@ -0,0 +1,240 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.constants.ErrorMessages;
+import com.reliaquest.api.index.RosterColumns;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.EmployeeQueryResult;
+import com.reliaquest.api.model.TitleGroup;
+import com.reliaquest.api.util.ApiValidationUtil;
+import com.reliaquest.api.util.TopKSelector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compiled form of an {@link EmployeeQuery}: validated, with its conditions resolved into a {@link RosterColumns}
+ * filter. A plan does not depend on the roster and is reused across snapshots; its access path is chosen against
+ * each roster it runs on.
+ *
+ * @param filter conditions the employees must match
+ * @param sortKey field to sort by, null for roster order
+ * @param descending whether to sort in descending order
+ * @param limit maximum number of employees to return
+ * @param groupByTitle whether to aggregate the matching employees per title
+ */
+public record QueryPlan(RosterColumns.Filter filter, SortKey sortKey, boolean descending, int limit,
+                        boolean groupByTitle) {
+
+    public enum SortKey {
+        SALARY, AGE, NAME
+    }
+
+    /**
+     * How the rows matching a plan's filter are found.
+     */
+    public enum AccessPath {
+        /**
+         * Rows of the title looked up in the title postings, the other conditions checked on these rows only
+         */
+        TITLE_INDEX,
+        /**
+         * Rows of the salary range looked up in the salary order, the other conditions checked on these rows only
+         */
+        SALARY_INDEX,
+        /**
+         * Top earners read off the end of the salary order, for unfiltered queries sorted by descending salary
+         */
+        TOP_EARNERS,
+        /**
+         * Every row checked against the filter, in parallel on large rosters
+         */
+        SCAN
+    }
+
+    private static final Comparator<Employee> BY_NAME =
+        Comparator.comparing(Employee::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * Validates a query and compiles it.
+     * @param query query
+     * @param maxLimit highest limit accepted, also the limit of queries without one
+     * @return plan
+     * @throws IllegalArgumentException if the query is invalid
+     */
+    public static QueryPlan compile(EmployeeQuery query, int maxLimit) {
+        if (query == null) {
+            throw new IllegalArgumentException(ErrorMessages.QUERY_NULL);
+        }
+        ApiValidationUtil.validateRange("salary", query.getMinSalary(), query.getMaxSalary());
+        ApiValidationUtil.validateRange("age", query.getMinAge(), query.getMaxAge());
+
+        RosterColumns.Filter filter = RosterColumns.Filter.ALL;
+        if (query.getMinSalary() != null || query.getMaxSalary() != null) {
+            filter = filter.withSalary(lowerBound(query.getMinSalary()), upperBound(query.getMaxSalary()));
+        }
+        if (query.getMinAge() != null || query.getMaxAge() != null) {
+            filter = filter.withAge(lowerBound(query.getMinAge()), upperBound(query.getMaxAge()));
+        }
+        if (query.getTitle() != null) {
+            filter = filter.withTitle(query.getTitle());
+        }
+        if (query.getNameContains() != null && !query.getNameContains().isEmpty()) {
+            filter = filter.withNameContaining(query.getNameContains());
+        }
+
+        SortKey sortKey = null;
+        if (query.getSortBy() != null) {
+            try {
+                sortKey = SortKey.valueOf(query.getSortBy().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_QUERY_SORT_BY,
+                    query.getSortBy()));
+            }
+        }
+
+        boolean descending = false;
+        if (query.getSortDirection() != null) {
+            descending = switch (query.getSortDirection().toLowerCase(Locale.ROOT)) {
+                case "asc" -> false;
+                case "desc" -> true;
+                default -> throw new IllegalArgumentException(String.format(
+                    ErrorMessages.INVALID_QUERY_SORT_DIRECTION, query.getSortDirection()));
+            };
+        }
+
+        int limit = query.getLimit() != null ? query.getLimit() : maxLimit;
+        ApiValidationUtil.validateLimit(limit, maxLimit);
+
+        if (query.getGroupBy() != null && !"title".equalsIgnoreCase(query.getGroupBy())) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_QUERY_GROUP_BY,
+                query.getGroupBy()));
+        }
+        return new QueryPlan(filter, sortKey, descending, limit, query.getGroupBy() != null);
+    }
+
+    /**
+     * Chooses how to find the matching rows. The shares of the roster with the title and in the salary range are
+     * known exactly, from the title postings and two binary searches in the salary order. The more selective of the
+     * two lookups is used when its share is at most {@code maxIndexSelectivity}; above it, checking the conditions on
+     * every row in sequence is cheaper than following the looked up rows.
+     * @param columns roster to run on
+     * @param maxIndexSelectivity highest share of the roster for which an index lookup is used
+     * @return access path
+     */
+    public AccessPath accessPath(RosterColumns columns, double maxIndexSelectivity) {
+        int titleRows = filter.title() != null ? columns.rowsWithTitle(filter.title()).length : Integer.MAX_VALUE;
+        int salaryRows = hasSalaryRange()
+            ? columns.salaryIndex().count(filter.minSalary(), filter.maxSalary())
+            : Integer.MAX_VALUE;
+        if (Math.min(titleRows, salaryRows) <= columns.size() * maxIndexSelectivity) {
+            return titleRows <= salaryRows ? AccessPath.TITLE_INDEX : AccessPath.SALARY_INDEX;
+        }
+        if (filter.equals(RosterColumns.Filter.ALL) && sortKey == SortKey.SALARY && descending && !groupByTitle) {
+            return AccessPath.TOP_EARNERS;
+        }
+        return AccessPath.SCAN;
+    }
+
+    /**
+     * Runs the plan.
+     * @param columns roster to run on
+     * @param executor executor of roster scans
+     * @param maxIndexSelectivity highest share of the roster for which an index lookup is used
+     * @return matching employees, sorted and limited, and their aggregates if grouped
+     */
+    public EmployeeQueryResult execute(RosterColumns columns, RosterQueryExecutor executor,
+        double maxIndexSelectivity) {
+        AccessPath accessPath = accessPath(columns, maxIndexSelectivity);
+        if (accessPath == AccessPath.TOP_EARNERS) {
+            int[] rows = columns.salaryIndex().topEarners(limit);
+            // Employees without salary sort last, they are only returned when there are fewer salaried ones
+            if (rows.length == limit) {
+                return new EmployeeQueryResult(columns.size(), columns.employees(rows), null);
+            }
+            accessPath = AccessPath.SCAN;
+        }
+        int[] rows = switch (accessPath) {
+            case TITLE_INDEX -> columns.select(filter, columns.rowsWithTitle(filter.title()));
+            case SALARY_INDEX -> {
+                int[] candidates =
+                    columns.salaryIndex().rows(filter.minSalary(), filter.maxSalary(), Integer.MAX_VALUE);
+                // Back to roster order, which unsorted results are returned in
+                Arrays.sort(candidates);
+                yield columns.select(filter, candidates);
+            }
+            default -> executor.select(columns, filter);
+        };
+        return new EmployeeQueryResult(rows.length, sortAndLimit(columns, rows),
+            groupByTitle ? groupByTitle(columns, rows) : null);
+    }
+
+    private boolean hasSalaryRange() {
+        return filter.minSalary() != RosterColumns.MISSING || filter.maxSalary() != Integer.MAX_VALUE;
+    }
+
+    private List<Employee> sortAndLimit(RosterColumns columns, int[] rows) {
+        if (sortKey == null) {
+            return columns.employees(Arrays.copyOf(rows, Math.min(limit, rows.length)));
+        }
+        if (sortKey == SortKey.NAME) {
+            Comparator<Employee> order = descending ? BY_NAME.reversed() : BY_NAME;
+            return columns.employees(rows).stream().sorted(order).limit(limit).toList();
+        }
+        // Keys are ordered so that the largest comes first, employees without the field have the smallest key
+        int[] keys = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int value = sortKey == SortKey.SALARY ? columns.salary(rows[i]) : columns.age(rows[i]);
+            keys[i] = descending || value == RosterColumns.MISSING ? value : -value;
+        }
+        int[] positions = TopKSelector.selectTopK(keys, rows.length, limit);
+        int[] selected = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            selected[i] = rows[positions[i]];
+        }
+        return columns.employees(selected);
+    }
+
+    private static List<TitleGroup> groupByTitle(RosterColumns columns, int[] rows) {
+        int titles = columns.distinctTitles();
+        int[] counts = new int[titles];
+        int[] salaried = new int[titles];
+        long[] salaryTotals = new long[titles];
+        int[] maxSalaries = new int[titles];
+        Arrays.fill(maxSalaries, RosterColumns.MISSING);
+        for (int row : rows) {
+            int code = columns.titleCode(row);
+            if (code < 0) {
+                continue;
+            }
+            counts[code]++;
+            int salary = columns.salary(row);
+            if (salary != RosterColumns.MISSING) {
+                salaried[code]++;
+                salaryTotals[code] += salary;
+                maxSalaries[code] = Math.max(maxSalaries[code], salary);
+            }
+        }
+        List<TitleGroup> groups = new ArrayList<>();
+        for (int code = 0; code < titles; code++) {
+            if (counts[code] > 0) {
+                groups.add(new TitleGroup(columns.title(code), counts[code],
+                    salaried[code] == 0 ? null : (double) salaryTotals[code] / salaried[code],
+                    salaried[code] == 0 ? null : maxSalaries[code]));
+            }
+        }
+        return groups;
+    }
+
+    private static int lowerBound(Integer min) {
+        // MISSING is the unbounded lower bound of a filter, the lowest bound a query can ask for is just above it
+        return min == null ? Integer.MIN_VALUE + 1 : Math.max(min, Integer.MIN_VALUE + 1);
+    }
+
+    private static int upperBound(Integer max) {
+        return max == null ? Integer.MAX_VALUE : max;
+    }
+}
@@ -0,0 +1,158 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.index.RosterColumns;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evaluates filters and aggregates over the columnar roster. Rosters of at least {@code parallel-threshold} rows are
+ * split into chunks of {@code chunk-size} rows that are evaluated in parallel on the query pool, and the partial
+ * results are merged in roster order, so the results match a sequential scan. Smaller rosters are scanned on the
+ * calling thread, where splitting costs more than it saves.
+ */
+@Component
+public class RosterQueryExecutor {
+
+    private final ForkJoinPool employeeQueryPool;
+    private final int parallelThreshold;
+    private final int chunkSize;
+
+    public RosterQueryExecutor(@Qualifier("employeeQueryPool") ForkJoinPool employeeQueryPool,
+        @Value("${employee.query.parallel-threshold:100000}") int parallelThreshold,
+        @Value("${employee.query.chunk-size:16384}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("employee.query.chunk-size must be positive: " + chunkSize);
+        }
+        this.employeeQueryPool = employeeQueryPool;
+        this.parallelThreshold = parallelThreshold;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param columns roster to query
+     * @return whether queries over the roster are evaluated in parallel
+     */
+    public boolean isParallel(RosterColumns columns) {
+        return columns.size() >= parallelThreshold && columns.size() > chunkSize;
+    }
+
+    /**
+     * @param columns roster to query
+     * @param filter conditions the rows must all match
+     * @return matching rows, in roster order
+     */
+    public int[] select(RosterColumns columns, RosterColumns.Filter filter) {
+        return evaluate(columns, (from, to) -> columns.select(filter, from, to), RosterQueryExecutor::concat);
+    }
+
+    /**
+     * @param columns roster to query
+     * @return the highest salary, empty if no employee has a salary
+     */
+    public OptionalInt highestSalary(RosterColumns columns) {
+        return salary(evaluate(columns, columns::maxSalary, Math::max));
+    }
+
+    /**
+     * @param columns roster to query
+     * @return the lowest salary, empty if no employee has a salary
+     */
+    public OptionalInt lowestSalary(RosterColumns columns) {
+        return salary(evaluate(columns, columns::minSalary, (lowest, other) -> lowest == RosterColumns.MISSING
+            ? other : other == RosterColumns.MISSING ? lowest : Math.min(lowest, other)));
+    }
+
+    /**
+     * Selects the highest earners of each chunk and merges them.
+     * @param columns roster to query
+     * @param k number of employees
+     * @return at most k rows by descending salary, ties broken by roster order
+     */
+    public int[] topEarners(RosterColumns columns, int k) {
+        return evaluate(columns, (from, to) -> columns.topEarners(k, from, to),
+            (first, second) -> columns.mergeTopEarners(first, second, k));
+    }
+
+    /**
+     * @param columns roster to query
+     * @return the number of employees with each title, in order of first appearance
+     */
+    public Map<String, Integer> countByTitle(RosterColumns columns) {
+        return columns.countByTitle(evaluate(columns, columns::countTitleCodes, RosterQueryExecutor::sum));
+    }
+
+    private <T> T evaluate(RosterColumns columns, RangeQuery<T> query, BinaryOperator<T> merge) {
+        if (!isParallel(columns)) {
+            return query.evaluate(0, columns.size());
+        }
+        return employeeQueryPool.invoke(new RangeTask<>(query, merge, 0, columns.size()));
+    }
+
+    private static OptionalInt salary(int salary) {
+        return salary == RosterColumns.MISSING ? OptionalInt.empty() : OptionalInt.of(salary);
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        if (first.length == 0) {
+            return second;
+        }
+        int[] concatenated = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, concatenated, first.length, second.length);
+        return concatenated;
+    }
+
+    private static int[] sum(int[] first, int[] second) {
+        for (int i = 0; i < first.length; i++) {
+            first[i] += second[i];
+        }
+        return first;
+    }
+
+    /**
+     * Query over the rows from {@code from}, inclusive, to {@code to}, exclusive.
+     */
+    @FunctionalInterface
+    private interface RangeQuery<T> {
+        T evaluate(int from, int to);
+    }
+
+    /**
+     * Halves its range until it fits in a chunk. The first half is forked and the second computed in place, the
+     * first half's result is merged before the second's to keep roster order.
+     */
+    private final class RangeTask<T> extends RecursiveTask<T> {
+
+        private final RangeQuery<T> query;
+        private final BinaryOperator<T> merge;
+        private final int from;
+        private final int to;
+
+        private RangeTask(RangeQuery<T> query, BinaryOperator<T> merge, int from, int to) {
+            this.query = query;
+            this.merge = merge;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= chunkSize) {
+                return query.evaluate(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask<T> first = new RangeTask<>(query, merge, from, middle);
+            first.fork();
+            T second = new RangeTask<>(query, merge, middle, to).compute();
+            return merge.apply(first.join(), second);
+        }
+    }
+}
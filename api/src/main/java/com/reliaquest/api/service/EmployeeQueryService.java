@@ -0,0 +1,163 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.index.ColumnarRoster;
+import com.reliaquest.api.index.NameAutocompleteIndex;
+import com.reliaquest.api.index.NameTrie;
+import com.reliaquest.api.index.RosterColumns;
+import com.reliaquest.api.index.SalaryRangeIndex;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.EmployeeQueryResult;
+import com.reliaquest.api.query.QueryPlan;
+import com.reliaquest.api.query.RosterQueryExecutor;
+import com.reliaquest.api.util.ApiValidationUtil;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class for ad-hoc queries over the roster snapshot. Queries are compiled into {@link QueryPlan}s once and the
+ * plans are kept for the next request with the same query, so a dashboard polling a fixed set of queries only pays
+ * for running them.
+ */
+@Service
+@Slf4j
+public class EmployeeQueryService {
+
+    private final RosterCache rosterCache;
+    private final ColumnarRoster columnarRoster;
+    private final RosterQueryExecutor rosterQueryExecutor;
+    private final NameAutocompleteIndex nameAutocompleteIndex;
+    private final int maxResults;
+    private final double maxIndexSelectivity;
+    private final int planCacheSize;
+
+    // Keyed by the deserialized request bodies, which are not modified after they are compiled
+    private final Map<EmployeeQuery, QueryPlan> plans = new ConcurrentHashMap<>();
+
+    public EmployeeQueryService(RosterCache rosterCache,
+                                ColumnarRoster columnarRoster,
+                                RosterQueryExecutor rosterQueryExecutor,
+                                NameAutocompleteIndex nameAutocompleteIndex,
+                                @Value("${employee.query.max-results:1000}") int maxResults,
+                                @Value("${employee.query.max-index-selectivity:0.05}") double maxIndexSelectivity,
+                                @Value("${employee.query.plan-cache-size:256}") int planCacheSize) {
+        this.rosterCache = rosterCache;
+        this.columnarRoster = columnarRoster;
+        this.rosterQueryExecutor = rosterQueryExecutor;
+        this.nameAutocompleteIndex = nameAutocompleteIndex;
+        this.maxResults = maxResults;
+        this.maxIndexSelectivity = maxIndexSelectivity;
+        this.planCacheSize = planCacheSize;
+    }
+
+    /**
+     * Run a query.
+     * @param query query
+     * @return matching employees, sorted and limited, and their aggregates if grouped
+     * @throws IllegalArgumentException if the query is invalid
+     * @throws InternalServerErrorException if the roster has to be loaded and the employee service call fails
+     */
+    public EmployeeQueryResult query(EmployeeQuery query) throws InternalServerErrorException {
+        QueryPlan plan = compile(query);
+        RosterColumns columns = getColumns();
+        if (log.isDebugEnabled()) {
+            log.debug("Running employee query. plan={} accessPath={} size={}", plan,
+                plan.accessPath(columns, maxIndexSelectivity), columns.size());
+        }
+        return plan.execute(columns, rosterQueryExecutor, maxIndexSelectivity);
+    }
+
+    /**
+     * Get the employees with a salary in a range, from the salary order of the roster.
+     * @param minSalary lowest salary, inclusive, null for no lower bound
+     * @param maxSalary highest salary, inclusive, null for no upper bound
+     * @param limit maximum number of employees to return, the configured maximum if null
+     * @return the number of employees in the range and the first of them by ascending salary
+     * @throws IllegalArgumentException if the range or the limit is invalid
+     * @throws InternalServerErrorException if the roster has to be loaded and the employee service call fails
+     */
+    public EmployeeQueryResult getEmployeesBySalaryRange(Integer minSalary, Integer maxSalary, Integer limit)
+        throws InternalServerErrorException {
+        ApiValidationUtil.validateRange("salary", minSalary, maxSalary);
+        int effectiveLimit = limit != null ? limit : maxResults;
+        ApiValidationUtil.validateLimit(effectiveLimit, maxResults);
+
+        RosterColumns columns = getColumns();
+        SalaryRangeIndex salaryIndex = columns.salaryIndex();
+        int min = minSalary != null ? minSalary : Integer.MIN_VALUE;
+        int max = maxSalary != null ? maxSalary : Integer.MAX_VALUE;
+        return new EmployeeQueryResult(salaryIndex.count(min, max),
+            columns.employees(salaryIndex.rows(min, max, effectiveLimit)), null);
+    }
+
+    /**
+     * Get a salary percentile, by the nearest-rank method over the employees with a salary.
+     * @param percentile percentile, from 0 to 100
+     * @return the salary at the percentile, empty if no employee has a salary
+     * @throws IllegalArgumentException if the percentile is out of range
+     * @throws InternalServerErrorException if the roster has to be loaded and the employee service call fails
+     */
+    public OptionalInt getSalaryPercentile(double percentile) throws InternalServerErrorException {
+        ApiValidationUtil.validatePercentile(percentile);
+        return getColumns().salaryIndex().percentile(percentile);
+    }
+
+    /**
+     * Get name suggestions for a prefix typed by the user.
+     * @param prefix beginning of a name, or of one of its tokens
+     * @param limit maximum number of suggestions, the configured maximum if null
+     * @return distinct names, the most common first
+     * @throws IllegalArgumentException if the prefix is blank or the limit is invalid
+     * @throws InternalServerErrorException if the roster has to be loaded and the employee service call fails
+     */
+    public List<String> getNameSuggestions(String prefix, Integer limit) throws InternalServerErrorException {
+        ApiValidationUtil.validateSearchRequest(prefix);
+        int maxSuggestions = nameAutocompleteIndex.getMaxSuggestions();
+        int effectiveLimit = limit != null ? limit : maxSuggestions;
+        ApiValidationUtil.validateLimit(effectiveLimit, maxSuggestions);
+
+        if (!rosterCache.isEnabled()) {
+            // A trie per keystroke costs more than the scan it would save
+            return NameTrie.scan(rosterCache.getSnapshot().getEmployees(), NameTrie.normalize(prefix), effectiveLimit);
+        }
+        rosterCache.getSnapshot();
+        return nameAutocompleteIndex.complete(prefix, effectiveLimit);
+    }
+
+    /**
+     * @param query query
+     * @return plan of the query, the one compiled for an equal query if it is still cached
+     * @throws IllegalArgumentException if the query is invalid
+     */
+    QueryPlan compile(EmployeeQuery query) {
+        QueryPlan plan = query == null ? null : plans.get(query);
+        if (plan != null) {
+            return plan;
+        }
+        plan = QueryPlan.compile(query, maxResults);
+        if (plans.size() >= planCacheSize) {
+            // Ad-hoc queries rarely repeat, a full cache is dropped rather than tracking recency on every hit
+            plans.clear();
+        }
+        plans.put(query, plan);
+        return plan;
+    }
+
+    /*
+     * The columnar roster follows the cached snapshot. Without the cache, columns are built from each fetched roster.
+     */
+    private RosterColumns getColumns() throws InternalServerErrorException {
+        if (!rosterCache.isEnabled()) {
+            return RosterColumns.of(rosterCache.getSnapshot().getEmployees());
+        }
+        rosterCache.getSnapshot();
+        return columnarRoster.getColumns();
+    }
+}
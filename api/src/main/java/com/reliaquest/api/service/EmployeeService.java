@@ -1,28 +1,53 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cache.RosterDiff;
 import com.reliaquest.api.client.EmployeeHttpClient;
 import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.index.EmployeeNameIndex;
+import com.reliaquest.api.index.SalaryStatistics;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.DeleteEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.TopKSelector;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 /**
- * Service class for Employee API requests
+ * Service class for Employee API requests. The default implementation, replaced by {@link ReactiveEmployeeService}
+ * under the {@code reactive} profile.
  */
 @Service
+@Profile("!reactive")
 @Slf4j
 public class EmployeeService implements IEmployeeService {
+    private static final int TOP_EARNERS_COUNT = 10;
 
     private final EmployeeHttpClient employeeHttpClient;
+    private final RosterCache rosterCache;
+    private final EmployeeNameIndex employeeNameIndex;
+    private final SalaryStatistics salaryStatistics;
+    private final int maxSearchResults;
 
-    public EmployeeService(EmployeeHttpClient employeeHttpClient) {
+    public EmployeeService(EmployeeHttpClient employeeHttpClient,
+                           RosterCache rosterCache,
+                           EmployeeNameIndex employeeNameIndex,
+                           SalaryStatistics salaryStatistics,
+                           @Value("${employee.search.max-results:1000}") int maxSearchResults) {
         this.employeeHttpClient = employeeHttpClient;
+        this.rosterCache = rosterCache;
+        this.employeeNameIndex = employeeNameIndex;
+        this.salaryStatistics = salaryStatistics;
+        this.maxSearchResults = maxSearchResults;
     }
 
     /**
@@ -31,20 +56,33 @@ public class EmployeeService implements IEmployeeService {
      */
     @Override
     public List<Employee> getAllEmployees() throws InternalServerErrorException {
-        return employeeHttpClient.getAllEmployees();
+        return rosterCache.getSnapshot().getEmployees();
     }
 
     /**
-     * Get employees by name search.
+     * Get employees by name search. Served from the name index while the roster is cached, otherwise by filtering the
+     * employees as they are streamed from the employee service.
      * @param name Name to search for
-     * @return List of employees
+     * @return List of employees, at most {@code employee.search.max-results}
      */
     @Override
     public List<Employee> getEmployeesByNameSearch(String name) throws InternalServerErrorException {
         log.info("Searching for employees with name containing: {}", name);
-        List<Employee> searchedEmployees = employeeHttpClient.getAllEmployees().stream()
-            .filter(employee -> employee.getName().toLowerCase().contains(name.toLowerCase()))
-            .collect(Collectors.toList());
+        List<Employee> searchedEmployees;
+        if (rosterCache.isEnabled()) {
+            loadRoster();
+            searchedEmployees = employeeNameIndex.search(name, maxSearchResults);
+        } else {
+            String normalizedName = name.toLowerCase();
+            List<Employee> matches = new ArrayList<>();
+            employeeHttpClient.streamAllEmployees(employee -> {
+                if (matches.size() < maxSearchResults && employee.getName() != null
+                    && employee.getName().toLowerCase().contains(normalizedName)) {
+                    matches.add(employee);
+                }
+            });
+            searchedEmployees = matches;
+        }
         log.info("Found {} employees with name containing: {}", searchedEmployees.size(), name);
         return searchedEmployees;
     }
@@ -60,28 +98,58 @@ public class EmployeeService implements IEmployeeService {
     }
 
     /**
-     * Get the highest salary of employees.
+     * Get the highest salary of employees. Served from the salary statistics while the roster is cached, otherwise
+     * computed in a single pass over the employees streamed from the employee service.
      * @return Highest salary
      */
     @Override
     public Integer getHighestSalaryOfEmployees() throws InternalServerErrorException {
-        return employeeHttpClient.getAllEmployees().stream()
-                .map(Employee::getSalary)
-                .max(Integer::compareTo)
-                .orElse(0);
+        if (rosterCache.isEnabled()) {
+            loadRoster();
+            return salaryStatistics.getHighestSalary().orElse(0);
+        }
+
+        AtomicInteger highestSalary = new AtomicInteger();
+        employeeHttpClient.streamAllEmployees(employee -> {
+            if (employee.getSalary() != null) {
+                highestSalary.accumulateAndGet(employee.getSalary(), Math::max);
+            }
+        });
+        return highestSalary.get();
     }
 
     /**
-     * Get the top ten highest earning employees.
+     * Get the top ten highest earning employees. Served from the salary statistics while the roster is cached.
      * @return List of employee names with the highest salaries
      */
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() throws InternalServerErrorException {
-        return employeeHttpClient.getAllEmployees().stream()
-                .sorted((e1, e2) -> e2.getSalary().compareTo(e1.getSalary()))
-                .limit(10)
-                .map(e -> e.getName() + " (" + e.getSalary() + ")")
+        return getTopEarnerNames(TOP_EARNERS_COUNT);
+    }
+
+    /**
+     * Get the top k highest earning employees.
+     * @param k number of employees
+     * @return List of employee names with the highest salaries, formatted as "name (salary)"
+     */
+    public List<String> getTopEarnerNames(int k) throws InternalServerErrorException {
+        if (rosterCache.isEnabled()) {
+            loadRoster();
+            return salaryStatistics.getTopEarners(k).stream()
+                .map(entry -> entry.name() + " (" + entry.salary() + ")")
                 .collect(Collectors.toList());
+        }
+
+        // Bounded heap over the streamed employees, only the k winners are kept and formatted
+        TopKSelector.Accumulator<Employee> topEarners = new TopKSelector.Accumulator<>(k);
+        employeeHttpClient.streamAllEmployees(employee -> {
+            if (employee.getSalary() != null) {
+                topEarners.offer(employee.getSalary(), employee);
+            }
+        });
+        return topEarners.drainDescending().stream()
+            .map(employee -> employee.getName() + " (" + employee.getSalary() + ")")
+            .collect(Collectors.toList());
     }
 
     /**
@@ -91,16 +159,32 @@ public class EmployeeService implements IEmployeeService {
      */
     @Override
     public Employee createEmployee(CreateEmployeeInput employeeInput) throws InternalServerErrorException {
-        return employeeHttpClient.createEmployee(employeeInput);
+        Employee employee = employeeHttpClient.createEmployee(employeeInput);
+        if (employee != null && employee.getId() != null) {
+            rosterCache.apply(RosterDiff.of(List.of(employee), List.of()));
+        } else {
+            rosterCache.invalidate();
+        }
+        return employee;
     }
 
     /**
-     * Delete an employee by ID.
+     * Delete an employee by ID, with a single call to the employee service. Employee services without deletes by ID
+     * are asked for the employee first, which is then deleted by name.
      * @param id ID of employee
      * @return message
      */
     @Override
     public String deleteEmployeeById(String id) throws InternalServerErrorException {
+        Optional<Optional<Employee>> deleted = employeeHttpClient.deleteEmployeeById(id);
+        if (deleted.isPresent()) {
+            if (deleted.get().isEmpty()) {
+                return "Employee not found";
+            }
+            rosterCache.apply(RosterDiff.of(List.of(), List.of(deleted.get().get())));
+            return "Successfully deleted employee";
+        }
+
         Optional<Employee> employee = employeeHttpClient.getEmployeeById(id);
         if (employee.isEmpty()) {
             return "Employee not found";
@@ -113,7 +197,65 @@ public class EmployeeService implements IEmployeeService {
         if (isDeleted.isEmpty()) {
             throw new InternalServerErrorException("Failed to delete employee");
         }
+        if (isDeleted.get()) {
+            // The employee service deletes the oldest employee with the name, not necessarily the one looked up
+            rosterCache.applyDeleteByName(deleteEmployeeInput.getName());
+        } else {
+            // The employee service no longer knows the employee, the cached roster is out of date
+            rosterCache.invalidate();
+        }
 
         return "Successfully deleted employee";
     }
+
+    /**
+     * Create employees in a single call to the employee service.
+     * @param employeeInputs Employee inputs
+     * @return created employee or error of each input, in input order
+     */
+    @Override
+    public List<BatchItemResult<Employee>> createEmployees(List<CreateEmployeeInput> employeeInputs)
+        throws InternalServerErrorException {
+        List<BatchItemResult<Employee>> results = employeeHttpClient.createEmployees(employeeInputs);
+        applyToRoster(results, true);
+        return results;
+    }
+
+    /**
+     * Delete employees by ID in a single call to the employee service, which deletes by ID without a lookup.
+     * @param ids IDs of employees
+     * @return message or error of each ID, in input order
+     */
+    @Override
+    public List<BatchItemResult<String>> deleteEmployeesById(List<String> ids) throws InternalServerErrorException {
+        List<BatchItemResult<Employee>> results = employeeHttpClient.deleteEmployeesById(ids);
+        applyToRoster(results, false);
+        return results.stream()
+            .map(result -> result.getData() != null
+                ? BatchItemResult.of("Successfully deleted employee")
+                : BatchItemResult.<String>error(result.getError()))
+            .collect(Collectors.toList());
+    }
+
+    private void applyToRoster(List<BatchItemResult<Employee>> results, boolean created) {
+        List<Employee> employees = new ArrayList<>(results.size());
+        for (BatchItemResult<Employee> result : results) {
+            if (result.getData() == null) {
+                continue;
+            }
+            if (result.getData().getId() == null) {
+                rosterCache.invalidate();
+                return;
+            }
+            employees.add(result.getData());
+        }
+        if (!employees.isEmpty()) {
+            rosterCache.apply(created ? RosterDiff.of(employees, List.of()) : RosterDiff.of(List.of(), employees));
+        }
+    }
+
+    // Loads the roster, and with it the indexes, if it is not cached yet
+    private void loadRoster() throws InternalServerErrorException {
+        rosterCache.getSnapshot();
+    }
 }
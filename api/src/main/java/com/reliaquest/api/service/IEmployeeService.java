@@ -1,6 +1,7 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
 import java.util.List;
@@ -23,4 +24,9 @@ public interface IEmployeeService {
     Employee createEmployee(CreateEmployeeInput employeeInput) throws InternalServerErrorException;
 
     String deleteEmployeeById(String id) throws InternalServerErrorException;
+
+    List<BatchItemResult<Employee>> createEmployees(List<CreateEmployeeInput> employeeInputs)
+        throws InternalServerErrorException;
+
+    List<BatchItemResult<String>> deleteEmployeesById(List<String> ids) throws InternalServerErrorException;
 }
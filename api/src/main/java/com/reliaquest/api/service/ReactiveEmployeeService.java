@@ -0,0 +1,170 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.ReactiveEmployeeHttpClient;
+import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.TopKSelector;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service class for Employee API requests, selected by the {@code reactive} profile. Every operation is a pipeline over
+ * the {@link ReactiveEmployeeHttpClient}, so searches and aggregates are computed as the roster is streamed from the
+ * employee service and no roster is cached.
+ * <p>
+ * The reactive pipelines are public for callers that can compose them. The {@link IEmployeeService} methods wait for
+ * the result, blocking the calling thread once per request instead of once per upstream call.
+ */
+@Service
+@Profile("reactive")
+@Slf4j
+public class ReactiveEmployeeService implements IEmployeeService {
+    private static final int TOP_EARNERS_COUNT = 10;
+
+    private final ReactiveEmployeeHttpClient employeeHttpClient;
+    private final int maxSearchResults;
+
+    public ReactiveEmployeeService(ReactiveEmployeeHttpClient employeeHttpClient,
+                                   @Value("${employee.search.max-results:1000}") int maxSearchResults) {
+        this.employeeHttpClient = employeeHttpClient;
+        this.maxSearchResults = maxSearchResults;
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() throws InternalServerErrorException {
+        return await(employeeHttpClient.streamAllEmployees().collectList());
+    }
+
+    @Override
+    public List<Employee> getEmployeesByNameSearch(String name) throws InternalServerErrorException {
+        return await(searchByName(name));
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(String id) throws InternalServerErrorException {
+        return Optional.ofNullable(await(employeeHttpClient.getEmployeeById(id)));
+    }
+
+    @Override
+    public Integer getHighestSalaryOfEmployees() throws InternalServerErrorException {
+        return await(highestSalary());
+    }
+
+    @Override
+    public List<String> getTopTenHighestEarningEmployeeNames() throws InternalServerErrorException {
+        return await(topEarnerNames(TOP_EARNERS_COUNT));
+    }
+
+    @Override
+    public Employee createEmployee(CreateEmployeeInput employeeInput) throws InternalServerErrorException {
+        return await(employeeHttpClient.createEmployee(employeeInput));
+    }
+
+    @Override
+    public String deleteEmployeeById(String id) throws InternalServerErrorException {
+        return await(deleteById(id));
+    }
+
+    @Override
+    public List<BatchItemResult<Employee>> createEmployees(List<CreateEmployeeInput> employeeInputs)
+        throws InternalServerErrorException {
+        return await(employeeHttpClient.createEmployees(employeeInputs));
+    }
+
+    @Override
+    public List<BatchItemResult<String>> deleteEmployeesById(List<String> ids) throws InternalServerErrorException {
+        return await(employeeHttpClient.deleteEmployeesById(ids)
+            .map(results -> results.stream()
+                .map(result -> result.getData() != null
+                    ? BatchItemResult.of("Successfully deleted employee")
+                    : BatchItemResult.<String>error(result.getError()))
+                .collect(Collectors.toList())));
+    }
+
+    /**
+     * Searches employees by name. The upstream stream is cancelled once enough matches are found.
+     * @param name Name to search for, ignoring case
+     * @return employees, at most {@code employee.search.max-results}
+     */
+    public Mono<List<Employee>> searchByName(String name) {
+        String normalizedName = name.toLowerCase();
+        return employeeHttpClient.streamAllEmployees()
+            .filter(employee -> employee.getName() != null
+                && employee.getName().toLowerCase().contains(normalizedName))
+            .take(maxSearchResults)
+            .collectList()
+            .doOnNext(employees -> log.info("Found {} employees with name containing: {}", employees.size(), name));
+    }
+
+    /**
+     * @return the highest salary of employees, 0 if there are none
+     */
+    public Mono<Integer> highestSalary() {
+        return employeeHttpClient.streamAllEmployees()
+            .mapNotNull(Employee::getSalary)
+            .reduce(Math::max)
+            .defaultIfEmpty(0);
+    }
+
+    /**
+     * Selects the top k highest earning employees with a bounded heap, only the k winners are kept and formatted.
+     * @param k number of employees
+     * @return employee names with the highest salaries, formatted as "name (salary)"
+     */
+    public Mono<List<String>> topEarnerNames(int k) {
+        return employeeHttpClient.streamAllEmployees()
+            .filter(employee -> employee.getSalary() != null)
+            .collect(() -> new TopKSelector.Accumulator<Employee>(k),
+                (topEarners, employee) -> topEarners.offer(employee.getSalary(), employee))
+            .map(topEarners -> topEarners.drainDescending().stream()
+                .map(employee -> employee.getName() + " (" + employee.getSalary() + ")")
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Deletes an employee by ID, with a single call to the employee service. Employee services without deletes by ID
+     * are asked for the employee first, which is then deleted by name.
+     * @param id ID of employee
+     * @return message
+     */
+    public Mono<String> deleteById(String id) {
+        return employeeHttpClient.deleteEmployeeById(id)
+            .map(deleted -> deleted.isPresent() ? "Successfully deleted employee" : "Employee not found")
+            .switchIfEmpty(Mono.defer(() -> deleteByName(id)));
+    }
+
+    private Mono<String> deleteByName(String id) {
+        return employeeHttpClient.getEmployeeById(id)
+            .flatMap(employee -> {
+                DeleteEmployeeInput deleteEmployeeInput = new DeleteEmployeeInput();
+                deleteEmployeeInput.setName(employee.getName());
+                return employeeHttpClient.deleteEmployee(deleteEmployeeInput)
+                    .switchIfEmpty(Mono.error(() -> new InternalServerErrorException("Failed to delete employee")))
+                    .thenReturn("Successfully deleted employee");
+            })
+            .defaultIfEmpty("Employee not found");
+    }
+
+    // Waits for the result, rethrowing the checked exception that block() wraps
+    private static <T> T await(Mono<T> result) throws InternalServerErrorException {
+        try {
+            return result.block();
+        } catch (RuntimeException e) {
+            if (Exceptions.unwrap(e) instanceof InternalServerErrorException internalServerErrorException) {
+                throw internalServerErrorException;
+            }
+            throw e;
+        }
+    }
+}
@@ -5,12 +5,14 @@ import com.reliaquest.api.model.CreateEmployeeInput;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.util.Strings;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Utility class for holding common utility methods for API validation.
  */
 public class ApiValidationUtil {
+    public static final int MAX_BATCH_SIZE = 10_000;
 
     /**
      * Validates the employee ID. It should not be null or empty and should be a valid UUID.
@@ -54,6 +56,54 @@ public class ApiValidationUtil {
         }
     }
 
+    /**
+     * Validates a batch request. It should not be null or empty and should not exceed {@link #MAX_BATCH_SIZE} items.
+     * The items are validated one by one by the caller.
+     * @param items batch items
+     */
+    public static void validateBatch(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException(ErrorMessages.BATCH_NULL_OR_EMPTY);
+        }
+
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.BATCH_TOO_LARGE, MAX_BATCH_SIZE));
+        }
+    }
+
+    /**
+     * Validates a range of a query. Either bound may be missing, the lower bound cannot exceed the upper bound.
+     * @param field name of the field the range applies to
+     * @param min lower bound, null if unbounded
+     * @param max upper bound, null if unbounded
+     */
+    public static void validateRange(String field, Integer min, Integer max) {
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_QUERY_RANGE, field, min, max));
+        }
+    }
+
+    /**
+     * Validates the limit of a query. It should be between 0 and the maximum.
+     * @param limit limit
+     * @param maxLimit highest limit accepted
+     */
+    public static void validateLimit(int limit, int maxLimit) {
+        if (limit < 0 || limit > maxLimit) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_QUERY_LIMIT, limit, maxLimit));
+        }
+    }
+
+    /**
+     * Validates a percentile. It should be between 0 and 100.
+     * @param percentile percentile
+     */
+    public static void validatePercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException(String.format(ErrorMessages.INVALID_PERCENTILE, percentile));
+        }
+    }
+
     /**
      * Validates the search request. It should not be null or empty.
      * @param name Name to search for
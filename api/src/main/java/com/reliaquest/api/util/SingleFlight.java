@@ -0,0 +1,92 @@
+package com.reliaquest.api.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicates concurrent executions of the same call. While a call for a key is in flight, every other caller asking
+ * for the same key waits for that call and receives its result (or its exception) instead of executing it again.
+ * Results are not cached: once the in-flight call completes, the next caller executes the call again.
+ * <p>
+ * Callers that were coalesced share the same result instance, so results must not be mutated.
+ *
+ * @param <K> key identifying identical calls
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * Call executed on behalf of all callers of a key.
+     * @param <V> result type
+     * @param <E> checked exception thrown by the call
+     */
+    @FunctionalInterface
+    public interface Call<V, E extends Exception> {
+        V call() throws E;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Executes the call for the key, or waits for the execution already in flight for it.
+     * @param key key identifying the call
+     * @param call call to execute if none is in flight for the key
+     * @return result of the call
+     * @throws E if the call, or the in-flight call that was joined, failed with it
+     */
+    public <E extends Exception> V execute(K key, Call<V, E> call) throws E {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            V value = call.call();
+            flight.complete(value);
+            return value;
+        } catch (Throwable t) {
+            flight.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return number of calls that were actually executed
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * @return number of calls that joined an in-flight execution instead of executing
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, E extends Exception> V await(CompletableFuture<V> flight) throws E {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            // The leader's call can only throw E besides unchecked exceptions
+            throw (E) cause;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.reliaquest.api.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Streaming top-k selection over primitive keys. Keeps a bounded min-heap of (key, index) pairs in two parallel int
+ * arrays, so selecting the k largest of N items is O(N log k) with O(k) memory and no allocation per item.
+ * <p>
+ * Ties are broken in favour of the lower index, which gives the same result as a stable descending sort followed by
+ * {@code limit(k)}. {@link Accumulator} does the same for items that are offered one at a time.
+ */
+public class TopKSelector {
+
+    /**
+     * Selects the indexes of the k items with the largest keys.
+     * @param items items to select from
+     * @param key primitive key of an item
+     * @param k number of items to select
+     * @return indexes into {@code items}, ordered by descending key
+     */
+    public static <T> int[] selectTopK(List<T> items, ToIntFunction<T> key, int k) {
+        Heap heap = new Heap(Math.min(k, items.size()));
+        int index = 0;
+        for (T item : items) {
+            heap.offer(key.applyAsInt(item), index++);
+        }
+        return heap.drainDescending();
+    }
+
+    /**
+     * Selects the indexes of the k largest values.
+     * @param values values to select from
+     * @param size number of values to consider, starting at index 0
+     * @param k number of values to select
+     * @return indexes into {@code values}, ordered by descending value
+     */
+    public static int[] selectTopK(int[] values, int size, int k) {
+        return selectTopK(values, 0, size, k);
+    }
+
+    /**
+     * Selects the indexes of the k largest values of a range.
+     * @param values values to select from
+     * @param from first index to consider, inclusive
+     * @param to last index to consider, exclusive
+     * @param k number of values to select
+     * @return indexes into {@code values}, ordered by descending value
+     */
+    public static int[] selectTopK(int[] values, int from, int to, int k) {
+        Heap heap = new Heap(Math.min(k, to - from));
+        for (int index = from; index < to; index++) {
+            heap.offer(values[index], index);
+        }
+        return heap.drainDescending();
+    }
+
+    /**
+     * Incremental selection of the k items with the largest keys, for items that are produced one at a time and not
+     * retained by the caller, such as employees parsed from a stream. Not thread safe.
+     * @param <T> item type
+     */
+    public static final class Accumulator<T> {
+        private final Heap heap;
+        private int offered;
+
+        public Accumulator(int k) {
+            heap = new Heap(k, true);
+        }
+
+        /**
+         * Offers an item. Among items with equal keys, the ones offered first are kept.
+         * @param key primitive key of the item
+         * @param item item
+         */
+        public void offer(int key, T item) {
+            heap.offer(key, offered++, item);
+        }
+
+        /**
+         * @return the selected items, ordered by descending key. The accumulator is empty afterwards.
+         */
+        @SuppressWarnings("unchecked")
+        public List<T> drainDescending() {
+            Object[] items = heap.items;
+            int[] slots = heap.drainDescendingSlots();
+            List<T> result = new ArrayList<>(slots.length);
+            for (int slot : slots) {
+                result.add((T) items[slot]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Min-heap whose root is the worst retained item: the lowest key, and among equal keys the highest index.
+     */
+    private static final class Heap {
+        private final int[] keys;
+        private final int[] indexes;
+        // Optional items, stored in fixed slots that the heap refers to so items are never moved
+        private final Object[] items;
+        private final int[] slots;
+        private int size;
+
+        Heap(int capacity) {
+            this(capacity, false);
+        }
+
+        Heap(int capacity, boolean withItems) {
+            keys = new int[Math.max(0, capacity)];
+            indexes = new int[keys.length];
+            items = withItems ? new Object[keys.length] : null;
+            slots = withItems ? new int[keys.length] : null;
+        }
+
+        void offer(int key, int index) {
+            offer(key, index, null);
+        }
+
+        void offer(int key, int index, Object item) {
+            if (size < keys.length) {
+                keys[size] = key;
+                indexes[size] = index;
+                if (items != null) {
+                    items[size] = item;
+                    slots[size] = size;
+                }
+                siftUp(size++);
+            } else if (size > 0 && key > keys[0]) {
+                // Items are offered in ascending index order, so an equal key never beats the root
+                keys[0] = key;
+                indexes[0] = index;
+                if (items != null) {
+                    items[slots[0]] = item;
+                }
+                siftDown(0);
+            }
+        }
+
+        int[] drainDescending() {
+            return drain(indexes);
+        }
+
+        int[] drainDescendingSlots() {
+            return drain(slots);
+        }
+
+        private int[] drain(int[] values) {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = values[0];
+                size--;
+                keys[0] = keys[size];
+                indexes[0] = indexes[size];
+                if (slots != null) {
+                    slots[0] = slots[size];
+                }
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private boolean isWorse(int a, int b) {
+            return keys[a] < keys[b] || (keys[a] == keys[b] && indexes[a] > indexes[b]);
+        }
+
+        private void siftUp(int position) {
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!isWorse(position, parent)) {
+                    return;
+                }
+                swap(position, parent);
+                position = parent;
+            }
+        }
+
+        private void siftDown(int position) {
+            while (true) {
+                int left = 2 * position + 1;
+                if (left >= size) {
+                    return;
+                }
+                int worst = left + 1 < size && isWorse(left + 1, left) ? left + 1 : left;
+                if (!isWorse(worst, position)) {
+                    return;
+                }
+                swap(position, worst);
+                position = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+            int index = indexes[a];
+            indexes[a] = indexes[b];
+            indexes[b] = index;
+            if (slots != null) {
+                int slot = slots[a];
+                slots[a] = slots[b];
+                slots[b] = slot;
+            }
+        }
+    }
+}
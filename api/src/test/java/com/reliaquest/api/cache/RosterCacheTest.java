@@ -0,0 +1,192 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeHttpClient;
+import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class RosterCacheTest {
+
+    @Mock
+    private EmployeeHttpClient employeeHttpClient;
+
+    private final MutableClock clock = new MutableClock();
+
+    private RosterCache rosterCache(boolean enabled) {
+        return new RosterCache(employeeHttpClient, enabled, Duration.ofSeconds(30), Duration.ofMinutes(5),
+            Runnable::run, clock, List.of());
+    }
+
+    @Test
+    void getSnapshot_FreshSnapshotIsReused() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(List.of(employee()));
+        RosterCache rosterCache = rosterCache(true);
+
+        RosterSnapshot first = rosterCache.getSnapshot();
+        clock.advance(Duration.ofSeconds(10));
+        RosterSnapshot second = rosterCache.getSnapshot();
+
+        assertSame(first, second);
+        Mockito.verify(employeeHttpClient, Mockito.times(1)).getAllEmployees();
+    }
+
+    @Test
+    void getSnapshot_StaleSnapshotIsServedWhileRefreshing() throws InternalServerErrorException {
+        Employee before = employee();
+        Employee after = employee();
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(List.of(before), List.of(after));
+        RosterCache rosterCache = rosterCache(true);
+
+        rosterCache.getSnapshot();
+        clock.advance(Duration.ofMinutes(1));
+
+        assertEquals(List.of(before), rosterCache.getSnapshot().getEmployees());
+        assertEquals(List.of(after), rosterCache.getSnapshot().getEmployees());
+    }
+
+    @Test
+    void getSnapshot_ExpiredSnapshotIsReloadedSynchronously() throws InternalServerErrorException {
+        Employee before = employee();
+        Employee after = employee();
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(List.of(before), List.of(after));
+        RosterCache rosterCache = rosterCache(true);
+
+        rosterCache.getSnapshot();
+        clock.advance(Duration.ofMinutes(6));
+
+        assertEquals(List.of(after), rosterCache.getSnapshot().getEmployees());
+    }
+
+    @Test
+    void getSnapshot_FailedBackgroundRefreshKeepsStaleSnapshot() throws InternalServerErrorException {
+        Employee before = employee();
+        Mockito.when(employeeHttpClient.getAllEmployees())
+            .thenReturn(List.of(before))
+            .thenThrow(new InternalServerErrorException("Failed to get employees."));
+        RosterCache rosterCache = rosterCache(true);
+
+        rosterCache.getSnapshot();
+        clock.advance(Duration.ofMinutes(1));
+
+        assertEquals(List.of(before), rosterCache.getSnapshot().getEmployees());
+        assertEquals(List.of(before), rosterCache.getSnapshot().getEmployees());
+    }
+
+    @Test
+    void getSnapshot_RefreshAppliesChangesSinceVersion() throws InternalServerErrorException {
+        Employee kept = employee();
+        Employee deleted = employee();
+        Employee created = employee();
+        Mockito.when(employeeHttpClient.getEmployeeChanges(null))
+            .thenReturn(Optional.of(new EmployeeChanges(7, List.of())));
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(List.of(kept, deleted));
+        Mockito.when(employeeHttpClient.getEmployeeChanges(7L)).thenReturn(Optional.of(new EmployeeChanges(9, List.of(
+            new EmployeeChange(8, EmployeeChange.Type.CREATED, created),
+            new EmployeeChange(9, EmployeeChange.Type.DELETED, deleted)))));
+        List<RosterDiff> diffs = new ArrayList<>();
+        RosterCache rosterCache = new RosterCache(employeeHttpClient, true, Duration.ofSeconds(30),
+            Duration.ofMinutes(5), Runnable::run, clock, List.of((snapshot, diff) -> diffs.add(diff)));
+
+        rosterCache.getSnapshot();
+        clock.advance(Duration.ofMinutes(1));
+        rosterCache.getSnapshot();
+
+        RosterSnapshot advanced = rosterCache.getSnapshot();
+        assertEquals(List.of(kept, created), advanced.getEmployees());
+        assertEquals(9L, advanced.getVersion());
+        assertEquals(clock.instant(), advanced.getLoadedAt());
+        assertEquals(List.of(created), diffs.get(1).getAdded());
+        assertEquals(List.of(deleted), diffs.get(1).getRemoved());
+        Mockito.verify(employeeHttpClient, Mockito.times(1)).getAllEmployees();
+    }
+
+    @Test
+    void getSnapshot_UnavailableChangesFallBackToFullReload() throws InternalServerErrorException {
+        Employee before = employee();
+        Employee after = employee();
+        Mockito.when(employeeHttpClient.getEmployeeChanges(null))
+            .thenReturn(Optional.of(new EmployeeChanges(7, List.of())));
+        Mockito.when(employeeHttpClient.getEmployeeChanges(7L)).thenReturn(Optional.empty());
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(List.of(before), List.of(after));
+        RosterCache rosterCache = rosterCache(true);
+
+        rosterCache.getSnapshot();
+        clock.advance(Duration.ofMinutes(6));
+
+        assertEquals(List.of(after), rosterCache.getSnapshot().getEmployees());
+        Mockito.verify(employeeHttpClient, Mockito.times(2)).getAllEmployees();
+    }
+
+    @Test
+    void invalidate_ForcesReload() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(List.of(employee()));
+        RosterCache rosterCache = rosterCache(true);
+
+        rosterCache.getSnapshot();
+        rosterCache.invalidate();
+        rosterCache.getSnapshot();
+
+        Mockito.verify(employeeHttpClient, Mockito.times(2)).getAllEmployees();
+    }
+
+    @Test
+    void getSnapshot_DisabledCacheAlwaysFetches() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(List.of(employee()));
+        RosterCache rosterCache = rosterCache(false);
+
+        rosterCache.getSnapshot();
+        rosterCache.getSnapshot();
+
+        Mockito.verify(employeeHttpClient, Mockito.times(2)).getAllEmployees();
+    }
+
+    private static Employee employee() {
+        Employee employee = new Employee();
+        employee.setId(UUID.randomUUID());
+        employee.setName("Some name");
+        employee.setSalary(1000);
+        return employee;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+
+import java.time.Instant;
+import java.util.List;
+
+public class RosterSnapshotTestUtil {
+    public static RosterSnapshot snapshot(List<Employee> employees) {
+        return RosterSnapshot.of(employees, Instant.now(), 0);
+    }
+}
@@ -3,17 +3,31 @@ package com.reliaquest.api.client;
 import com.reliaquest.api.exception.InternalServerErrorException;
 import com.reliaquest.api.model.AllEmployeeHttpResponse;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeHttpResponse;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.EmployeePageHttpResponse;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,9 +38,16 @@ class EmployeeHttpClientTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private EmployeeHttpClient employeeHttpClient;
 
+    @BeforeEach
+    void setUp() {
+        RateLimitGovernor rateLimitGovernor = new RateLimitGovernor(10, 50, 0.05, 0.1, 10, 3, Duration.ofSeconds(1),
+            Duration.ofMinutes(2), Duration.ofSeconds(2));
+        employeeHttpClient = new EmployeeHttpClient(restTemplate, rateLimitGovernor,
+            Jackson2ObjectMapperBuilder.json().build(), "http://localhost:8112", "/api/v1/employee");
+    }
+
     @Test
     void getAllEmployees_Success() throws InternalServerErrorException {
         AllEmployeeHttpResponse allEmployeeHttpResponse = new AllEmployeeHttpResponse();
@@ -50,5 +71,117 @@ class EmployeeHttpClientTest {
         assertThrows(InternalServerErrorException.class, () -> employeeHttpClient.getAllEmployees());
     }
 
+    @Test
+    void getAllEmployees_NotModifiedReusesLastList() throws InternalServerErrorException {
+        AllEmployeeHttpResponse allEmployeeHttpResponse = new AllEmployeeHttpResponse();
+        allEmployeeHttpResponse.setData(List.of(new Employee(UUID.randomUUID(), "First", 100, 30, "Engineer",
+            "first@company.com")));
+        Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET), Mockito.eq(null),
+                Mockito.eq(AllEmployeeHttpResponse.class)))
+            .thenReturn(ResponseEntity.ok().eTag("7").body(allEmployeeHttpResponse));
+        Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET),
+                Mockito.<HttpEntity<?>>argThat(entity -> entity != null
+                    && List.of("\"7\"").equals(entity.getHeaders().getIfNoneMatch())),
+                Mockito.eq(AllEmployeeHttpResponse.class)))
+            .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        List<Employee> first = employeeHttpClient.getAllEmployees();
+        List<Employee> second = employeeHttpClient.getAllEmployees();
+
+        assertSame(first, second);
+        Mockito.verify(restTemplate, Mockito.times(2)).exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET),
+            Mockito.<HttpEntity<?>>any(), Mockito.eq(AllEmployeeHttpResponse.class));
+    }
+
+    @Test
+    void forEachEmployee_FollowsCursorsUntilLastPage() throws InternalServerErrorException {
+        Employee first = new Employee(UUID.randomUUID(), "First", 100, 30, "Engineer", "first@company.com");
+        Employee second = new Employee(UUID.randomUUID(), "Second", 200, 40, "Engineer", "second@company.com");
+        Mockito.when(restTemplate.exchange(Mockito.eq("http://localhost:8112/api/v1/employee/page?size=1"),
+                Mockito.eq(HttpMethod.GET), Mockito.eq(null), Mockito.eq(EmployeePageHttpResponse.class)))
+            .thenReturn(ResponseEntity.ok(new EmployeePageHttpResponse(new EmployeePage(List.of(first), "next"))));
+        Mockito.when(restTemplate.exchange(Mockito.eq("http://localhost:8112/api/v1/employee/page?size=1&cursor=next"),
+                Mockito.eq(HttpMethod.GET), Mockito.eq(null), Mockito.eq(EmployeePageHttpResponse.class)))
+            .thenReturn(ResponseEntity.ok(new EmployeePageHttpResponse(new EmployeePage(List.of(second), null))));
+
+        List<Employee> employees = new ArrayList<>();
+        long count = employeeHttpClient.forEachEmployee(1, employees::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(first, second), employees);
+    }
+
+    @Test
+    void forEachEmployee_Failure() {
+        Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.GET), Mockito.eq(null),
+                Mockito.eq(EmployeePageHttpResponse.class)))
+            .thenReturn(ResponseEntity.badRequest().build());
+
+        assertThrows(InternalServerErrorException.class, () -> employeeHttpClient.forEachEmployee(10, employee -> {}));
+    }
+
+    @Test
+    void deleteEmployeeById_Success() throws InternalServerErrorException {
+        Employee employee = new Employee(UUID.randomUUID(), "First", 100, 30, "Engineer", "first@company.com");
+        Mockito.when(restTemplate.exchange(Mockito.eq("http://localhost:8112/api/v1/employee/" + employee.getId()),
+                Mockito.eq(HttpMethod.DELETE), Mockito.eq(null), Mockito.eq(EmployeeHttpResponse.class)))
+            .thenReturn(ResponseEntity.ok(new EmployeeHttpResponse(employee)));
+
+        assertEquals(Optional.of(Optional.of(employee)),
+            employeeHttpClient.deleteEmployeeById(employee.getId().toString()));
+    }
+
+    @Test
+    void deleteEmployeeById_NotFound() throws InternalServerErrorException {
+        Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.DELETE), Mockito.eq(null),
+                Mockito.eq(EmployeeHttpResponse.class)))
+            .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null,
+                null));
+
+        assertEquals(Optional.of(Optional.empty()), employeeHttpClient.deleteEmployeeById(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void deleteEmployeeById_UnsupportedIsRemembered() throws InternalServerErrorException {
+        Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.DELETE), Mockito.eq(null),
+                Mockito.eq(EmployeeHttpResponse.class)))
+            .thenThrow(HttpClientErrorException.create(HttpStatus.METHOD_NOT_ALLOWED, "Method Not Allowed",
+                HttpHeaders.EMPTY, null, null));
+
+        assertEquals(Optional.empty(), employeeHttpClient.deleteEmployeeById(UUID.randomUUID().toString()));
+        assertEquals(Optional.empty(), employeeHttpClient.deleteEmployeeById(UUID.randomUUID().toString()));
+        Mockito.verify(restTemplate, Mockito.times(1)).exchange(Mockito.anyString(), Mockito.eq(HttpMethod.DELETE),
+            Mockito.<HttpEntity<?>>any(), Mockito.eq(EmployeeHttpResponse.class));
+    }
+
+    @Test
+    void openEmployeeStream_ReturnsOpenResponse() throws Exception {
+        ClientHttpResponse upstream = mockStreamResponse(HttpStatus.OK);
+
+        assertSame(upstream, employeeHttpClient.openEmployeeStream());
+        Mockito.verify(upstream, Mockito.never()).close();
+    }
+
+    @Test
+    void openEmployeeStream_Failure() throws Exception {
+        ClientHttpResponse upstream = mockStreamResponse(HttpStatus.INTERNAL_SERVER_ERROR);
+
+        assertThrows(InternalServerErrorException.class, () -> employeeHttpClient.openEmployeeStream());
+        Mockito.verify(upstream).close();
+    }
+
+    private ClientHttpResponse mockStreamResponse(HttpStatus status) throws Exception {
+        ClientHttpRequestFactory requestFactory = Mockito.mock(ClientHttpRequestFactory.class);
+        ClientHttpRequest request = Mockito.mock(ClientHttpRequest.class);
+        ClientHttpResponse response = Mockito.mock(ClientHttpResponse.class);
+        Mockito.when(restTemplate.getRequestFactory()).thenReturn(requestFactory);
+        Mockito.when(requestFactory.createRequest(URI.create("http://localhost:8112/api/v1/employee/stream"),
+            HttpMethod.GET)).thenReturn(request);
+        Mockito.when(request.getHeaders()).thenReturn(new HttpHeaders());
+        Mockito.when(request.execute()).thenReturn(response);
+        Mockito.when(response.getStatusCode()).thenReturn(status);
+        return response;
+    }
+
     // More tests can be added here
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeStreamReaderTest {
+
+    private static final EmployeeStreamReader READER =
+        new EmployeeStreamReader(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void read_PassesEachEmployeeToConsumer() throws IOException {
+        String body = """
+            {
+              "status": "Successfully processed request.",
+              "data": [
+                {"id": "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507", "employee_name": "Tiger Nixon",
+                 "employee_salary": 320800, "employee_age": 61, "employee_title": "Engineer",
+                 "employee_email": "tnixon@company.com", "unknown": {"nested": [1, 2]}},
+                {"employee_name": "Bill Bob", "employee_salary": 89750}
+              ],
+              "trailing": [{}]
+            }
+            """;
+        List<Employee> employees = new ArrayList<>();
+
+        long count = READER.read(stream(body), employees::add);
+
+        assertEquals(2, count);
+        assertEquals(new Employee(UUID.fromString("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"), "Tiger Nixon", 320800, 61,
+            "Engineer", "tnixon@company.com"), employees.get(0));
+        assertEquals("Bill Bob", employees.get(1).getName());
+        assertEquals(89750, employees.get(1).getSalary());
+    }
+
+    @Test
+    void read_NoData() throws IOException {
+        assertEquals(0, READER.read(stream("{\"data\": null}"), employee -> fail()));
+        assertEquals(0, READER.read(stream("{\"status\": \"ok\"}"), employee -> fail()));
+    }
+
+    @Test
+    void read_InvalidBody() {
+        assertThrows(IOException.class, () -> READER.read(stream("[]"), employee -> fail()));
+        assertThrows(IOException.class, () -> READER.read(stream("{\"data\": [{"), employee -> { }));
+        assertThrows(IOException.class, () -> READER.read(stream("{\"data\": []"), employee -> fail()));
+    }
+
+    @Test
+    void read_UnexpectedTokens() {
+        assertThrows(IOException.class, () -> READER.read(stream("{\"data\": {}}"), employee -> fail()));
+        assertThrows(IOException.class, () -> READER.read(stream("{\"data\": 42}"), employee -> fail()));
+        assertThrows(IOException.class, () -> READER.read(stream("{\"data\": [null]}"), employee -> fail()));
+        List<Employee> employees = new ArrayList<>();
+        assertThrows(IOException.class,
+            () -> READER.read(stream("{\"data\": [{\"employee_name\": \"Tiger Nixon\"}, \"x\"]}"), employees::add));
+        assertEquals(1, employees.size());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
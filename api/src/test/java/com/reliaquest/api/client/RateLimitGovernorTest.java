@@ -0,0 +1,110 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.InternalServerErrorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitGovernorTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private RateLimitGovernor governor(int burst, Duration maxWait) {
+        return new RateLimitGovernor(10, 50, 0.05, 0.1, burst, 3, Duration.ofSeconds(1), Duration.ofMinutes(2),
+            maxWait, nanoTime::get, nanoTime::addAndGet);
+    }
+
+    private static HttpClientErrorException tooManyRequests() {
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", HttpHeaders.EMPTY,
+            null, null);
+    }
+
+    @Test
+    void execute_ThrottledReadIsServedFromLastGood() throws InternalServerErrorException {
+        RateLimitGovernor governor = governor(10, Duration.ofSeconds(2));
+
+        String result = governor.execute(() -> {
+            throw tooManyRequests();
+        }, () -> Optional.of("last-good"));
+
+        assertEquals("last-good", result);
+        assertTrue(governor.isPaused());
+    }
+
+    @Test
+    void execute_PausedReadIsServedFromLastGoodWithoutCallingUpstream() throws InternalServerErrorException {
+        RateLimitGovernor governor = governor(10, Duration.ofSeconds(2));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        governor.execute(() -> {
+            upstreamCalls.incrementAndGet();
+            throw tooManyRequests();
+        }, () -> Optional.of("last-good"));
+
+        String result = governor.execute(() -> {
+            upstreamCalls.incrementAndGet();
+            return "fresh";
+        }, () -> Optional.of("last-good"));
+
+        assertEquals("last-good", result);
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_ThrottledCallIsRetriedAfterBackoff() throws InternalServerErrorException {
+        RateLimitGovernor governor = governor(10, Duration.ofSeconds(2));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        String result = governor.execute(() -> {
+            if (upstreamCalls.incrementAndGet() == 1) {
+                throw tooManyRequests();
+            }
+            return "fresh";
+        }, Optional::empty);
+
+        assertEquals("fresh", result);
+        assertEquals(2, upstreamCalls.get());
+        assertTrue(nanoTime.get() >= TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    void execute_ThrottlingBeyondMaxWaitIsSurfaced() {
+        RateLimitGovernor governor = governor(10, Duration.ofMillis(100));
+
+        HttpClientErrorException exception = assertThrows(HttpClientErrorException.class,
+            () -> governor.execute(() -> {
+                throw tooManyRequests();
+            }, Optional::empty));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatusCode());
+    }
+
+    @Test
+    void execute_CallsArePacedByTokenBucket() throws InternalServerErrorException {
+        RateLimitGovernor governor = governor(2, Duration.ofSeconds(2));
+
+        for (int i = 0; i < 3; i++) {
+            governor.execute(() -> "fresh", Optional::empty);
+        }
+
+        // Two calls fit in the burst, the third has to wait for a token at roughly 10 calls per second
+        assertTrue(nanoTime.get() >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    void execute_UpstreamErrorIsPropagated() {
+        RateLimitGovernor governor = governor(10, Duration.ofSeconds(2));
+
+        assertThrows(InternalServerErrorException.class, () -> governor.execute(() -> {
+            throw new InternalServerErrorException("Failed to get employees.");
+        }, () -> Optional.of("last-good")));
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.constants.ErrorMessages;
+import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.exception.RestBadRequestException;
+import com.reliaquest.api.exception.RestInternalServerErrorException;
+import com.reliaquest.api.service.EmployeeQueryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeAutocompleteControllerTest {
+
+    @Mock
+    private EmployeeQueryService employeeQueryService;
+
+    @InjectMocks
+    private EmployeeAutocompleteController employeeAutocompleteController;
+
+    @Test
+    public void testGetNameSuggestions_Success() throws InternalServerErrorException {
+        when(employeeQueryService.getNameSuggestions("ti", 2)).thenReturn(List.of("Tiger Nixon", "Tim Cox"));
+
+        ResponseEntity<List<String>> response = employeeAutocompleteController.getNameSuggestions("ti", 2);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("Tiger Nixon", "Tim Cox"), response.getBody());
+    }
+
+    @Test
+    public void testGetNameSuggestions_BlankPrefix() throws InternalServerErrorException {
+        when(employeeQueryService.getNameSuggestions(" ", null))
+            .thenThrow(new IllegalArgumentException(ErrorMessages.EMPLOYEE_NAME_NULL_OR_EMPTY));
+
+        RestBadRequestException exception = assertThrows(RestBadRequestException.class,
+            () -> employeeAutocompleteController.getNameSuggestions(" ", null));
+        assertEquals(ErrorMessages.EMPLOYEE_NAME_NULL_OR_EMPTY, exception.getMessage());
+    }
+
+    @Test
+    public void testGetNameSuggestions_LimitAboveMaxSuggestions() throws InternalServerErrorException {
+        String message = String.format(ErrorMessages.INVALID_QUERY_LIMIT, 11, 10);
+        when(employeeQueryService.getNameSuggestions("ti", 11)).thenThrow(new IllegalArgumentException(message));
+
+        RestBadRequestException exception = assertThrows(RestBadRequestException.class,
+            () -> employeeAutocompleteController.getNameSuggestions("ti", 11));
+        assertEquals(message, exception.getMessage());
+    }
+
+    @Test
+    public void testGetNameSuggestions_Failure() throws InternalServerErrorException {
+        when(employeeQueryService.getNameSuggestions("ti", null))
+            .thenThrow(new InternalServerErrorException("Failed to get employees."));
+        assertThrows(RestInternalServerErrorException.class,
+            () -> employeeAutocompleteController.getNameSuggestions("ti", null));
+    }
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.constants.ErrorMessages;
+import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.exception.RestBadRequestException;
+import com.reliaquest.api.exception.RestInternalServerErrorException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.util.TestDataUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeBatchControllerTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @InjectMocks
+    private EmployeeBatchController employeeBatchController;
+
+    @Test
+    public void testCreateEmployees_InvalidItemsAreReportedInPlace() throws InternalServerErrorException {
+        CreateEmployeeInput first = TestDataUtil.createEmployeeInput("First", 100, 30, "Engineer");
+        CreateEmployeeInput invalid = TestDataUtil.createEmployeeInput("Invalid", 100, 12, "Engineer");
+        CreateEmployeeInput last = TestDataUtil.createEmployeeInput("Last", 200, 40, "Engineer");
+        Employee firstCreated = new Employee(UUID.randomUUID(), "First", 100, 30, "Engineer", "first@company.com");
+        Employee lastCreated = new Employee(UUID.randomUUID(), "Last", 200, 40, "Engineer", "last@company.com");
+        when(employeeService.createEmployees(List.of(first, last)))
+            .thenReturn(List.of(BatchItemResult.of(firstCreated), BatchItemResult.of(lastCreated)));
+
+        List<BatchItemResult<Employee>> results =
+            employeeBatchController.createEmployees(List.of(first, invalid, last)).getBody();
+
+        assertEquals(List.of(
+            BatchItemResult.of(firstCreated),
+            BatchItemResult.<Employee>error(String.format(ErrorMessages.INVALID_EMPLOYEE_AGE, 12)),
+            BatchItemResult.of(lastCreated)), results);
+    }
+
+    @Test
+    public void testCreateEmployees_AllInvalidSkipsEmployeeService() {
+        List<CreateEmployeeInput> inputs = new ArrayList<>();
+        inputs.add(null);
+
+        List<BatchItemResult<Employee>> results = employeeBatchController.createEmployees(inputs).getBody();
+
+        assertEquals(List.of(BatchItemResult.<Employee>error(ErrorMessages.EMPLOYEE_INPUT_NULL)), results);
+        Mockito.verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    public void testCreateEmployees_EmptyBatch() {
+        assertThrows(RestBadRequestException.class, () -> employeeBatchController.createEmployees(List.of()));
+    }
+
+    @Test
+    public void testCreateEmployees_InternalServerError() throws InternalServerErrorException {
+        when(employeeService.createEmployees(Mockito.any()))
+            .thenThrow(new InternalServerErrorException("Failed to process employee batch."));
+        assertThrows(RestInternalServerErrorException.class,
+            () -> employeeBatchController.createEmployees(List.of(TestDataUtil.createEmployeeInput())));
+    }
+
+    @Test
+    public void testDeleteEmployeesById_InvalidIdsAreReportedInPlace() throws InternalServerErrorException {
+        String id = UUID.randomUUID().toString();
+        when(employeeService.deleteEmployeesById(List.of(id)))
+            .thenReturn(List.of(BatchItemResult.of("Successfully deleted employee")));
+
+        List<BatchItemResult<String>> results =
+            employeeBatchController.deleteEmployeesById(List.of("invalid-uuid", id)).getBody();
+
+        assertEquals(List.of(
+            BatchItemResult.<String>error(String.format(ErrorMessages.INVALID_EMPLOYEE_ID, "invalid-uuid")),
+            BatchItemResult.of("Successfully deleted employee")), results);
+    }
+
+    @Test
+    public void testDeleteEmployeesById_TooLarge() {
+        List<String> ids = Collections.nCopies(10_001, UUID.randomUUID().toString());
+        assertThrows(RestBadRequestException.class, () -> employeeBatchController.deleteEmployeesById(ids));
+    }
+}
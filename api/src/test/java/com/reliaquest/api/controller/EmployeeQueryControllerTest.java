@@ -0,0 +1,159 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.constants.ErrorMessages;
+import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.exception.RestBadRequestException;
+import com.reliaquest.api.exception.RestInternalServerErrorException;
+import com.reliaquest.api.exception.RestNotFoundRequestException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.EmployeeQueryResult;
+import com.reliaquest.api.service.EmployeeQueryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeQueryControllerTest {
+
+    @Mock
+    private EmployeeQueryService employeeQueryService;
+
+    @InjectMocks
+    private EmployeeQueryController employeeQueryController;
+
+    @Test
+    public void testQueryEmployees_Success() throws InternalServerErrorException {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setTitle("Engineer");
+        query.setSortBy("salary");
+        EmployeeQueryResult expected = new EmployeeQueryResult(0, List.of(), null);
+        when(employeeQueryService.query(query)).thenReturn(expected);
+
+        ResponseEntity<EmployeeQueryResult> response = employeeQueryController.queryEmployees(query);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expected, response.getBody());
+    }
+
+    @Test
+    public void testQueryEmployees_BadRequest() throws InternalServerErrorException {
+        EmployeeQuery bySortField = new EmployeeQuery();
+        bySortField.setSortBy("height");
+        EmployeeQuery bySortDirection = new EmployeeQuery();
+        bySortDirection.setSortDirection("up");
+        EmployeeQuery byGroupField = new EmployeeQuery();
+        byGroupField.setGroupBy("age");
+        when(employeeQueryService.query(bySortField))
+            .thenThrow(new IllegalArgumentException(String.format(ErrorMessages.INVALID_QUERY_SORT_BY, "height")));
+        when(employeeQueryService.query(bySortDirection))
+            .thenThrow(new IllegalArgumentException(String.format(ErrorMessages.INVALID_QUERY_SORT_DIRECTION, "up")));
+        when(employeeQueryService.query(byGroupField))
+            .thenThrow(new IllegalArgumentException(String.format(ErrorMessages.INVALID_QUERY_GROUP_BY, "age")));
+        when(employeeQueryService.query(null)).thenThrow(new IllegalArgumentException(ErrorMessages.QUERY_NULL));
+
+        for (EmployeeQuery query : new EmployeeQuery[] {bySortField, bySortDirection, byGroupField}) {
+            assertThrows(RestBadRequestException.class, () -> employeeQueryController.queryEmployees(query));
+        }
+        RestBadRequestException exception = assertThrows(RestBadRequestException.class,
+            () -> employeeQueryController.queryEmployees(null));
+        assertEquals(ErrorMessages.QUERY_NULL, exception.getMessage());
+    }
+
+    @Test
+    public void testQueryEmployees_Failure() throws InternalServerErrorException {
+        EmployeeQuery query = new EmployeeQuery();
+        when(employeeQueryService.query(query)).thenThrow(new InternalServerErrorException("Failed to get employees."));
+        assertThrows(RestInternalServerErrorException.class, () -> employeeQueryController.queryEmployees(query));
+    }
+
+    @Test
+    public void testGetEmployeesBySalaryRange_Success() throws InternalServerErrorException {
+        Employee employee = new Employee();
+        employee.setName("Test employee name");
+        employee.setSalary(150);
+        EmployeeQueryResult expected = new EmployeeQueryResult(3, List.of(employee), null);
+        when(employeeQueryService.getEmployeesBySalaryRange(100, 200, 1)).thenReturn(expected);
+
+        ResponseEntity<EmployeeQueryResult> response = employeeQueryController.getEmployeesBySalaryRange(100, 200, 1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expected, response.getBody());
+    }
+
+    @Test
+    public void testGetEmployeesBySalaryRange_DefaultLimit() throws InternalServerErrorException {
+        // Without a limit, the service applies the configured maximum
+        EmployeeQueryResult expected = new EmployeeQueryResult(0, List.of(), null);
+        when(employeeQueryService.getEmployeesBySalaryRange(null, null, null)).thenReturn(expected);
+
+        ResponseEntity<EmployeeQueryResult> response =
+            employeeQueryController.getEmployeesBySalaryRange(null, null, null);
+
+        assertEquals(expected, response.getBody());
+    }
+
+    @Test
+    public void testGetEmployeesBySalaryRange_InvertedBounds() throws InternalServerErrorException {
+        String message = String.format(ErrorMessages.INVALID_QUERY_RANGE, "salary", 200, 100);
+        when(employeeQueryService.getEmployeesBySalaryRange(200, 100, null))
+            .thenThrow(new IllegalArgumentException(message));
+
+        RestBadRequestException exception = assertThrows(RestBadRequestException.class,
+            () -> employeeQueryController.getEmployeesBySalaryRange(200, 100, null));
+        assertEquals(message, exception.getMessage());
+    }
+
+    @Test
+    public void testGetEmployeesBySalaryRange_Failure() throws InternalServerErrorException {
+        when(employeeQueryService.getEmployeesBySalaryRange(100, 200, null))
+            .thenThrow(new InternalServerErrorException("Failed to get employees."));
+        assertThrows(RestInternalServerErrorException.class,
+            () -> employeeQueryController.getEmployeesBySalaryRange(100, 200, null));
+    }
+
+    @Test
+    public void testGetSalaryPercentile_Success() throws InternalServerErrorException {
+        when(employeeQueryService.getSalaryPercentile(90)).thenReturn(OptionalInt.of(180));
+
+        ResponseEntity<Integer> response = employeeQueryController.getSalaryPercentile(90);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(180, response.getBody());
+    }
+
+    @Test
+    public void testGetSalaryPercentile_NoSalaries() throws InternalServerErrorException {
+        when(employeeQueryService.getSalaryPercentile(50)).thenReturn(OptionalInt.empty());
+
+        RestNotFoundRequestException exception = assertThrows(RestNotFoundRequestException.class,
+            () -> employeeQueryController.getSalaryPercentile(50));
+        assertEquals(ErrorMessages.NO_EMPLOYEE_SALARIES, exception.getMessage());
+    }
+
+    @Test
+    public void testGetSalaryPercentile_BadRequest() throws InternalServerErrorException {
+        for (double percentile : new double[] {Double.NaN, -1, 100.5}) {
+            when(employeeQueryService.getSalaryPercentile(percentile))
+                .thenThrow(new IllegalArgumentException(String.format(ErrorMessages.INVALID_PERCENTILE, percentile)));
+            assertThrows(RestBadRequestException.class, () -> employeeQueryController.getSalaryPercentile(percentile));
+        }
+    }
+
+    @Test
+    public void testGetSalaryPercentile_Failure() throws InternalServerErrorException {
+        when(employeeQueryService.getSalaryPercentile(90))
+            .thenThrow(new InternalServerErrorException("Failed to get employees."));
+        assertThrows(RestInternalServerErrorException.class, () -> employeeQueryController.getSalaryPercentile(90));
+    }
+}
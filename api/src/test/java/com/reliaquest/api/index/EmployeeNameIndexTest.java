@@ -0,0 +1,94 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.cache.RosterDiff;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.cache.RosterSnapshotTestUtil;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeNameIndexTest {
+
+    private static final String[] NAME_PARTS = {"Tiger", "Nixon", "Garrett", "Winters", "Ashton", "Cox", "Cedric",
+        "Kelly", "Anna", "Ann", "Bob", "Rob", "abc", "xbcd"};
+
+    @Test
+    void search_MatchesLinearScan() {
+        List<Employee> employees = randomEmployees(new Random(42), 2000);
+        EmployeeNameIndex index = new EmployeeNameIndex();
+        index.onSnapshot(snapshot(employees), RosterDiff.full());
+
+        for (String query : List.of("a", "ob", "nixon", "TIGER", "n c", "abcd", "bcd", "rob", "zzz", "ann k")) {
+            assertEquals(scan(employees, query), index.search(query, Integer.MAX_VALUE), "query=" + query);
+        }
+    }
+
+    @Test
+    void search_IsLimited() {
+        List<Employee> employees = randomEmployees(new Random(42), 2000);
+        EmployeeNameIndex index = new EmployeeNameIndex();
+        index.onSnapshot(snapshot(employees), RosterDiff.full());
+
+        assertEquals(scan(employees, "a").subList(0, 10), index.search("a", 10));
+    }
+
+    @Test
+    void onSnapshot_AppliesIncrementalChanges() {
+        Random random = new Random(7);
+        List<Employee> employees = randomEmployees(random, 500);
+        EmployeeNameIndex index = new EmployeeNameIndex();
+        RosterSnapshot previous = snapshot(employees);
+        index.onSnapshot(previous, RosterDiff.full());
+
+        for (int round = 0; round < 20; round++) {
+            List<Employee> next = new ArrayList<>(employees);
+            for (int i = 0; i < 20; i++) {
+                next.remove(random.nextInt(next.size()));
+            }
+            next.addAll(randomEmployees(random, 20));
+            RosterSnapshot snapshot = snapshot(next);
+            RosterDiff diff = RosterDiff.between(previous, snapshot);
+            assertFalse(diff.isFull());
+            index.onSnapshot(snapshot, diff);
+            previous = snapshot;
+            employees = next;
+        }
+
+        assertEquals(employees.size(), index.size());
+        for (String query : List.of("nixon", "cox", "ann", "er")) {
+            // Incrementally added employees come last, only the matches are guaranteed to be the same
+            assertEquals(new HashSet<>(scan(employees, query)), new HashSet<>(index.search(query, Integer.MAX_VALUE)),
+                "query=" + query);
+        }
+        assertTrue(index.getMemoryFootprintBytes() > 0);
+    }
+
+    private static List<Employee> scan(List<Employee> employees, String query) {
+        return employees.stream()
+            .filter(employee -> employee.getName().toLowerCase().contains(query.toLowerCase()))
+            .collect(Collectors.toList());
+    }
+
+    private static RosterSnapshot snapshot(List<Employee> employees) {
+        return RosterSnapshotTestUtil.snapshot(employees);
+    }
+
+    private static List<Employee> randomEmployees(Random random, int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = NAME_PARTS[random.nextInt(NAME_PARTS.length)] + " "
+                + NAME_PARTS[random.nextInt(NAME_PARTS.length)] + NAME_PARTS[random.nextInt(NAME_PARTS.length)];
+            employees.add(new Employee(UUID.randomUUID(), name, random.nextInt(500000), 30, "Engineer",
+                "someone@company.com"));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,136 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.cache.RosterDiff;
+import com.reliaquest.api.cache.RosterSnapshotTestUtil;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameTrieTest {
+
+    private static final String[] FIRST_NAMES = {"Tiger", "Tim", "Timothy", "Garrett", "Ashton", "Ann", "Anna"};
+    private static final String[] LAST_NAMES = {"Nixon", "Nix", "Winters", "Cox", "Annabel", "Tierney"};
+
+    @Test
+    void complete_MatchesBruteForce() {
+        List<Employee> employees = randomEmployees(new Random(42), 3000);
+        NameTrie trie = NameTrie.of(employees, 5);
+
+        for (String prefix : List.of("t", "ti", "tim", "timothy n", "n", "nix", "nixo", "ann", "anna", "a", "cox",
+            "tiger nixon", "x", "tigers", "garrett w")) {
+            assertEquals(bruteForce(employees, prefix, 5), trie.complete(prefix, 5), prefix);
+            assertEquals(bruteForce(employees, prefix, 2), trie.complete(prefix, 2), prefix);
+        }
+    }
+
+    @Test
+    void complete_RanksByCountThenName() {
+        List<Employee> employees = List.of(employee("Ann Cox"), employee("Anna Nix"), employee("anna  nix"),
+            employee("Ann Annabel"), employee(null), employee("  "));
+        NameTrie trie = NameTrie.of(employees, 10);
+
+        assertEquals(3, trie.size());
+        // "ann annabel" is reachable through both of its tokens and suggested once
+        assertEquals(List.of("Anna Nix", "Ann Annabel", "Ann Cox"), trie.complete("ann", 10));
+        assertEquals(List.of("Anna Nix", "Ann Annabel"), trie.complete("anna", 10));
+        assertEquals(List.of("Ann Cox"), trie.complete("co", 10));
+        assertEquals(List.of(), trie.complete("bob", 10));
+        assertEquals(List.of(), NameTrie.empty().complete("ann", 10));
+    }
+
+    @Test
+    void scan_MatchesTrie() {
+        List<Employee> employees = randomEmployees(new Random(7), 2000);
+        NameTrie trie = NameTrie.of(employees, 5);
+
+        for (String prefix : List.of("t", "tim", "timothy n", "nix", "ann", "a", "tiger nixon", "x", "tigers")) {
+            assertEquals(trie.complete(prefix, 5), NameTrie.scan(employees, prefix, 5), prefix);
+            assertEquals(trie.complete(prefix, 2), NameTrie.scan(employees, prefix, 2), prefix);
+        }
+        assertEquals(List.of(), NameTrie.scan(List.of(employee(null), employee(" ")), "", 5));
+    }
+
+    @Test
+    void complete_ManyNamesakesOfAToken() {
+        // Every name ends with the token "nix", more names than suggestions are stored for its node
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            for (int j = 0; j <= i % 3; j++) {
+                employees.add(employee("Employee" + i + " Nix"));
+            }
+        }
+        NameTrie trie = NameTrie.of(employees, 4);
+
+        assertEquals(bruteForce(employees, "nix", 4), trie.complete("nix", 4));
+        assertEquals(bruteForce(employees, "employee4", 4), trie.complete("employee4", 4));
+    }
+
+    @Test
+    void normalize_StripsAccentsAndCollapsesWhitespace() {
+        assertEquals("jose nunez", NameTrie.normalize("  Jos\u00e9\tN\u00da\u00d1EZ "));
+        assertEquals("", NameTrie.normalize(null));
+
+        NameTrie trie = NameTrie.of(List.of(employee("Jos\u00e9 N\u00fa\u00f1ez")), 10);
+        assertEquals(List.of("Jos\u00e9 N\u00fa\u00f1ez"), trie.complete(NameTrie.normalize("NUN"), 10));
+    }
+
+    @Test
+    void getTrie_BuiltFromLatestSnapshot() {
+        NameAutocompleteIndex index = new NameAutocompleteIndex(10, Runnable::run);
+        assertEquals(List.of(), index.complete("tig", 10));
+
+        List<Employee> employees = List.of(employee("Tiger Nixon"), employee("Garrett Winters"));
+        index.onSnapshot(RosterSnapshotTestUtil.snapshot(employees), RosterDiff.full());
+        assertEquals(List.of("Tiger Nixon"), index.complete("Tig", 10));
+        assertSame(index.getTrie(), index.getTrie());
+
+        index.onSnapshot(RosterSnapshotTestUtil.snapshot(employees.subList(1, 2)),
+            RosterDiff.of(List.of(), employees.subList(0, 1)));
+        assertEquals(List.of(), index.complete("tig", 10));
+        assertEquals(List.of("Garrett Winters"), index.complete("win", 10));
+    }
+
+    private static List<String> bruteForce(List<Employee> employees, String prefix, int limit) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        Map<String, String> displayNames = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            String normalized = NameTrie.normalize(employee.getName());
+            // The prefix of the name or of one of its suffixes starting at a token
+            boolean matches = normalized.startsWith(prefix);
+            for (int i = normalized.indexOf(' '); i >= 0 && !matches; i = normalized.indexOf(' ', i + 1)) {
+                matches = normalized.startsWith(prefix, i + 1);
+            }
+            if (!normalized.isEmpty() && matches) {
+                counts.merge(normalized, 1, Integer::sum);
+                displayNames.putIfAbsent(normalized, employee.getName());
+            }
+        }
+        return counts.entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .limit(limit)
+            .map(entry -> displayNames.get(entry.getKey()))
+            .collect(Collectors.toList());
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(UUID.randomUUID(), name, 100, 30, "Engineer", "employee@company.com");
+    }
+
+    private static List<Employee> randomEmployees(Random random, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + LAST_NAMES[random.nextInt(LAST_NAMES.length)]));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.cache.RosterDiff;
+import com.reliaquest.api.cache.RosterSnapshotTestUtil;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterColumnsTest {
+
+    @Test
+    void aggregates_MatchEmployees() {
+        List<Employee> employees = RosterColumnsTestUtil.randomEmployees(new Random(42), 2000);
+        RosterColumns columns = RosterColumns.of(employees);
+
+        int highest = employees.stream().filter(e -> e.getSalary() != null).mapToInt(Employee::getSalary).max()
+            .orElseThrow();
+        assertEquals(OptionalInt.of(highest), columns.highestSalary());
+
+        List<Employee> expectedTop = employees.stream()
+            .filter(e -> e.getSalary() != null)
+            .sorted(Comparator.comparing(Employee::getSalary).reversed())
+            .limit(10)
+            .collect(Collectors.toList());
+        assertEquals(expectedTop, columns.employees(columns.topEarners(10)));
+
+        Map<String, Integer> expectedCounts = new LinkedHashMap<>();
+        employees.stream().filter(e -> e.getTitle() != null)
+            .forEach(e -> expectedCounts.merge(e.getTitle(), 1, Integer::sum));
+        assertEquals(expectedCounts, columns.countByTitle());
+    }
+
+    @Test
+    void select_MatchesLinearScan() {
+        List<Employee> employees = RosterColumnsTestUtil.randomEmployees(new Random(7), 2000);
+        RosterColumns columns = RosterColumns.of(employees);
+        RosterColumns.Filter filter = RosterColumns.Filter.ALL.withSalary(100_000, 300_000).withAge(30, 50)
+            .withTitle("Engineer").withNameContaining("NIXON");
+
+        List<Employee> expected = employees.stream()
+            .filter(e -> e.getSalary() != null && e.getSalary() >= 100_000 && e.getSalary() <= 300_000)
+            .filter(e -> e.getAge() != null && e.getAge() >= 30 && e.getAge() <= 50)
+            .filter(e -> "Engineer".equals(e.getTitle()))
+            .filter(e -> e.getName() != null && e.getName().toLowerCase().contains("nixon"))
+            .collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, columns.employees(columns.select(filter)));
+        assertEquals(employees.size(), columns.select(RosterColumns.Filter.ALL).length);
+        assertEquals(0, columns.select(RosterColumns.Filter.ALL.withTitle("Astronaut")).length);
+    }
+
+    @Test
+    void select_BoundedRangeSkipsMissingValues() {
+        Employee unpaid = new Employee(UUID.randomUUID(), "Unpaid", null, null, "Engineer", "unpaid@company.com");
+        Employee paid = new Employee(UUID.randomUUID(), "Paid", 100, 30, "Engineer", "paid@company.com");
+        RosterColumns columns = RosterColumns.of(List.of(unpaid, paid));
+
+        RosterColumns.Filter filter = RosterColumns.Filter.ALL;
+        assertArrayEquals(new int[] {1}, columns.select(filter.withSalary(RosterColumns.MISSING, 500)));
+        assertArrayEquals(new int[] {1}, columns.select(filter.withAge(RosterColumns.MISSING, 40)));
+        assertArrayEquals(new int[] {1}, columns.topEarners(10));
+    }
+
+    @Test
+    void salaryHistogram_CountsEverySalary() {
+        List<Employee> employees = List.of(
+            new Employee(UUID.randomUUID(), "A", 100, 30, "Engineer", "a@company.com"),
+            new Employee(UUID.randomUUID(), "B", 149, 30, "Engineer", "b@company.com"),
+            new Employee(UUID.randomUUID(), "C", 150, 30, "Engineer", "c@company.com"),
+            new Employee(UUID.randomUUID(), "D", 199, 30, "Engineer", "d@company.com"),
+            new Employee(UUID.randomUUID(), "E", null, 30, "Engineer", "e@company.com"));
+
+        RosterColumns.Histogram histogram = RosterColumns.of(employees).salaryHistogram(2);
+
+        assertEquals(100, histogram.lowerBound());
+        assertEquals(50, histogram.bucketWidth());
+        assertArrayEquals(new int[] {2, 2}, histogram.counts());
+        assertEquals(0, RosterColumns.empty().salaryHistogram(4).counts().length);
+    }
+
+    @Test
+    void getMemoryFootprintBytes_SmallerThanEmployeeFields() {
+        RosterColumns columns = RosterColumns.of(RosterColumnsTestUtil.randomEmployees(new Random(1), 10_000));
+
+        assertTrue(columns.getMemoryFootprintBytes() < columns.getPojoFootprintBytes());
+    }
+
+    @Test
+    void getColumns_BuiltFromLatestSnapshot() {
+        List<Employee> employees = RosterColumnsTestUtil.randomEmployees(new Random(3), 10);
+        ColumnarRoster columnarRoster = new ColumnarRoster(Runnable::run);
+        assertEquals(0, columnarRoster.getColumns().size());
+
+        columnarRoster.onSnapshot(RosterSnapshotTestUtil.snapshot(employees), RosterDiff.full());
+        RosterColumns columns = columnarRoster.getColumns();
+        assertEquals(10, columns.size());
+        assertSame(columns, columnarRoster.getColumns());
+
+        columnarRoster.onSnapshot(RosterSnapshotTestUtil.snapshot(employees.subList(0, 4)),
+            RosterDiff.of(List.of(), employees.subList(4, 10)));
+        assertEquals(employees.subList(0, 4),
+            columnarRoster.getColumns().employees(IntStream.range(0, 4).toArray()));
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+public class RosterColumnsTestUtil {
+
+    private static final String[] TITLES = {"Engineer", "Accountant", "Designer", null};
+    private static final String[] NAMES = {"Tiger Nixon", "Garrett Winters", "Ashton Cox", "Jill Nixon", null};
+
+    public static List<Employee> randomEmployees(Random random, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(new Employee(UUID.randomUUID(),
+                NAMES[random.nextInt(NAMES.length)],
+                random.nextInt(20) == 0 ? null : 30_000 + random.nextInt(470_000),
+                random.nextInt(20) == 0 ? null : 16 + random.nextInt(60),
+                TITLES[random.nextInt(TITLES.length)],
+                "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+}
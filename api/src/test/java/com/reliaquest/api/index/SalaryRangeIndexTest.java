@@ -0,0 +1,76 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryRangeIndexTest {
+
+    @Test
+    void rangeQueries_MatchLinearScan() {
+        List<Employee> employees = randomEmployees(new Random(42), 5000);
+        RosterColumns columns = RosterColumns.of(employees);
+        SalaryRangeIndex index = columns.salaryIndex();
+
+        List<Employee> expected = employees.stream()
+            .filter(e -> e.getSalary() != null && e.getSalary() >= 1_000 && e.getSalary() <= 2_000)
+            .sorted(Comparator.comparing(Employee::getSalary))
+            .collect(Collectors.toList());
+        assertEquals(expected.size(), index.count(1_000, 2_000));
+        assertEquals(expected, columns.employees(index.rows(1_000, 2_000, Integer.MAX_VALUE)));
+        assertEquals(expected.subList(0, 10), columns.employees(index.rows(1_000, 2_000, 10)));
+        assertEquals(0, index.count(2_000, 1_000));
+        assertEquals(0, index.rows(2_000, 1_000, 10).length);
+        assertEquals(index.size(), index.count(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void topEarners_MatchColumns() {
+        RosterColumns columns = RosterColumns.of(randomEmployees(new Random(7), 5000));
+        SalaryRangeIndex index = columns.salaryIndex();
+
+        assertEquals(columns.highestSalary(), index.highestSalary());
+        assertArrayEquals(columns.topEarners(10), index.topEarners(10));
+        assertArrayEquals(columns.topEarners(10_000), index.topEarners(10_000));
+    }
+
+    @Test
+    void percentile_NearestRank() {
+        List<Employee> employees = new ArrayList<>();
+        for (int salary = 100; salary >= 1; salary--) {
+            employees.add(new Employee(UUID.randomUUID(), "Employee " + salary, salary, 30, "Engineer",
+                "employee" + salary + "@company.com"));
+        }
+        employees.add(new Employee(UUID.randomUUID(), "Unpaid", null, 30, "Engineer", "unpaid@company.com"));
+        SalaryRangeIndex index = RosterColumns.of(employees).salaryIndex();
+
+        assertEquals(100, index.size());
+        assertEquals(OptionalInt.of(1), index.percentile(0));
+        assertEquals(OptionalInt.of(50), index.percentile(50));
+        assertEquals(OptionalInt.of(90), index.percentile(90));
+        assertEquals(OptionalInt.of(91), index.percentile(90.5));
+        assertEquals(OptionalInt.of(100), index.percentile(100));
+        assertEquals(OptionalInt.empty(), RosterColumns.empty().salaryIndex().percentile(50));
+        assertEquals(OptionalInt.empty(), RosterColumns.empty().salaryIndex().highestSalary());
+    }
+
+    private static List<Employee> randomEmployees(Random random, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Narrow salary range, so that ties are common
+            employees.add(new Employee(UUID.randomUUID(), "Employee " + i,
+                random.nextInt(20) == 0 ? null : random.nextInt(5_000), 30, "Engineer",
+                "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.cache.RosterDiff;
+import com.reliaquest.api.cache.RosterSnapshotTestUtil;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryStatisticsTest {
+
+    @Test
+    void getTopEarners_OrdersBySalaryThenRosterOrder() {
+        Employee low = employee("00000000-0000-0000-0000-000000000001", "Low", 100);
+        Employee tieB = employee("00000000-0000-0000-0000-000000000003", "Tie B", 500);
+        Employee tieA = employee("00000000-0000-0000-0000-000000000002", "Tie A", 500);
+        Employee high = employee("00000000-0000-0000-0000-000000000004", "High", 900);
+        SalaryStatistics salaryStatistics = new SalaryStatistics();
+        salaryStatistics.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of(low, tieB, tieA, high)), RosterDiff.full());
+
+        assertEquals(OptionalInt.of(900), salaryStatistics.getHighestSalary());
+        assertEquals(List.of("High", "Tie B", "Tie A"), names(salaryStatistics.getTopEarners(3)));
+        assertEquals(4, salaryStatistics.getTopEarners(10).size());
+    }
+
+    @Test
+    void getTopEarners_TieAtTheCutoffMatchesStableSort() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            employees.add(new Employee(UUID.randomUUID(), "Employee " + i, 1000 + i, 30, "Engineer", null));
+        }
+        // Positions 9 to 12 share a salary, whichever comes first in the roster makes the top ten
+        for (int i = 8; i < 12; i++) {
+            employees.add(new Employee(UUID.randomUUID(), "Employee " + i, 500, 30, "Engineer", null));
+        }
+        Collections.shuffle(employees, new Random(11));
+        SalaryStatistics salaryStatistics = new SalaryStatistics();
+        salaryStatistics.onSnapshot(RosterSnapshotTestUtil.snapshot(employees), RosterDiff.full());
+
+        List<String> expected = employees.stream()
+            .sorted(Comparator.comparing(Employee::getSalary).reversed())
+            .limit(10)
+            .map(Employee::getName)
+            .collect(Collectors.toList());
+        assertEquals(expected, names(salaryStatistics.getTopEarners(10)));
+    }
+
+    @Test
+    void onSnapshot_ReAddedEmployeeMovesToTheEndOfItsTies() {
+        Employee first = employee("00000000-0000-0000-0000-000000000001", "First", 500);
+        Employee second = employee("00000000-0000-0000-0000-000000000002", "Second", 500);
+        SalaryStatistics salaryStatistics = new SalaryStatistics();
+        salaryStatistics.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of(first, second)), RosterDiff.full());
+
+        salaryStatistics.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of(second, first)),
+            RosterDiff.of(List.of(first), List.of()));
+
+        assertEquals(List.of("Second", "First"), names(salaryStatistics.getTopEarners(10)));
+    }
+
+    @Test
+    void onSnapshot_AppliesIncrementalChanges() {
+        Employee low = employee("00000000-0000-0000-0000-000000000001", "Low", 100);
+        Employee high = employee("00000000-0000-0000-0000-000000000002", "High", 900);
+        Employee higher = employee("00000000-0000-0000-0000-000000000003", "Higher", 1000);
+        SalaryStatistics salaryStatistics = new SalaryStatistics();
+        salaryStatistics.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of(low, high)), RosterDiff.full());
+
+        salaryStatistics.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of(low, higher)),
+            RosterDiff.of(List.of(higher), List.of(high)));
+
+        assertEquals(OptionalInt.of(1000), salaryStatistics.getHighestSalary());
+        assertEquals(List.of("Higher", "Low"), names(salaryStatistics.getTopEarners(10)));
+    }
+
+    @Test
+    void getHighestSalary_EmptyRoster() {
+        SalaryStatistics salaryStatistics = new SalaryStatistics();
+        salaryStatistics.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of()), RosterDiff.full());
+
+        assertEquals(OptionalInt.empty(), salaryStatistics.getHighestSalary());
+        assertTrue(salaryStatistics.getTopEarners(10).isEmpty());
+    }
+
+    private static List<String> names(List<SalaryStatistics.SalaryEntry> entries) {
+        return entries.stream().map(SalaryStatistics.SalaryEntry::name).collect(Collectors.toList());
+    }
+
+    private static Employee employee(String id, String name, int salary) {
+        return new Employee(UUID.fromString(id), name, salary, 30, "Engineer", "someone@company.com");
+    }
+}
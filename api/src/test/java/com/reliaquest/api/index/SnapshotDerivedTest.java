@@ -0,0 +1,126 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.cache.RosterSnapshotTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotDerivedTest {
+
+    @Test
+    void get_BuildsTheFirstSnapshotOnTheReader() {
+        AtomicInteger builds = new AtomicInteger();
+        SnapshotDerived<String> derived = new SnapshotDerived<>("initial",
+            snapshot -> "build " + builds.incrementAndGet(), task -> fail("Built in the background"));
+        assertEquals("initial", derived.get());
+
+        derived.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of()));
+        derived.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of()));
+        assertEquals(0, builds.get());
+        assertEquals("build 1", derived.get());
+        assertEquals("build 1", derived.get());
+    }
+
+    @Test
+    void get_ServesThePreviousValueUntilTheNextIsBuilt() {
+        List<Runnable> tasks = new ArrayList<>();
+        SnapshotDerived<RosterSnapshot> derived = new SnapshotDerived<>(null, snapshot -> snapshot, tasks::add);
+        RosterSnapshot first = RosterSnapshotTestUtil.snapshot(List.of());
+        RosterSnapshot second = RosterSnapshotTestUtil.snapshot(List.of());
+        RosterSnapshot third = RosterSnapshotTestUtil.snapshot(List.of());
+        derived.onSnapshot(first);
+        assertSame(first, derived.get());
+
+        derived.onSnapshot(second);
+        derived.onSnapshot(third);
+        assertSame(first, derived.get());
+        assertSame(first, derived.getLastBuilt());
+
+        tasks.forEach(Runnable::run);
+        assertSame(third, derived.get());
+    }
+
+    @Test
+    void onSnapshot_DoesNotWaitForABuild() throws Exception {
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger builds = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            SnapshotDerived<RosterSnapshot> derived = new SnapshotDerived<>(null, snapshot -> {
+                if (builds.incrementAndGet() == 2) {
+                    building.countDown();
+                    await(release);
+                }
+                return snapshot;
+            }, executor);
+            RosterSnapshot first = RosterSnapshotTestUtil.snapshot(List.of());
+            derived.onSnapshot(first);
+            derived.get();
+
+            derived.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of()));
+            assertTrue(building.await(5, TimeUnit.SECONDS));
+            RosterSnapshot latest = RosterSnapshotTestUtil.snapshot(List.of());
+            Future<?> loading = executor.submit(() -> {
+                derived.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of()));
+                derived.onSnapshot(latest);
+            });
+            loading.get(5, TimeUnit.SECONDS);
+            assertSame(first, derived.get());
+
+            // The snapshots loaded during the build are coalesced into one more build, of the latest of them
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            assertSame(latest, derived.get());
+            assertEquals(3, builds.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getLastBuilt_DoesNotBuild() {
+        AtomicInteger builds = new AtomicInteger();
+        SnapshotDerived<String> derived =
+            new SnapshotDerived<>("initial", snapshot -> "build " + builds.incrementAndGet(), Runnable::run);
+
+        derived.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of()));
+        assertEquals("initial", derived.getLastBuilt());
+        assertEquals(0, builds.get());
+    }
+
+    @Test
+    void get_RetriesAFailedFirstBuild() {
+        AtomicInteger builds = new AtomicInteger();
+        SnapshotDerived<String> derived = new SnapshotDerived<>("initial", snapshot -> {
+            if (builds.incrementAndGet() == 1) {
+                throw new IllegalStateException("Build failed");
+            }
+            return "build " + builds.get();
+        }, Runnable::run);
+        derived.onSnapshot(RosterSnapshotTestUtil.snapshot(List.of()));
+
+        assertThrows(IllegalStateException.class, derived::get);
+        assertEquals("build 2", derived.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
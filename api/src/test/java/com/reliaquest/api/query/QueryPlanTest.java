@@ -0,0 +1,156 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.constants.ErrorMessages;
+import com.reliaquest.api.index.RosterColumns;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.EmployeeQueryResult;
+import com.reliaquest.api.model.TitleGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryPlanTest {
+
+    private static final String[] TITLES = {"Engineer", "Engineer", "Engineer", "Accountant", "Designer", "Director"};
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final RosterQueryExecutor executor = new RosterQueryExecutor(pool, 0, 64);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void execute_FiltersSortsAndLimits() {
+        List<Employee> employees = employees(1000);
+        EmployeeQuery query = new EmployeeQuery();
+        query.setMinSalary(100_000);
+        query.setMaxSalary(300_000);
+        query.setMinAge(30);
+        query.setTitle("Engineer");
+        query.setSortBy("salary");
+        query.setSortDirection("desc");
+        query.setLimit(5);
+
+        EmployeeQueryResult result = QueryPlan.compile(query, 100).execute(RosterColumns.of(employees), executor, 0.05);
+
+        List<Employee> expected = employees.stream()
+            .filter(e -> e.getSalary() >= 100_000 && e.getSalary() <= 300_000 && e.getAge() >= 30)
+            .filter(e -> "Engineer".equals(e.getTitle()))
+            .collect(Collectors.toList());
+        assertEquals(expected.size(), result.getTotal());
+        assertEquals(expected.stream().sorted(Comparator.comparing(Employee::getSalary).reversed()).limit(5).toList(),
+            result.getEmployees());
+        assertNull(result.getGroups());
+    }
+
+    @Test
+    void execute_SortsByAgeAscendingAndName() {
+        List<Employee> employees = employees(200);
+        RosterColumns columns = RosterColumns.of(employees);
+        EmployeeQuery byAge = new EmployeeQuery();
+        byAge.setSortBy("AGE");
+        byAge.setLimit(7);
+        EmployeeQuery byName = new EmployeeQuery();
+        byName.setSortBy("name");
+        byName.setSortDirection("desc");
+
+        assertEquals(employees.stream().sorted(Comparator.comparing(Employee::getAge)).limit(7).toList(),
+            QueryPlan.compile(byAge, 100).execute(columns, executor, 0.05).getEmployees());
+        assertEquals(employees.stream().sorted(Comparator.comparing(Employee::getName).reversed()).limit(100).toList(),
+            QueryPlan.compile(byName, 100).execute(columns, executor, 0.05).getEmployees());
+    }
+
+    @Test
+    void execute_GroupsByTitle() {
+        List<Employee> employees = List.of(
+            new Employee(UUID.randomUUID(), "A", 100, 30, "Engineer", "a@company.com"),
+            new Employee(UUID.randomUUID(), "B", 300, 40, "Engineer", "b@company.com"),
+            new Employee(UUID.randomUUID(), "C", null, 50, "Designer", "c@company.com"),
+            new Employee(UUID.randomUUID(), "D", 50, 20, "Accountant", "d@company.com"));
+        EmployeeQuery query = new EmployeeQuery();
+        query.setMinAge(25);
+        query.setGroupBy("title");
+        query.setLimit(0);
+
+        EmployeeQueryResult result = QueryPlan.compile(query, 100).execute(RosterColumns.of(employees), executor, 0.05);
+
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(), result.getEmployees());
+        assertEquals(List.of(new TitleGroup("Engineer", 2, 200.0, 300), new TitleGroup("Designer", 1, null, null)),
+            result.getGroups());
+    }
+
+    @Test
+    void accessPath_ChosenBySelectivity() {
+        RosterColumns columns = RosterColumns.of(employees(1000));
+        EmployeeQuery engineers = new EmployeeQuery();
+        engineers.setTitle("Engineer");
+        EmployeeQuery directors = new EmployeeQuery();
+        directors.setTitle("Director");
+        EmployeeQuery topEarners = new EmployeeQuery();
+        topEarners.setSortBy("salary");
+        topEarners.setSortDirection("desc");
+        topEarners.setLimit(10);
+        EmployeeQuery narrowSalaries = new EmployeeQuery();
+        narrowSalaries.setMinSalary(100_000);
+        narrowSalaries.setMaxSalary(120_000);
+        narrowSalaries.setTitle("Engineer");
+
+        assertEquals(QueryPlan.AccessPath.SCAN, QueryPlan.compile(engineers, 100).accessPath(columns, 0.2));
+        assertEquals(QueryPlan.AccessPath.TITLE_INDEX, QueryPlan.compile(directors, 100).accessPath(columns, 0.2));
+        assertEquals(QueryPlan.AccessPath.TOP_EARNERS, QueryPlan.compile(topEarners, 100).accessPath(columns, 0.2));
+        assertEquals(QueryPlan.AccessPath.SALARY_INDEX,
+            QueryPlan.compile(narrowSalaries, 100).accessPath(columns, 0.2));
+
+        // Both paths return the same employees
+        assertEquals(QueryPlan.compile(directors, 100).execute(columns, executor, 0.2),
+            QueryPlan.compile(directors, 100).execute(columns, executor, 0.0));
+        assertEquals(QueryPlan.compile(narrowSalaries, 100).execute(columns, executor, 0.2),
+            QueryPlan.compile(narrowSalaries, 100).execute(columns, executor, 0.0));
+        assertEquals(QueryPlan.compile(topEarners, 100).execute(columns, executor, 0.2).getEmployees(),
+            columns.employees(columns.topEarners(10)));
+    }
+
+    @Test
+    void compile_RejectsInvalidQueries() {
+        EmployeeQuery invertedRange = new EmployeeQuery();
+        invertedRange.setMinSalary(200);
+        invertedRange.setMaxSalary(100);
+        EmployeeQuery unknownSort = new EmployeeQuery();
+        unknownSort.setSortBy("email");
+        EmployeeQuery tooLarge = new EmployeeQuery();
+        tooLarge.setLimit(101);
+        EmployeeQuery unknownGroup = new EmployeeQuery();
+        unknownGroup.setGroupBy("age");
+
+        assertEquals(String.format(ErrorMessages.INVALID_QUERY_RANGE, "salary", 200, 100),
+            assertThrows(IllegalArgumentException.class, () -> QueryPlan.compile(invertedRange, 100)).getMessage());
+        assertEquals(String.format(ErrorMessages.INVALID_QUERY_SORT_BY, "email"),
+            assertThrows(IllegalArgumentException.class, () -> QueryPlan.compile(unknownSort, 100)).getMessage());
+        assertEquals(String.format(ErrorMessages.INVALID_QUERY_LIMIT, 101, 100),
+            assertThrows(IllegalArgumentException.class, () -> QueryPlan.compile(tooLarge, 100)).getMessage());
+        assertEquals(String.format(ErrorMessages.INVALID_QUERY_GROUP_BY, "age"),
+            assertThrows(IllegalArgumentException.class, () -> QueryPlan.compile(unknownGroup, 100)).getMessage());
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(new Employee(UUID.randomUUID(), "Employee " + (i * 7919 % count),
+                30_000 + (i * 104_729 % 470_000), 16 + (i * 31 % 60), TITLES[i % TITLES.length],
+                "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.index.RosterColumns;
+import com.reliaquest.api.index.RosterColumnsTestUtil;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterQueryExecutorTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void parallel_MatchesSequential() {
+        RosterColumns columns = RosterColumns.of(RosterColumnsTestUtil.randomEmployees(new Random(42), 10_000));
+        RosterQueryExecutor parallel = new RosterQueryExecutor(pool, 0, 100);
+        RosterColumns.Filter filter = RosterColumns.Filter.ALL.withSalary(100_000, 300_000).withAge(30, 50)
+            .withNameContaining("nixon");
+        assertTrue(parallel.isParallel(columns));
+
+        assertArrayEquals(columns.select(filter), parallel.select(columns, filter));
+        assertEquals(columns.highestSalary(), parallel.highestSalary(columns));
+        assertEquals(OptionalInt.of(columns.minSalary(0, columns.size())), parallel.lowestSalary(columns));
+        assertArrayEquals(columns.topEarners(10), parallel.topEarners(columns, 10));
+        assertEquals(columns.countByTitle(), parallel.countByTitle(columns));
+    }
+
+    @Test
+    void topEarners_TiesKeepRosterOrder() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            employees.add(new Employee(UUID.randomUUID(), "Employee " + i, i % 3 == 0 ? 500 : 100, 30, "Engineer",
+                "employee" + i + "@company.com"));
+        }
+        RosterColumns columns = RosterColumns.of(employees);
+
+        assertArrayEquals(new int[] {0, 3, 6, 9, 12}, new RosterQueryExecutor(pool, 0, 7).topEarners(columns, 5));
+    }
+
+    @Test
+    void belowThreshold_RunsOnTheCallingThread() {
+        RosterColumns columns = RosterColumns.of(RosterColumnsTestUtil.randomEmployees(new Random(7), 1000));
+        // A shut down pool rejects every task, so only a query that never reaches it succeeds
+        ForkJoinPool rejecting = new ForkJoinPool(1);
+        rejecting.shutdown();
+        RosterQueryExecutor executor = new RosterQueryExecutor(rejecting, 100_000, 100);
+
+        assertFalse(executor.isParallel(columns));
+        assertEquals(columns.highestSalary(), executor.highestSalary(columns));
+        assertArrayEquals(columns.topEarners(10), executor.topEarners(columns, 10));
+        assertEquals(columns.countByTitle(), executor.countByTitle(columns));
+        assertThrows(RejectedExecutionException.class,
+            () -> new RosterQueryExecutor(rejecting, 0, 100).highestSalary(columns));
+    }
+
+    @Test
+    void emptyRoster_HasNoSalaries() {
+        RosterQueryExecutor executor = new RosterQueryExecutor(pool, 0, 1);
+
+        assertEquals(OptionalInt.empty(), executor.highestSalary(RosterColumns.empty()));
+        assertEquals(OptionalInt.empty(), executor.lowestSalary(RosterColumns.empty()));
+        assertEquals(0, executor.topEarners(RosterColumns.empty(), 10).length);
+    }
+}
@@ -0,0 +1,263 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cache.RosterDiff;
+import com.reliaquest.api.client.EmployeeHttpClient;
+import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.index.ColumnarRoster;
+import com.reliaquest.api.index.NameAutocompleteIndex;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeQuery;
+import com.reliaquest.api.model.EmployeeQueryResult;
+import com.reliaquest.api.query.QueryPlan;
+import com.reliaquest.api.query.RosterQueryExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeQueryServiceTest {
+
+    private static final int MAX_RESULTS = 3;
+
+    @Mock
+    private EmployeeHttpClient employeeHttpClient;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    private EmployeeQueryService employeeQueryService;
+
+    @BeforeEach
+    public void setUp() {
+        employeeQueryService = employeeQueryService(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testQuery_Success() throws InternalServerErrorException {
+        List<Employee> employees = employees(200, null, 50, 150, 100);
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(employees);
+        EmployeeQuery query = new EmployeeQuery();
+        query.setMinSalary(60);
+        query.setSortBy("salary");
+        query.setSortDirection("desc");
+        query.setLimit(2);
+
+        EmployeeQueryResult result = employeeQueryService.query(query);
+
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(employees.get(0), employees.get(3)), result.getEmployees());
+        assertNull(result.getGroups());
+    }
+
+    @Test
+    public void testQuery_InvalidQuery() {
+        EmployeeQuery bySortField = new EmployeeQuery();
+        bySortField.setSortBy("height");
+        EmployeeQuery bySortDirection = new EmployeeQuery();
+        bySortDirection.setSortDirection("up");
+        EmployeeQuery byGroupField = new EmployeeQuery();
+        byGroupField.setGroupBy("age");
+
+        for (EmployeeQuery query : new EmployeeQuery[] {bySortField, bySortDirection, byGroupField, null}) {
+            assertThrows(IllegalArgumentException.class, () -> employeeQueryService.query(query));
+        }
+        // Rejected before the roster is loaded
+        Mockito.verifyNoInteractions(employeeHttpClient);
+    }
+
+    @Test
+    public void testQuery_InternalServerError() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.getAllEmployees())
+            .thenThrow(new InternalServerErrorException("Internal Server Error"));
+        assertThrows(InternalServerErrorException.class, () -> employeeQueryService.query(new EmployeeQuery()));
+    }
+
+    @Test
+    public void testCompile_ReusesThePlanOfAnEqualQuery() {
+        EmployeeQuery query = new EmployeeQuery();
+        query.setTitle("Engineer");
+        EmployeeQuery equalQuery = new EmployeeQuery();
+        equalQuery.setTitle("Engineer");
+
+        assertSame(employeeQueryService.compile(query), employeeQueryService.compile(equalQuery));
+    }
+
+    @Test
+    public void testCompile_ClearsThePlanCacheWhenFull() {
+        EmployeeQueryService planCacheOfTwo = employeeQueryService(true, 2);
+        EmployeeQuery first = new EmployeeQuery();
+        first.setTitle("Engineer");
+        EmployeeQuery second = new EmployeeQuery();
+        second.setTitle("Designer");
+        EmployeeQuery third = new EmployeeQuery();
+        third.setTitle("Director");
+
+        QueryPlan firstPlan = planCacheOfTwo.compile(first);
+        assertSame(firstPlan, planCacheOfTwo.compile(first));
+        planCacheOfTwo.compile(second);
+        QueryPlan thirdPlan = planCacheOfTwo.compile(third);
+
+        assertNotSame(firstPlan, planCacheOfTwo.compile(first));
+        assertSame(thirdPlan, planCacheOfTwo.compile(third));
+    }
+
+    @Test
+    public void testGetEmployeesBySalaryRange_Success() throws InternalServerErrorException {
+        List<Employee> employees = employees(200, null, 50, 150, 100);
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(employees);
+
+        EmployeeQueryResult result = employeeQueryService.getEmployeesBySalaryRange(100, 200, 2);
+
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(employees.get(4), employees.get(3)), result.getEmployees());
+        assertNull(result.getGroups());
+    }
+
+    @Test
+    public void testGetEmployeesBySalaryRange_OpenBounds() throws InternalServerErrorException {
+        List<Employee> employees = employees(200, null, 50, 150, 100);
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(employees);
+
+        assertEquals(List.of(employees.get(2), employees.get(4)),
+            employeeQueryService.getEmployeesBySalaryRange(null, 100, null).getEmployees());
+        assertEquals(List.of(employees.get(3), employees.get(0)),
+            employeeQueryService.getEmployeesBySalaryRange(150, null, null).getEmployees());
+        assertEquals(0, employeeQueryService.getEmployeesBySalaryRange(300, 400, null).getTotal());
+    }
+
+    @Test
+    public void testGetEmployeesBySalaryRange_DefaultLimit() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(employees(10, 20, 30, 40, 50));
+
+        EmployeeQueryResult result = employeeQueryService.getEmployeesBySalaryRange(null, null, null);
+
+        assertEquals(5, result.getTotal());
+        assertEquals(MAX_RESULTS, result.getEmployees().size());
+    }
+
+    @Test
+    public void testGetEmployeesBySalaryRange_InvalidRangeOrLimit() {
+        assertThrows(IllegalArgumentException.class,
+            () -> employeeQueryService.getEmployeesBySalaryRange(200, 100, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> employeeQueryService.getEmployeesBySalaryRange(100, 200, -1));
+        assertThrows(IllegalArgumentException.class,
+            () -> employeeQueryService.getEmployeesBySalaryRange(100, 200, MAX_RESULTS + 1));
+        // Rejected before the roster is loaded
+        Mockito.verifyNoInteractions(employeeHttpClient);
+    }
+
+    @Test
+    public void testGetEmployeesBySalaryRange_InternalServerError() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.getAllEmployees())
+            .thenThrow(new InternalServerErrorException("Internal Server Error"));
+        assertThrows(InternalServerErrorException.class,
+            () -> employeeQueryService.getEmployeesBySalaryRange(100, 200, null));
+    }
+
+    @Test
+    public void testGetSalaryPercentile_Success() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(employees(200, null, 50, 150, 100));
+
+        assertEquals(OptionalInt.of(50), employeeQueryService.getSalaryPercentile(0));
+        assertEquals(OptionalInt.of(100), employeeQueryService.getSalaryPercentile(50));
+        assertEquals(OptionalInt.of(200), employeeQueryService.getSalaryPercentile(90));
+        assertEquals(OptionalInt.of(200), employeeQueryService.getSalaryPercentile(100));
+    }
+
+    @Test
+    public void testGetSalaryPercentile_NoSalaries() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(employees(null, null));
+        assertEquals(OptionalInt.empty(), employeeQueryService.getSalaryPercentile(50));
+    }
+
+    @Test
+    public void testGetSalaryPercentile_OutOfRange() {
+        for (double percentile : new double[] {Double.NaN, -0.5, 100.5, Double.POSITIVE_INFINITY}) {
+            assertThrows(IllegalArgumentException.class, () -> employeeQueryService.getSalaryPercentile(percentile));
+        }
+        Mockito.verifyNoInteractions(employeeHttpClient);
+    }
+
+    @Test
+    public void testGetSalaryPercentile_RosterCacheDisabled() throws InternalServerErrorException {
+        EmployeeQueryService uncached = employeeQueryService(false);
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(employees(200, 50, 150, 100));
+
+        assertEquals(OptionalInt.of(100), uncached.getSalaryPercentile(50));
+        assertEquals(2, uncached.getEmployeesBySalaryRange(100, 150, null).getTotal());
+    }
+
+    @Test
+    public void testGetNameSuggestions_RosterCacheDisabled() throws InternalServerErrorException {
+        EmployeeQueryService uncached = employeeQueryService(false);
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(employees(200, 50, 150, 100));
+
+        // Scanned without the index, suggested as the index would
+        assertEquals(List.of("Employee 0", "Employee 1"), uncached.getNameSuggestions("emp", 2));
+        assertEquals(employeeQueryService.getNameSuggestions("emp", null), uncached.getNameSuggestions("emp", null));
+        assertEquals(List.of("Employee 3"), uncached.getNameSuggestions("3", null));
+    }
+
+    @Test
+    public void testGetNameSuggestions_PicksUpWrites() throws InternalServerErrorException {
+        ColumnarRoster columnarRoster = new ColumnarRoster(Runnable::run);
+        NameAutocompleteIndex nameAutocompleteIndex = new NameAutocompleteIndex(10, Runnable::run);
+        RosterCache rosterCache = new RosterCache(employeeHttpClient, true, Duration.ofSeconds(30),
+            Duration.ofMinutes(5), Runnable::run, List.of(columnarRoster, nameAutocompleteIndex));
+        EmployeeQueryService cached = new EmployeeQueryService(rosterCache, columnarRoster,
+            new RosterQueryExecutor(pool, 100_000, 16_384), nameAutocompleteIndex, MAX_RESULTS, 0.05, 256);
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(employees(100, 200));
+        assertEquals(List.of(), cached.getNameSuggestions("tig", null));
+
+        Employee created = new Employee(UUID.randomUUID(), "Tiger Nixon", 300, 61, "Engineer", "tnixon@company.com");
+        rosterCache.apply(RosterDiff.of(List.of(created), List.of()));
+
+        assertEquals(List.of("Tiger Nixon"), cached.getNameSuggestions("tig", null));
+        assertEquals(List.of("Tiger Nixon"), cached.getNameSuggestions("nix", null));
+        // From the index, without fetching the roster again
+        Mockito.verify(employeeHttpClient, Mockito.times(1)).getAllEmployees();
+    }
+
+    private EmployeeQueryService employeeQueryService(boolean rosterCacheEnabled) {
+        return employeeQueryService(rosterCacheEnabled, 256);
+    }
+
+    private EmployeeQueryService employeeQueryService(boolean rosterCacheEnabled, int planCacheSize) {
+        ColumnarRoster columnarRoster = new ColumnarRoster(Runnable::run);
+        NameAutocompleteIndex nameAutocompleteIndex = new NameAutocompleteIndex(10, Runnable::run);
+        RosterCache rosterCache = new RosterCache(employeeHttpClient, rosterCacheEnabled, Duration.ofSeconds(30),
+            Duration.ofMinutes(5), Runnable::run, List.of(columnarRoster, nameAutocompleteIndex));
+        return new EmployeeQueryService(rosterCache, columnarRoster, new RosterQueryExecutor(pool, 100_000, 16_384),
+            nameAutocompleteIndex, MAX_RESULTS, 0.05, planCacheSize);
+    }
+
+    private static List<Employee> employees(Integer... salaries) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < salaries.length; i++) {
+            Employee employee = new Employee();
+            employee.setName("Employee " + i);
+            employee.setSalary(salaries[i]);
+            employees.add(employee);
+        }
+        return employees;
+    }
+}
@@ -1,17 +1,27 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.RosterCache;
 import com.reliaquest.api.client.EmployeeHttpClient;
 import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.index.EmployeeNameIndex;
+import com.reliaquest.api.index.SalaryStatistics;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.TestDataUtil;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,9 +31,17 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeHttpClient employeeHttpClient;
 
-    @InjectMocks
     private EmployeeService employeeService;
 
+    @BeforeEach
+    public void setUp() {
+        EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+        SalaryStatistics salaryStatistics = new SalaryStatistics();
+        RosterCache rosterCache = new RosterCache(employeeHttpClient, true, Duration.ofSeconds(30), Duration.ofMinutes(5),
+            Runnable::run, List.of(employeeNameIndex, salaryStatistics));
+        employeeService = new EmployeeService(employeeHttpClient, rosterCache, employeeNameIndex, salaryStatistics, 1000);
+    }
+
     @Test
     public void testGetAllEmployees_Success() throws InternalServerErrorException {
         ArrayList<Employee> employees = new ArrayList<>();
@@ -95,5 +113,147 @@ class EmployeeServiceTest {
         assertEquals(0, employeeService.getHighestSalaryOfEmployees());
     }
 
+    @Test
+    public void testReadsAreServedFromRosterSnapshot() throws InternalServerErrorException {
+        Employee employee = new Employee();
+        employee.setName("Tiger Nixon");
+        employee.setSalary(320800);
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(List.of(employee));
+
+        assertEquals(320800, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of(employee), employeeService.getEmployeesByNameSearch("nixon"));
+        assertEquals(List.of("Tiger Nixon (320800)"), employeeService.getTopTenHighestEarningEmployeeNames());
+        Mockito.verify(employeeHttpClient, Mockito.times(1)).getAllEmployees();
+    }
+
+    @Test
+    public void testCreateEmployee_InvalidatesRosterSnapshotWithoutId() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(new ArrayList<>());
+        Mockito.when(employeeHttpClient.createEmployee(Mockito.any())).thenReturn(new Employee());
+
+        employeeService.getAllEmployees();
+        employeeService.createEmployee(TestDataUtil.createEmployeeInput());
+        employeeService.getAllEmployees();
+        Mockito.verify(employeeHttpClient, Mockito.times(2)).getAllEmployees();
+    }
+
+    @Test
+    public void testCreateEmployee_IsAppliedToRosterSnapshot() throws InternalServerErrorException {
+        Employee created = new Employee(UUID.randomUUID(), "Tiger Nixon", 320800, 61, "Vice Chair", "tnixon@company.com");
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(new ArrayList<>());
+        Mockito.when(employeeHttpClient.createEmployee(Mockito.any())).thenReturn(created);
+
+        employeeService.getAllEmployees();
+        employeeService.createEmployee(TestDataUtil.createEmployeeInput());
+
+        assertEquals(List.of(created), employeeService.getAllEmployees());
+        assertEquals(320800, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of(created), employeeService.getEmployeesByNameSearch("tiger"));
+        Mockito.verify(employeeHttpClient, Mockito.times(1)).getAllEmployees();
+    }
+
+    @Test
+    public void testDeleteEmployeeById_IsAppliedToRosterSnapshot() throws InternalServerErrorException {
+        Employee employee = new Employee(UUID.randomUUID(), "Tiger Nixon", 320800, 61, "Vice Chair", "tnixon@company.com");
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(List.of(employee));
+        Mockito.when(employeeHttpClient.getEmployeeById(employee.getId().toString())).thenReturn(Optional.of(employee));
+        Mockito.when(employeeHttpClient.deleteEmployee(Mockito.any())).thenReturn(Optional.of(true));
+
+        assertEquals(320800, employeeService.getHighestSalaryOfEmployees());
+        employeeService.deleteEmployeeById(employee.getId().toString());
+
+        assertEquals(0, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of(), employeeService.getTopTenHighestEarningEmployeeNames());
+        Mockito.verify(employeeHttpClient, Mockito.times(1)).getAllEmployees();
+    }
+
+    @Test
+    public void testDeleteEmployeeById_InvalidatesRosterSnapshotWithNamesakes() throws InternalServerErrorException {
+        Employee oldest = new Employee(UUID.randomUUID(), "Tiger Nixon", 320800, 61, "Vice Chair", "tnixon@company.com");
+        Employee newest = new Employee(UUID.randomUUID(), "TIGER NIXON", 100, 30, "Intern", "tiger@company.com");
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(List.of(oldest, newest), List.of(newest));
+        Mockito.when(employeeHttpClient.getEmployeeById(newest.getId().toString())).thenReturn(Optional.of(newest));
+        Mockito.when(employeeHttpClient.deleteEmployee(Mockito.any())).thenReturn(Optional.of(true));
+
+        assertEquals(320800, employeeService.getHighestSalaryOfEmployees());
+        employeeService.deleteEmployeeById(newest.getId().toString());
+
+        // The employee service deleted the oldest namesake, the roster is reloaded rather than patched with the newest
+        assertEquals(100, employeeService.getHighestSalaryOfEmployees());
+        Mockito.verify(employeeHttpClient, Mockito.times(2)).getAllEmployees();
+    }
+
+    @Test
+    public void testDeleteEmployeeById_DeletedByIdInSingleCall() throws InternalServerErrorException {
+        Employee employee = new Employee(UUID.randomUUID(), "Tiger Nixon", 320800, 61, "Vice Chair", "tnixon@company.com");
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(List.of(employee));
+        Mockito.when(employeeHttpClient.deleteEmployeeById(employee.getId().toString()))
+            .thenReturn(Optional.of(Optional.of(employee)));
+
+        assertEquals(320800, employeeService.getHighestSalaryOfEmployees());
+        assertEquals("Successfully deleted employee", employeeService.deleteEmployeeById(employee.getId().toString()));
+
+        assertEquals(0, employeeService.getHighestSalaryOfEmployees());
+        Mockito.verify(employeeHttpClient, Mockito.never()).getEmployeeById(Mockito.any());
+        Mockito.verify(employeeHttpClient, Mockito.never()).deleteEmployee(Mockito.any());
+    }
+
+    @Test
+    public void testDeleteEmployeeById_NotFoundById() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.deleteEmployeeById("1")).thenReturn(Optional.of(Optional.empty()));
+        assertEquals("Employee not found", employeeService.deleteEmployeeById("1"));
+        Mockito.verify(employeeHttpClient, Mockito.never()).deleteEmployee(Mockito.any());
+    }
+
+    @Test
+    public void testAggregates_StreamedWhenRosterCacheDisabled() throws InternalServerErrorException {
+        EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+        SalaryStatistics salaryStatistics = new SalaryStatistics();
+        RosterCache rosterCache = new RosterCache(employeeHttpClient, false, Duration.ofSeconds(30),
+            Duration.ofMinutes(5), Runnable::run, List.of(employeeNameIndex, salaryStatistics));
+        EmployeeService streamingService =
+            new EmployeeService(employeeHttpClient, rosterCache, employeeNameIndex, salaryStatistics, 1000);
+        List<Employee> employees = List.of(
+            new Employee(UUID.randomUUID(), "Tiger Nixon", 300, 61, "Engineer", "tnixon@company.com"),
+            new Employee(UUID.randomUUID(), "Bill Bob", 500, 24, "Engineer", "bbob@company.com"),
+            new Employee(UUID.randomUUID(), "Jill Nixon", 400, 48, "Engineer", "jnixon@company.com"));
+        Mockito.when(employeeHttpClient.streamAllEmployees(Mockito.any())).thenAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            employees.forEach(consumer);
+            return (long) employees.size();
+        });
+
+        assertEquals(List.of(employees.get(0), employees.get(2)), streamingService.getEmployeesByNameSearch("nixon"));
+        assertEquals(500, streamingService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Bill Bob (500)", "Jill Nixon (400)"), streamingService.getTopEarnerNames(2));
+        Mockito.verify(employeeHttpClient, Mockito.never()).getAllEmployees();
+    }
+
+    @Test
+    public void testGetTopTenHighestEarningEmployeeNames_TieAtTheCutoff() throws InternalServerErrorException {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            // The tenth and the three after it earn the same
+            int salary = i < 9 ? 1000 - i : 500;
+            employees.add(new Employee(UUID.randomUUID(), "Employee " + i, salary, 30, "Engineer", null));
+        }
+        Collections.reverse(employees);
+        Mockito.when(employeeHttpClient.getAllEmployees()).thenReturn(employees);
+        Mockito.when(employeeHttpClient.streamAllEmployees(Mockito.any())).thenAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            employees.forEach(consumer);
+            return (long) employees.size();
+        });
+        RosterCache uncachedRoster = new RosterCache(employeeHttpClient, false, Duration.ofSeconds(30),
+            Duration.ofMinutes(5), Runnable::run, List.of());
+        EmployeeService streamingService = new EmployeeService(employeeHttpClient, uncachedRoster,
+            new EmployeeNameIndex(), new SalaryStatistics(), 1000);
+
+        List<String> topTen = employeeService.getTopTenHighestEarningEmployeeNames();
+        // Employee 11 comes first in the roster
+        assertEquals("Employee 11 (500)", topTen.get(9));
+        assertEquals(streamingService.getTopTenHighestEarningEmployeeNames(), topTen);
+    }
+
     // More tests can be added here
-}
\ No newline at end of file
+}
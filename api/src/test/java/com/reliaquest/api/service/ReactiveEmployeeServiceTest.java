@@ -0,0 +1,122 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.ReactiveEmployeeHttpClient;
+import com.reliaquest.api.exception.InternalServerErrorException;
+import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveEmployeeServiceTest {
+
+    @Mock
+    private ReactiveEmployeeHttpClient employeeHttpClient;
+
+    private ReactiveEmployeeService employeeService;
+
+    private final List<Employee> employees = List.of(
+        new Employee(UUID.randomUUID(), "Tiger Nixon", 300, 61, "Engineer", "tnixon@company.com"),
+        new Employee(UUID.randomUUID(), "Bill Bob", 500, 24, "Engineer", "bbob@company.com"),
+        new Employee(UUID.randomUUID(), "Jill Nixon", 400, 48, "Engineer", "jnixon@company.com"));
+
+    @BeforeEach
+    public void setUp() {
+        employeeService = new ReactiveEmployeeService(employeeHttpClient, 1000);
+    }
+
+    @Test
+    public void testAggregates_ComputedOverStream() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.streamAllEmployees()).thenAnswer(invocation -> Flux.fromIterable(employees));
+
+        assertEquals(employees, employeeService.getAllEmployees());
+        assertEquals(List.of(employees.get(0), employees.get(2)), employeeService.getEmployeesByNameSearch("NIXON"));
+        assertEquals(500, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Bill Bob (500)", "Jill Nixon (400)", "Tiger Nixon (300)"),
+            employeeService.getTopTenHighestEarningEmployeeNames());
+        assertEquals(List.of("Bill Bob (500)"), employeeService.topEarnerNames(1).block());
+    }
+
+    @Test
+    public void testAggregates_EmptyRoster() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.streamAllEmployees()).thenAnswer(invocation -> Flux.empty());
+
+        assertEquals(List.of(), employeeService.getEmployeesByNameSearch("nixon"));
+        assertEquals(0, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of(), employeeService.getTopTenHighestEarningEmployeeNames());
+    }
+
+    @Test
+    public void testGetEmployeesByNameSearch_CancelsStreamAtLimit() throws InternalServerErrorException {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Mockito.when(employeeHttpClient.streamAllEmployees())
+            .thenReturn(Flux.fromIterable(employees).doOnCancel(() -> cancelled.set(true)));
+        ReactiveEmployeeService limitedService = new ReactiveEmployeeService(employeeHttpClient, 1);
+
+        assertEquals(List.of(employees.get(0)), limitedService.getEmployeesByNameSearch("nixon"));
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    public void testGetAllEmployees_InternalServerError() {
+        Mockito.when(employeeHttpClient.streamAllEmployees())
+            .thenReturn(Flux.error(new InternalServerErrorException("Internal Server Error")));
+        Assertions.assertThrows(InternalServerErrorException.class, () -> employeeService.getAllEmployees());
+    }
+
+    @Test
+    public void testGetEmployeeById_NotFound() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.getEmployeeById("1")).thenReturn(Mono.empty());
+        assertEquals(Optional.empty(), employeeService.getEmployeeById("1"));
+    }
+
+    @Test
+    public void testDeleteEmployeeById_DeletedById() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.deleteEmployeeById("1")).thenReturn(Mono.just(Optional.of(employees.get(0))));
+
+        assertEquals("Successfully deleted employee", employeeService.deleteEmployeeById("1"));
+        Mockito.verify(employeeHttpClient, Mockito.never()).getEmployeeById(Mockito.any());
+    }
+
+    @Test
+    public void testDeleteEmployeeById_Success() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.deleteEmployeeById("1")).thenReturn(Mono.empty());
+        Mockito.when(employeeHttpClient.getEmployeeById("1")).thenReturn(Mono.just(employees.get(0)));
+        Mockito.when(employeeHttpClient.deleteEmployee(Mockito.any())).thenReturn(Mono.just(true));
+
+        assertEquals("Successfully deleted employee", employeeService.deleteEmployeeById("1"));
+        Mockito.verify(employeeHttpClient).deleteEmployee(Mockito.argThat((DeleteEmployeeInput input) ->
+            "Tiger Nixon".equals(input.getName())));
+    }
+
+    @Test
+    public void testDeleteEmployeeById_NotFound() throws InternalServerErrorException {
+        Mockito.when(employeeHttpClient.deleteEmployeeById("1")).thenReturn(Mono.empty());
+        Mockito.when(employeeHttpClient.getEmployeeById("1")).thenReturn(Mono.empty());
+
+        assertEquals("Employee not found", employeeService.deleteEmployeeById("1"));
+        Mockito.verify(employeeHttpClient, Mockito.never()).deleteEmployee(Mockito.any());
+    }
+
+    @Test
+    public void testDeleteEmployeeById_NoResponse() {
+        Mockito.when(employeeHttpClient.deleteEmployeeById("1")).thenReturn(Mono.empty());
+        Mockito.when(employeeHttpClient.getEmployeeById("1")).thenReturn(Mono.just(employees.get(0)));
+        Mockito.when(employeeHttpClient.deleteEmployee(Mockito.any())).thenReturn(Mono.empty());
+        Assertions.assertThrows(InternalServerErrorException.class, () -> employeeService.deleteEmployeeById("1"));
+    }
+}
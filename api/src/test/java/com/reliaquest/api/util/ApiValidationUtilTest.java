@@ -4,6 +4,8 @@ import com.reliaquest.api.constants.ErrorMessages;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -104,4 +106,41 @@ class ApiValidationUtilTest {
             () -> ApiValidationUtil.validateSearchRequest(""));
         assertEquals(ErrorMessages.EMPLOYEE_NAME_NULL_OR_EMPTY, exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testValidateBatch_Empty() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> ApiValidationUtil.validateBatch(List.of()));
+        assertEquals(ErrorMessages.BATCH_NULL_OR_EMPTY, exception.getMessage());
+    }
+
+    @Test
+    public void testValidateBatch_TooLarge() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> ApiValidationUtil.validateBatch(Collections.nCopies(ApiValidationUtil.MAX_BATCH_SIZE + 1, "id")));
+        assertEquals(String.format(ErrorMessages.BATCH_TOO_LARGE, ApiValidationUtil.MAX_BATCH_SIZE),
+            exception.getMessage());
+    }
+
+    @Test
+    public void testValidateRange_OpenBounds() {
+        Assertions.assertThatNoException().isThrownBy(() -> ApiValidationUtil.validateRange("salary", null, 100));
+        Assertions.assertThatNoException().isThrownBy(() -> ApiValidationUtil.validateRange("salary", 100, 100));
+    }
+
+    @Test
+    public void testValidateRange_Inverted() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> ApiValidationUtil.validateRange("salary", 200, 100));
+        assertEquals(String.format(ErrorMessages.INVALID_QUERY_RANGE, "salary", 200, 100), exception.getMessage());
+    }
+
+    @Test
+    public void testValidatePercentile_OutOfRange() {
+        Assertions.assertThatNoException().isThrownBy(() -> ApiValidationUtil.validatePercentile(99.9));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> ApiValidationUtil.validatePercentile(101));
+        assertEquals(String.format(ErrorMessages.INVALID_PERCENTILE, 101.0), exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ApiValidationUtil.validatePercentile(Double.NaN));
+    }
+}
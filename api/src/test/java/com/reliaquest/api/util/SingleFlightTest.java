@@ -0,0 +1,75 @@
+package com.reliaquest.api.util;
+
+import com.reliaquest.api.exception.InternalServerErrorException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    public void testExecute_ConcurrentCallersShareOneExecution() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<Integer> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                executions.incrementAndGet();
+                leaderStarted.countDown();
+                releaseLeader.await();
+                return 42;
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("key", executions::incrementAndGet)));
+            }
+            while (singleFlight.getCoalescedCount() < 4) {
+                Thread.onSpinWait();
+            }
+            releaseLeader.countDown();
+
+            assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> follower : followers) {
+                assertEquals(42, follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(1, singleFlight.getExecutionCount());
+            assertEquals(4, singleFlight.getCoalescedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExecute_SequentialCallersExecuteAgain() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        singleFlight.execute("key", executions::incrementAndGet);
+        singleFlight.execute("key", executions::incrementAndGet);
+        assertEquals(2, executions.get());
+        assertEquals(0, singleFlight.getCoalescedCount());
+    }
+
+    @Test
+    public void testExecute_CheckedExceptionIsRethrown() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        InternalServerErrorException exception = assertThrows(InternalServerErrorException.class,
+            () -> singleFlight.execute("key", () -> {
+                throw new InternalServerErrorException("Failed to get employees.");
+            }));
+        assertEquals("Failed to get employees.", exception.getMessage());
+    }
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKSelectorTest {
+
+    @Test
+    public void testSelectTopK_MatchesStableSort() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int size = random.nextInt(200);
+            int[] values = random.ints(size, 0, 50).toArray();
+            int k = random.nextInt(20);
+
+            int[] expected = IntStream.range(0, size).boxed()
+                .sorted(Comparator.comparingInt((Integer i) -> values[i]).reversed())
+                .limit(k)
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+            assertArrayEquals(expected, TopKSelector.selectTopK(values, size, k), "values=" + Arrays.toString(values));
+        }
+    }
+
+    @Test
+    public void testSelectTopK_List() {
+        List<String> items = List.of("a", "dddd", "bb", "cccc", "eee");
+
+        assertArrayEquals(new int[] {1, 3, 4}, TopKSelector.selectTopK(items, String::length, 3));
+        assertArrayEquals(new int[] {1, 3, 4, 2, 0}, TopKSelector.selectTopK(items, String::length, 10));
+        assertArrayEquals(new int[0], TopKSelector.selectTopK(items, String::length, 0));
+    }
+
+    @Test
+    public void testAccumulator_MatchesSelectTopK() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int size = random.nextInt(200);
+            int[] values = random.ints(size, 0, 50).toArray();
+            int k = random.nextInt(20);
+            TopKSelector.Accumulator<Integer> accumulator = new TopKSelector.Accumulator<>(k);
+            for (int i = 0; i < size; i++) {
+                accumulator.offer(values[i], i);
+            }
+
+            List<Integer> expected = Arrays.stream(TopKSelector.selectTopK(values, size, k)).boxed().toList();
+
+            assertEquals(expected, accumulator.drainDescending(), "values=" + Arrays.toString(values));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.AllEmployeeHttpResponse;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Deserialization of the get all employees response body, as done by the RestTemplate message converter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AllEmployeeResponseDeserializationBenchmark {
+
+    @Param({"50", "1000", "10000", "100000"})
+    public int employeeCount;
+
+    private ObjectMapper objectMapper;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same defaults as the ObjectMapper Spring Boot gives the RestTemplate, unknown properties are ignored
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        body = objectMapper.writeValueAsBytes(responseBody(Rosters.employees(employeeCount, 42)));
+    }
+
+    @Benchmark
+    public AllEmployeeHttpResponse deserialize() throws IOException {
+        return objectMapper.readValue(body, AllEmployeeHttpResponse.class);
+    }
+
+    private static Map<String, Object> responseBody(List<Employee> employees) {
+        List<Map<String, Object>> data = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            Map<String, Object> mockEmployee = new LinkedHashMap<>();
+            mockEmployee.put("id", employee.getId());
+            mockEmployee.put("employee_name", employee.getName());
+            mockEmployee.put("employee_salary", employee.getSalary());
+            mockEmployee.put("employee_age", employee.getAge());
+            mockEmployee.put("employee_title", employee.getTitle());
+            mockEmployee.put("employee_email", employee.getEmail());
+            data.add(mockEmployee);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", data);
+        response.put("status", "Successfully processed request.");
+        return response;
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.util.ApiValidationUtil;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Employee id validation on the hot path of get and delete by id, for valid and rejected ids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApiValidationBenchmark {
+
+    private final String validId = UUID.randomUUID().toString();
+    private final String invalidId = "not-a-uuid";
+
+    @Benchmark
+    public String validateValidEmployeeId() {
+        ApiValidationUtil.validateEmployeeId(validId);
+        return validId;
+    }
+
+    @Benchmark
+    public Exception validateInvalidEmployeeId() {
+        try {
+            ApiValidationUtil.validateEmployeeId(invalidId);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
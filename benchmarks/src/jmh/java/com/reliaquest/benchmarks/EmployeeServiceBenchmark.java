@@ -0,0 +1,97 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.client.EmployeeHttpClient;
+import com.reliaquest.api.index.EmployeeNameIndex;
+import com.reliaquest.api.index.SalaryStatistics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Read paths of {@link EmployeeService} against an in-memory employee service, with the roster cache and its indexes
+ * enabled and with the scan fallbacks used when it is disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    public int employeeCount;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() throws Exception {
+        EmployeeHttpClient employeeHttpClient = new InMemoryEmployeeHttpClient(Rosters.employees(employeeCount, 42));
+        EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+        SalaryStatistics salaryStatistics = new SalaryStatistics();
+        RosterCache rosterCache = new RosterCache(employeeHttpClient, cacheEnabled, Duration.ofHours(1),
+                Duration.ofHours(1), Runnable::run, List.of(employeeNameIndex, salaryStatistics));
+        employeeService =
+                new EmployeeService(employeeHttpClient, rosterCache, employeeNameIndex, salaryStatistics, 1000);
+        // Load the roster and build the indexes outside the measurement
+        employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() throws Exception {
+        return employeeService.getEmployeesByNameSearch("tiger nixon");
+    }
+
+    @Benchmark
+    public List<Employee> searchByShortFragment() throws Exception {
+        // Too short for trigrams, so the index falls back to a scan
+        return employeeService.getEmployeesByNameSearch("ni");
+    }
+
+    @Benchmark
+    public Integer highestSalary() throws Exception {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> topTenHighestEarningEmployeeNames() throws Exception {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    /**
+     * Serves a fixed roster without going over HTTP or parsing JSON, see
+     * {@link AllEmployeeResponseDeserializationBenchmark} for the parsing cost.
+     */
+    static final class InMemoryEmployeeHttpClient extends EmployeeHttpClient {
+        private final List<Employee> employees;
+
+        InMemoryEmployeeHttpClient(List<Employee> employees) {
+            super(null, null, new ObjectMapper(), "http://localhost", "/api/v1/employee");
+            this.employees = List.copyOf(employees);
+        }
+
+        @Override
+        public List<Employee> getAllEmployees() {
+            return employees;
+        }
+
+        @Override
+        public long streamAllEmployees(Consumer<Employee> consumer) {
+            employees.forEach(consumer);
+            return employees.size();
+        }
+    }
+}
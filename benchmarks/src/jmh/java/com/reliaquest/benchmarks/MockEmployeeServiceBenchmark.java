@@ -0,0 +1,76 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookup and delete by name in the mock employee service. Every delete puts the employee back, so the roster size
+ * stays constant across invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"20", "10000", "100000"})
+    public int employeeCount;
+
+    private MockEmployeeStore mockEmployeeStore;
+    private MockEmployeeService mockEmployeeService;
+    private MockEmployee[] employees;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        employees = new MockEmployee[employeeCount];
+        for (int i = 0; i < employeeCount; i++) {
+            employees[i] = new MockEmployee(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    "Employee " + i,
+                    random.nextInt(30000, 500000),
+                    random.nextInt(16, 70),
+                    "Engineer",
+                    "employee" + i + "@company.com");
+        }
+        mockEmployeeStore = new MockEmployeeStore(List.of(employees));
+        mockEmployeeService = new MockEmployeeService(new Faker(Locale.getDefault()), mockEmployeeStore);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(employees[random.nextInt(employeeCount)].getId());
+    }
+
+    @Benchmark
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeService.getMockEmployees();
+    }
+
+    @Benchmark
+    public boolean deleteByName() {
+        final var employee = employees[random.nextInt(employeeCount)];
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(employee.getName());
+        final var deleted = mockEmployeeService.delete(input);
+        mockEmployeeStore.add(employee);
+        return deleted;
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.index.EmployeeNameIndex;
+import com.reliaquest.api.index.NameTrie;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A keystroke of name type-ahead: completing a prefix with the name trie against searching the name index, which is
+ * what the type-ahead calls today without its upstream fetch. The gc profiler reports the allocation per keystroke.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NameAutocompleteBenchmark {
+
+    private static final int SUGGESTIONS = 10;
+
+    @Param({"1000", "100000"})
+    public int employeeCount;
+
+    @Param({"t", "tig", "tiger n"})
+    public String prefix;
+
+    private NameTrie nameTrie;
+    private EmployeeNameIndex employeeNameIndex;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<Employee> employees = Rosters.employees(employeeCount, 42);
+        nameTrie = NameTrie.of(employees, SUGGESTIONS);
+        employeeNameIndex = new EmployeeNameIndex();
+        RosterCache rosterCache = new RosterCache(
+                new EmployeeServiceBenchmark.InMemoryEmployeeHttpClient(employees),
+                true,
+                Duration.ofHours(1),
+                Duration.ofHours(1),
+                Runnable::run,
+                List.of(employeeNameIndex));
+        // Loading the roster builds the name index
+        rosterCache.getSnapshot();
+    }
+
+    @Benchmark
+    public List<String> completeTrie() {
+        return nameTrie.complete(NameTrie.normalize(prefix), SUGGESTIONS);
+    }
+
+    @Benchmark
+    public List<Employee> searchNameIndex() {
+        return employeeNameIndex.search(prefix, SUGGESTIONS);
+    }
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.index.RosterColumns;
+import com.reliaquest.api.query.RosterQueryExecutor;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Queries over the columnar roster scanned on the calling thread against the same queries split into chunks on a
+ * fork-join pool, across roster sizes. The size where the parallel score overtakes the sequential one is the crossover
+ * that {@code employee.query.parallel-threshold} should be set to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelQueryBenchmark {
+
+    private static final int K = 10;
+    private static final int CHUNK_SIZE = 16_384;
+
+    @Param({"10000", "50000", "100000", "250000", "1000000"})
+    public int employeeCount;
+
+    private ForkJoinPool pool;
+    private RosterColumns columns;
+    private RosterColumns.Filter filter;
+    private RosterQueryExecutor sequential;
+    private RosterQueryExecutor parallel;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        columns = RosterColumns.of(Rosters.employees(employeeCount, 42));
+        filter = RosterColumns.Filter.ALL
+                .withSalary(100_000, 200_000)
+                .withAge(30, 40)
+                .withNameContaining("nixon");
+        sequential = new RosterQueryExecutor(pool, Integer.MAX_VALUE, CHUNK_SIZE);
+        // Chunks small enough that even the smallest roster is split
+        parallel = new RosterQueryExecutor(pool, 0, Math.min(CHUNK_SIZE, employeeCount / 8));
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public int[] filterSequential() {
+        return sequential.select(columns, filter);
+    }
+
+    @Benchmark
+    public int[] filterParallel() {
+        return parallel.select(columns, filter);
+    }
+
+    @Benchmark
+    public OptionalInt highestSalarySequential() {
+        return sequential.highestSalary(columns);
+    }
+
+    @Benchmark
+    public OptionalInt highestSalaryParallel() {
+        return parallel.highestSalary(columns);
+    }
+
+    @Benchmark
+    public int[] topTenSequential() {
+        return sequential.topEarners(columns, K);
+    }
+
+    @Benchmark
+    public int[] topTenParallel() {
+        return parallel.topEarners(columns, K);
+    }
+
+    @Benchmark
+    public Map<String, Integer> countByTitleSequential() {
+        return sequential.countByTitle(columns);
+    }
+
+    @Benchmark
+    public Map<String, Integer> countByTitleParallel() {
+        return parallel.countByTitle(columns);
+    }
+}
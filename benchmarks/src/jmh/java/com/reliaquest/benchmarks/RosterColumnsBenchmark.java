@@ -0,0 +1,146 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.index.RosterColumns;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Analytics queries over the employee objects against the same queries over the columnar roster: highest salary, top
+ * ten, a salary histogram and a salary, age and title filter. Salary range counts and percentiles are also run against
+ * the salary order of the columns. The heap per employee of both forms is reported as secondary results of the highest
+ * salary benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RosterColumnsBenchmark {
+
+    private static final int K = 10;
+    private static final int BUCKETS = 20;
+    private static final RosterColumns.Filter SALARY_RANGE = RosterColumns.Filter.ALL.withSalary(100_000, 200_000);
+
+    @Param({"1000", "100000", "1000000"})
+    public int employeeCount;
+
+    private List<Employee> employees;
+    private RosterColumns columns;
+    private RosterColumns.Filter filter;
+
+    @Setup
+    public void setUp() {
+        employees = Rosters.employees(employeeCount, 42);
+        columns = RosterColumns.of(employees);
+        filter = RosterColumns.Filter.ALL
+                .withSalary(100_000, 200_000)
+                .withAge(30, 40)
+                .withTitle("Engineer");
+        // Sorted once per snapshot, outside of the measured queries
+        columns.salaryIndex();
+    }
+
+    /**
+     * Heap per employee of the employee objects and of the columns, reported next to the score of the benchmarks that
+     * take it.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long columnarBytesPerEmployee;
+        public long pojoBytesPerEmployee;
+
+        @Setup(Level.Iteration)
+        public void setUp(RosterColumnsBenchmark benchmark) {
+            columnarBytesPerEmployee = benchmark.columns.getMemoryFootprintBytes() / benchmark.employeeCount;
+            pojoBytesPerEmployee = benchmark.columns.getPojoFootprintBytes() / benchmark.employeeCount;
+        }
+    }
+
+    @Benchmark
+    public OptionalInt highestSalaryPojo(Footprint footprint) {
+        return employees.stream().mapToInt(Employee::getSalary).max();
+    }
+
+    @Benchmark
+    public OptionalInt highestSalaryColumns(Footprint footprint) {
+        return columns.highestSalary();
+    }
+
+    @Benchmark
+    public List<Employee> topTenPojo() {
+        return employees.stream()
+                .sorted((e1, e2) -> e2.getSalary().compareTo(e1.getSalary()))
+                .limit(K)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> topTenColumns() {
+        return columns.employees(columns.topEarners(K));
+    }
+
+    @Benchmark
+    public int[] histogramPojo() {
+        int lowest = employees.stream().mapToInt(Employee::getSalary).min().orElse(0);
+        int highest = employees.stream().mapToInt(Employee::getSalary).max().orElse(0);
+        int bucketWidth = Math.max(1, (highest - lowest + BUCKETS) / BUCKETS);
+        int[] counts = new int[(highest - lowest) / bucketWidth + 1];
+        for (Employee employee : employees) {
+            counts[(employee.getSalary() - lowest) / bucketWidth]++;
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public RosterColumns.Histogram histogramColumns() {
+        return columns.salaryHistogram(BUCKETS);
+    }
+
+    @Benchmark
+    public List<Employee> filterPojo() {
+        return employees.stream()
+                .filter(e -> e.getSalary() >= 100_000 && e.getSalary() <= 200_000)
+                .filter(e -> e.getAge() >= 30 && e.getAge() <= 40)
+                .filter(e -> "Engineer".equals(e.getTitle()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> filterColumns() {
+        return columns.employees(columns.select(filter));
+    }
+
+    @Benchmark
+    public int salaryRangeCountColumns() {
+        return columns.select(SALARY_RANGE).length;
+    }
+
+    @Benchmark
+    public int salaryRangeCountIndex() {
+        return columns.salaryIndex().count(100_000, 200_000);
+    }
+
+    @Benchmark
+    public int percentilePojo() {
+        int[] salaries = employees.stream().mapToInt(Employee::getSalary).sorted().toArray();
+        return salaries[(int) Math.ceil(0.9 * salaries.length) - 1];
+    }
+
+    @Benchmark
+    public OptionalInt percentileIndex() {
+        return columns.salaryIndex().percentile(90);
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic rosters shared by the benchmarks.
+ */
+final class Rosters {
+
+    private static final String[] FIRST_NAMES = {"Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod",
+        "Rhona", "Colleen", "Sonya", "Jena", "Quinn", "Charde", "Haley", "Tatyana", "Michael"};
+    private static final String[] LAST_NAMES = {"Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler",
+        "Davidson", "Hurst", "Frost", "Gaines", "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva"};
+    private static final String[] TITLES = {"Engineer", "Accountant", "Designer", "Director", "Analyst", "Manager"};
+
+    private Rosters() {
+    }
+
+    static List<Employee> employees(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(new Employee(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    name,
+                    random.nextInt(30000, 500000),
+                    random.nextInt(16, 70),
+                    TITLES[random.nextInt(TITLES.length)],
+                    "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+}
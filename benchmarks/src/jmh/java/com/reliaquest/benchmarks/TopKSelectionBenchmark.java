@@ -0,0 +1,58 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.TopKSelector;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Top ten highest earners: the original {@code sorted().limit(10)} pipeline against the bounded-heap selector that
+ * only formats the winners. Run with the gc profiler (the default for this module) to compare allocations per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TopKSelectionBenchmark {
+
+    private static final int K = 10;
+
+    @Param({"1000", "100000", "1000000"})
+    public int employeeCount;
+
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        employees = Rosters.employees(employeeCount, 42);
+    }
+
+    @Benchmark
+    public List<String> sortedLimit() {
+        return employees.stream()
+                .sorted((e1, e2) -> e2.getSalary().compareTo(e1.getSalary()))
+                .limit(K)
+                .map(e -> e.getName() + " (" + e.getSalary() + ")")
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> boundedHeap() {
+        int[] winners = TopKSelector.selectTopK(employees, Employee::getSalary, K);
+        List<String> names = new ArrayList<>(winners.length);
+        for (int winner : winners) {
+            Employee employee = employees.get(winner);
+            names.add(employee.getName() + " (" + employee.getSalary() + ")");
+        }
+        return names;
+    }
+}
@@ -0,0 +1,161 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.ApiApplication;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * End to end load test of the api module on platform and on virtual threads. Each operation sends a burst of
+ * concurrent get employee by id requests, with distinct ids so none are coalesced, to an api instance whose employee
+ * service is a stand-in answering every request after a fixed delay. The time per burst shows how many requests
+ * wait for a thread instead of waiting on the upstream.
+ * <p>
+ * The api runs in the benchmark JVM with its connection pool and Tomcat connection limit raised above the burst size,
+ * so the thread model is the only limit. Needs a file descriptor limit well above twice the burst size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class VirtualThreadLoadBenchmark {
+
+    private static final String EMPLOYEE_PATH = "/api/v1/employee";
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"1000", "10000"})
+    public int concurrentConnections;
+
+    @Param({"100"})
+    public int upstreamLatencyMillis;
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+    private ConfigurableApplicationContext api;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private URI apiUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        upstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), concurrentConnections);
+        upstream.setExecutor(upstreamExecutor);
+        upstream.createContext(EMPLOYEE_PATH, this::answerSlowly);
+        upstream.start();
+
+        String connectionLimit = String.valueOf(2 * concurrentConnections);
+        api = new SpringApplicationBuilder(ApiApplication.class)
+                .run(
+                        // The application.yml of both modules is on the benchmark classpath, neither is loaded
+                        "--spring.config.name=load-benchmark",
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                        "--server.tomcat.max-connections=" + connectionLimit,
+                        "--server.tomcat.accept-count=" + connectionLimit,
+                        "--employee.v1.server.host=http://localhost:" + upstream.getAddress().getPort(),
+                        "--employee.v1.server.path=" + EMPLOYEE_PATH,
+                        "--employee.v1.client.http.max-connections=" + connectionLimit,
+                        "--employee.v1.client.http.max-connections-per-route=" + connectionLimit,
+                        "--employee.v1.client.http.connection-request-timeout=5m",
+                        "--employee.v1.client.http.read-timeout=5m",
+                        // The stand-in never throttles, pacing would only hide the thread model
+                        "--employee.v1.client.rate-limit.initial-rate=1000000000",
+                        "--employee.v1.client.rate-limit.max-rate=1000000000",
+                        "--employee.v1.client.rate-limit.burst=1000000000");
+        int apiPort = ((WebServerApplicationContext) api).getWebServer().getPort();
+        apiUri = URI.create("http://localhost:" + apiPort + EMPLOYEE_PATH + "/");
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofMinutes(1))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        clientExecutor.shutdownNow();
+        api.close();
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int burst() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrentConnections);
+        for (int i = 0; i < concurrentConnections; i++) {
+            HttpRequest request = HttpRequest.newBuilder(apiUri.resolve(UUID.randomUUID().toString()))
+                    .timeout(Duration.ofMinutes(5))
+                    .GET()
+                    .build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+
+        int succeeded = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                succeeded++;
+            }
+        }
+        if (succeeded != concurrentConnections) {
+            throw new IllegalStateException(
+                    "Only " + succeeded + " of " + concurrentConnections + " requests succeeded");
+        }
+        return succeeded;
+    }
+
+    private void answerSlowly(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Thread.sleep(upstreamLatencyMillis);
+            String path = exchange.getRequestURI().getPath();
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            byte[] body = ("{\"data\":{\"id\":\"" + id + "\",\"employee_name\":\"Tiger Nixon\","
+                            + "\"employee_salary\":320800,\"employee_age\":61,\"employee_title\":\"Engineer\","
+                            + "\"employee_email\":\"tnixon@company.com\"},\"status\":\"Successfully processed request.\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Generates large rosters for load testing.
+ * <p>
+ * Datafaker is only used up front, to fill small pools of names and titles. Employees are then assembled from the
+ * pools in parallel, each from a random generator derived from the seed and its position, so a given seed and size
+ * always produce the same roster regardless of how the work is split across threads.
+ */
+class BulkMockEmployeeGenerator {
+
+    private static final int NAME_POOL_SIZE = 1024;
+    private static final int TITLE_POOL_SIZE = 256;
+
+    private final long seed;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] titles;
+
+    BulkMockEmployeeGenerator(long seed) {
+        this.seed = seed;
+        final var faker = new Faker(Locale.ENGLISH, new Random(seed));
+        firstNames = pool(NAME_POOL_SIZE, () -> faker.name().firstName());
+        lastNames = pool(NAME_POOL_SIZE, () -> faker.name().lastName());
+        titles = pool(TITLE_POOL_SIZE, () -> faker.job().title());
+    }
+
+    List<MockEmployee> generate(int count) {
+        return Arrays.asList(IntStream.range(0, count)
+                .parallel()
+                .mapToObj(this::employee)
+                .toArray(MockEmployee[]::new));
+    }
+
+    private MockEmployee employee(int index) {
+        final var random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+        final var firstName = firstNames[random.nextInt(firstNames.length)];
+        final var lastName = lastNames[random.nextInt(lastNames.length)];
+        return new MockEmployee(
+                uuid(random),
+                firstName + " " + lastName,
+                random.nextInt(30000, 500000),
+                random.nextInt(16, 70),
+                titles[random.nextInt(titles.length)],
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        (firstName.charAt(0) + lastName + index).toLowerCase(Locale.ROOT)));
+    }
+
+    // Random (version 4) UUID, drawn from the seeded generator instead of SecureRandom
+    private static UUID uuid(SplittableRandom random) {
+        final var mostSignificantBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final var leastSignificantBits = (random.nextLong() & ~(0xC000000000000000L)) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static String[] pool(int size, Supplier<String> supplier) {
+        return IntStream.range(0, size).mapToObj(ignored -> supplier.get()).toArray(String[]::new);
+    }
+}
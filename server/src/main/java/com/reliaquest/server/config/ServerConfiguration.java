@@ -1,11 +1,16 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.persistence.MockEmployeeJournal;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
@@ -31,10 +36,23 @@ public class ServerConfiguration implements WebMvcConfigurer {
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Initial roster, CRUD operations go through MockEmployeeStore. A roster recovered by persistence is used as is.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    public List<MockEmployee> mockEmployees(
+            Faker faker,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.bulk.enabled:false}") boolean bulkEnabled,
+            @Value("${mock.employees.bulk.seed:#{null}}") Long seed,
+            Optional<MockEmployeeJournal> journal) {
+        final var recovered = journal.flatMap(MockEmployeeJournal::recovered);
+        if (recovered.isPresent()) {
+            return recovered.get().employees();
+        }
+        if (bulkEnabled) {
+            return bulkMockEmployees(maxEmployees, seed != null ? seed : RandomGenerator.getDefault().nextLong());
+        }
+
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
                 Field.field("id", UUID::randomUUID),
@@ -52,6 +70,23 @@ public class ServerConfiguration implements WebMvcConfigurer {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    private static List<MockEmployee> bulkMockEmployees(int maxEmployees, long seed) {
+        final var memory = ManagementFactory.getMemoryMXBean();
+        final var heapUsedBefore = memory.getHeapMemoryUsage().getUsed();
+        final var startNanos = System.nanoTime();
+        final var mockEmployees = new BulkMockEmployeeGenerator(seed).generate(maxEmployees);
+        final var timeTaken = Duration.ofNanos(System.nanoTime() - startNanos);
+        final var heapUsed = memory.getHeapMemoryUsage().getUsed();
+        log.info(
+                "Generated employees. size={} seed={} timeTaken={}ms heapUsed={}MB heapGrowth={}MB",
+                mockEmployees.size(),
+                seed,
+                timeTaken.toMillis(),
+                heapUsed >> 20,
+                (heapUsed - heapUsedBefore) >> 20);
+        return mockEmployees;
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(new RandomRequestLimitInterceptor());
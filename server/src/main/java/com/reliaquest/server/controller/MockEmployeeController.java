@@ -1,15 +1,27 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeBatchResult;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,18 +29,76 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    /*
+     * The ETag changes with every write and with every run of the server. Spring answers a matching If-None-Match with
+     * 304 Not Modified before the body is serialized.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees() {
+        final var roster = mockEmployeeService.getRoster();
+        return ResponseEntity.ok()
+                .eTag(roster.eTag())
+                .body(Response.handledWith(roster.employees()));
+    }
+
+    @GetMapping("/page")
+    public Response<MockEmployeePage> getEmployeePage(
+            @RequestParam(name = "size", defaultValue = "100") int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        return Response.handledWith(mockEmployeeService.getPage(cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE))));
+    }
+
+    /*
+     * 410 Gone tells the client that the changes since its version are no longer available and it has to fetch the
+     * full roster again.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<MockEmployeeChanges>> getEmployeeChanges(
+            @RequestParam(name = "since", required = false) Long since) {
+        return mockEmployeeService
+                .getChanges(since)
+                .map(changes -> ResponseEntity.ok(Response.handledWith(changes)))
+                .orElseGet(() ->
+                        ResponseEntity.status(HttpStatus.GONE).body(Response.error("Version is not available")));
+    }
+
+    /*
+     * One employee per line, written as the response is sent so neither the envelope nor the serialized roster is held
+     * in memory. Without a content length the response goes out with chunked transfer encoding.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        final var mockEmployees = mockEmployeeService.getMockEmployees();
+        final var writer = objectMapper.writerFor(MockEmployee.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        final StreamingResponseBody body = outputStream -> {
+            try (final var generator = writer.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                for (final var mockEmployee : mockEmployees) {
+                    writer.writeValue(generator, mockEmployee);
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
@@ -48,4 +118,79 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
+    /*
+     * Items are validated one by one, invalid items fail on their own and the valid ones are created in a single
+     * write. Results are in request order.
+     */
+    @PostMapping("/batch")
+    public Response<List<MockEmployeeBatchResult>> createEmployees(@RequestBody List<CreateMockEmployeeInput> inputs) {
+        checkBatchSize(inputs);
+        final var results = new MockEmployeeBatchResult[inputs.size()];
+        final var valid = new ArrayList<CreateMockEmployeeInput>(inputs.size());
+        final var positions = new ArrayList<Integer>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            final var input = inputs.get(i);
+            if (input == null) {
+                results[i] = MockEmployeeBatchResult.error("Employee input is required");
+                continue;
+            }
+            final var violations = validator.validate(input);
+            if (violations.isEmpty()) {
+                valid.add(input);
+                positions.add(i);
+            } else {
+                results[i] = MockEmployeeBatchResult.error(describe(violations));
+            }
+        }
+        final var created = mockEmployeeService.createAll(valid);
+        for (int i = 0; i < created.size(); i++) {
+            results[positions.get(i)] = MockEmployeeBatchResult.of(created.get(i));
+        }
+        return Response.handledWith(Arrays.asList(results));
+    }
+
+    @DeleteMapping("/batch")
+    public Response<List<MockEmployeeBatchResult>> deleteEmployees(@RequestBody List<UUID> ids) {
+        checkBatchSize(ids);
+        final var results = new MockEmployeeBatchResult[ids.size()];
+        final var present = new ArrayList<UUID>(ids.size());
+        final var positions = new ArrayList<Integer>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = MockEmployeeBatchResult.error("Employee id is required");
+            } else {
+                present.add(ids.get(i));
+                positions.add(i);
+            }
+        }
+        final var deleted = mockEmployeeService.deleteAllById(present);
+        for (int i = 0; i < deleted.size(); i++) {
+            results[positions.get(i)] = deleted.get(i)
+                    .map(MockEmployeeBatchResult::of)
+                    .orElseGet(() -> MockEmployeeBatchResult.error("Employee not found"));
+        }
+        return Response.handledWith(Arrays.asList(results));
+    }
+
+    private static void checkBatchSize(List<?> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must not have more than " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
 }
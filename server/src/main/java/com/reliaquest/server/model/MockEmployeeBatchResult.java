@@ -0,0 +1,20 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request, at the position of the item in the request.
+ * @param data created or deleted employee, absent if the item failed
+ * @param error reason the item failed, absent if it succeeded
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeBatchResult(MockEmployee data, String error) {
+
+    public static MockEmployeeBatchResult of(MockEmployee data) {
+        return new MockEmployeeBatchResult(data, null);
+    }
+
+    public static MockEmployeeBatchResult error(String error) {
+        return new MockEmployeeBatchResult(null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.server.model;
+
+/**
+ * Entry of the roster change log.
+ * @param version roster version the change produced
+ * @param type kind of change
+ * @param employee employee as created, or as it was when deleted
+ */
+public record MockEmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
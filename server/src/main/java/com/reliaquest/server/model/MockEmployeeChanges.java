@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * @param version current roster version, to be passed as {@code since} on the next request
+ * @param changes changes after the requested version, oldest first
+ */
+public record MockEmployeeChanges(long version, List<MockEmployeeChange> changes) {}
@@ -0,0 +1,11 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * @param employees employees of this page, in id order
+ * @param nextCursor opaque cursor of the next page, absent on the last page
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeePage(List<MockEmployee> employees, String nextCursor) {}
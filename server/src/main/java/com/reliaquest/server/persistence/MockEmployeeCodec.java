@@ -0,0 +1,104 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of employees and changes, shared by snapshots and the write-ahead log. Each employee starts
+ * with a bit set of its non-null fields, followed by those fields: the id as two longs, numbers as ints and strings as
+ * length prefixed UTF-8.
+ */
+final class MockEmployeeCodec {
+
+    private static final int ID = 1;
+    private static final int NAME = 1 << 1;
+    private static final int SALARY = 1 << 2;
+    private static final int AGE = 1 << 3;
+    private static final int TITLE = 1 << 4;
+    private static final int EMAIL = 1 << 5;
+
+    // Bounds allocations when reading a corrupt file, before its checksum is verified
+    private static final int MAX_STRING_LENGTH = 16 << 20;
+
+    private static final MockEmployeeChange.Type[] TYPES = MockEmployeeChange.Type.values();
+
+    private MockEmployeeCodec() {}
+
+    static void writeChange(DataOutput output, MockEmployeeChange change) throws IOException {
+        output.writeLong(change.version());
+        output.writeByte(change.type().ordinal());
+        writeEmployee(output, change.employee());
+    }
+
+    static MockEmployeeChange readChange(DataInput input) throws IOException {
+        final var version = input.readLong();
+        final var type = input.readUnsignedByte();
+        if (type >= TYPES.length) {
+            throw new IOException("Unknown change type: " + type);
+        }
+        return new MockEmployeeChange(version, TYPES[type], readEmployee(input));
+    }
+
+    static void writeEmployee(DataOutput output, MockEmployee mockEmployee) throws IOException {
+        output.writeByte(presence(mockEmployee));
+        if (mockEmployee.getId() != null) {
+            output.writeLong(mockEmployee.getId().getMostSignificantBits());
+            output.writeLong(mockEmployee.getId().getLeastSignificantBits());
+        }
+        writeString(output, mockEmployee.getName());
+        writeInteger(output, mockEmployee.getSalary());
+        writeInteger(output, mockEmployee.getAge());
+        writeString(output, mockEmployee.getTitle());
+        writeString(output, mockEmployee.getEmail());
+    }
+
+    static MockEmployee readEmployee(DataInput input) throws IOException {
+        final var presence = input.readUnsignedByte();
+        return new MockEmployee(
+                (presence & ID) != 0 ? new UUID(input.readLong(), input.readLong()) : null,
+                (presence & NAME) != 0 ? readString(input) : null,
+                (presence & SALARY) != 0 ? input.readInt() : null,
+                (presence & AGE) != 0 ? input.readInt() : null,
+                (presence & TITLE) != 0 ? readString(input) : null,
+                (presence & EMAIL) != 0 ? readString(input) : null);
+    }
+
+    private static int presence(MockEmployee mockEmployee) {
+        return (mockEmployee.getId() != null ? ID : 0)
+                | (mockEmployee.getName() != null ? NAME : 0)
+                | (mockEmployee.getSalary() != null ? SALARY : 0)
+                | (mockEmployee.getAge() != null ? AGE : 0)
+                | (mockEmployee.getTitle() != null ? TITLE : 0)
+                | (mockEmployee.getEmail() != null ? EMAIL : 0);
+    }
+
+    private static void writeInteger(DataOutput output, Integer value) throws IOException {
+        if (value != null) {
+            output.writeInt(value);
+        }
+    }
+
+    // DataOutput.writeUTF is limited to 64KB, names and titles are not
+    private static void writeString(DataOutput output, String value) throws IOException {
+        if (value != null) {
+            final var bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        final var length = input.readInt();
+        if (length < 0 || length > MAX_STRING_LENGTH) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        final var bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
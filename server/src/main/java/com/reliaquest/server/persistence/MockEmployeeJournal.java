@@ -0,0 +1,29 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.Optional;
+
+/**
+ * Durable record of the writes to the {@link MockEmployeeStore}, from which the roster is recovered on startup.
+ */
+public interface MockEmployeeJournal {
+
+    /**
+     * @return roster recovered on startup, empty if none was persisted
+     */
+    Optional<MockEmployeeStore.Roster> recovered();
+
+    /**
+     * Records a change. Called under the write lock of the store, so changes arrive in version order, before the change
+     * is visible to readers of the store.
+     */
+    void append(MockEmployeeChange change);
+
+    /**
+     * Blocks until the change with the given version, and every change before it, is durable. Called after the write
+     * lock of the store is released, so concurrent writes share the wait. The store publishes the changes once it
+     * returns, and takes no more writes if it throws.
+     */
+    void awaitDurable(long version);
+}
@@ -0,0 +1,212 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the roster across restarts, enabled with {@code mock.employees.persistence.enabled}.
+ * <p>
+ * Every write to the store is appended to a {@link MockEmployeeWriteAheadLog} and acknowledged once it is synced.
+ * Periodically, and on shutdown, the roster is written to a {@link MockEmployeeSnapshotFile} and the log segments it
+ * covers are deleted. On startup the roster is recovered from the last snapshot and the changes logged after it,
+ * instead of being generated.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mock.employees.persistence.enabled", havingValue = "true")
+public class MockEmployeePersistence implements MockEmployeeJournal {
+
+    private final Path directory;
+    private final Duration snapshotInterval;
+    private final ObjectProvider<MockEmployeeStore> mockEmployeeStoreProvider;
+    private final MockEmployeeSnapshotFile snapshotFile;
+    private final MockEmployeeWriteAheadLog writeAheadLog;
+    private final ScheduledExecutorService snapshotScheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("mock-employee-snapshot-"));
+
+    // Null if nothing was persisted
+    private final MockEmployeeStore.Roster recovered;
+    private final boolean replayed;
+
+    // Set once the application is ready, only used by the snapshot thread and on shutdown
+    private MockEmployeeStore mockEmployeeStore;
+    private long snapshotVersion;
+    private MockEmployeeWriteAheadLog.Stats reportedStats;
+
+    public MockEmployeePersistence(
+            ObjectProvider<MockEmployeeStore> mockEmployeeStoreProvider,
+            @Value("${mock.employees.persistence.directory:mock-employees}") Path directory,
+            @Value("${mock.employees.persistence.snapshot-interval:5m}") Duration snapshotInterval) {
+        this.mockEmployeeStoreProvider = mockEmployeeStoreProvider;
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotFile = new MockEmployeeSnapshotFile(directory);
+        try {
+            Files.createDirectories(directory);
+            final var startNanos = System.nanoTime();
+            final var snapshot = snapshotFile.read();
+            if (snapshot.isEmpty()) {
+                // Without a snapshot, logged changes refer to a generated roster that was never persisted
+                recovered = null;
+                replayed = false;
+            } else {
+                final var changes = MockEmployeeWriteAheadLog.read(directory, snapshot.get().version());
+                recovered = replay(snapshot.get(), changes);
+                replayed = !changes.isEmpty();
+                snapshotVersion = snapshot.get().version();
+                log.info(
+                        "Recovered employees. size={} version={} snapshotSize={} replayedChanges={} timeTaken={}ms",
+                        recovered.employees().size(),
+                        recovered.version(),
+                        snapshot.get().employees().size(),
+                        changes.size(),
+                        Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+            }
+            // Opened once the roster is recovered, so a failed recovery starts neither a segment nor the writer thread
+            this.writeAheadLog = new MockEmployeeWriteAheadLog(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover employees from " + directory.toAbsolutePath(), e);
+        }
+        reportedStats = writeAheadLog.stats();
+    }
+
+    @Override
+    public Optional<MockEmployeeStore.Roster> recovered() {
+        return Optional.ofNullable(recovered);
+    }
+
+    @Override
+    public void append(MockEmployeeChange change) {
+        writeAheadLog.append(change);
+    }
+
+    @Override
+    public void awaitDurable(long version) {
+        writeAheadLog.awaitDurable(version);
+    }
+
+    /*
+     * A generated roster, or one with changes replayed on top of its snapshot, is snapshotted right away.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void scheduleSnapshots() {
+        mockEmployeeStore = mockEmployeeStoreProvider.getObject();
+        snapshotScheduler.scheduleWithFixedDelay(
+                this::snapshotSafely,
+                recovered == null || replayed ? 0 : snapshotInterval.toMillis(),
+                snapshotInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void close() throws IOException, InterruptedException {
+        snapshotScheduler.shutdownNow();
+        snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+        if (mockEmployeeStore != null) {
+            snapshotSafely();
+        }
+        writeAheadLog.close();
+    }
+
+    private void snapshotSafely() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to snapshot employees. directory={}", directory.toAbsolutePath(), e);
+        }
+    }
+
+    /*
+     * The log is rotated before the roster is read, and the roster is read at least at the last version before the
+     * rotation, so the segments before the new one only hold changes the snapshot includes.
+     */
+    private void snapshot() throws IOException {
+        if (mockEmployeeStore.version() == snapshotVersion) {
+            return;
+        }
+        final var rotation = writeAheadLog.rotate();
+        final var roster = mockEmployeeStore.roster(rotation.version());
+        final var startNanos = System.nanoTime();
+        final var bytes = snapshotFile.write(roster);
+        writeAheadLog.deleteSegmentsBefore(rotation.segment());
+        snapshotVersion = roster.version();
+        log.info(
+                "Snapshotted employees. size={} version={} bytes={} timeTaken={}ms",
+                roster.employees().size(),
+                roster.version(),
+                bytes,
+                Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        reportThroughput();
+    }
+
+    private void reportThroughput() {
+        final var stats = writeAheadLog.stats();
+        final var interval = stats.since(reportedStats);
+        reportedStats = stats;
+        final var seconds = Math.max(interval.atNanos(), 1) / 1e9;
+        log.info(
+                "Write-ahead log throughput. changes={} bytes={} fsyncs={} changesPerSecond={} bytesPerSecond={}"
+                        + " changesPerFsync={} averageFsync={}us",
+                interval.changes(),
+                interval.bytes(),
+                interval.syncs(),
+                Math.round(interval.changes() / seconds),
+                Math.round(interval.bytes() / seconds),
+                interval.syncs() == 0 ? 0 : interval.changes() / interval.syncs(),
+                interval.syncs() == 0 ? 0 : interval.syncNanos() / interval.syncs() / 1000);
+    }
+
+    /*
+     * Changes must follow the snapshot without a gap, a missing change means the log does not cover the snapshot.
+     */
+    static MockEmployeeStore.Roster replay(MockEmployeeStore.Roster snapshot, List<MockEmployeeChange> changes)
+            throws IOException {
+        final var employees = new LinkedHashMap<UUID, MockEmployee>(snapshot.employees().size() * 4 / 3 + 1);
+        snapshot.employees().forEach(mockEmployee -> employees.put(key(mockEmployee), mockEmployee));
+        var version = snapshot.version();
+        for (final var change : changes) {
+            if (change.version() != version + 1) {
+                throw new IOException("Write-ahead log does not follow on from the snapshot. expectedVersion="
+                        + (version + 1) + " version=" + change.version());
+            }
+            switch (change.type()) {
+                case CREATED -> employees.put(key(change.employee()), change.employee());
+                case DELETED -> {
+                    if (change.employee().getId() != null) {
+                        employees.remove(change.employee().getId());
+                    }
+                }
+            }
+            version = change.version();
+        }
+        return new MockEmployeeStore.Roster(version, List.copyOf(employees.values()));
+    }
+
+    // Same keys as the store, employees without id cannot be deleted by a logged change
+    private static UUID key(MockEmployee mockEmployee) {
+        return Objects.requireNonNullElseGet(mockEmployee.getId(), UUID::randomUUID);
+    }
+}
@@ -0,0 +1,113 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of the roster: a header with the roster version and size, the employees in insertion order and a
+ * CRC32C of everything before it. Snapshots are written to a temporary file that is synced and then moved over the
+ * previous one, so a crash while writing leaves the previous snapshot in place.
+ */
+final class MockEmployeeSnapshotFile {
+
+    private static final int MAGIC = 0x4D455350; // MESP
+    private static final int FORMAT = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final Path temporaryPath;
+
+    MockEmployeeSnapshotFile(Path directory) {
+        this.path = directory.resolve("roster.snapshot");
+        this.temporaryPath = directory.resolve("roster.snapshot.tmp");
+    }
+
+    /**
+     * @return size of the written snapshot in bytes
+     */
+    long write(MockEmployeeStore.Roster roster) throws IOException {
+        // The streams on top of the channel are flushed, not closed, so the channel can be synced before it is closed
+        try (final var channel = FileChannel.open(
+                temporaryPath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final var checksum = new CRC32C();
+            final var output = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), checksum));
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT);
+            output.writeLong(roster.version());
+            output.writeInt(roster.employees().size());
+            for (final var mockEmployee : roster.employees()) {
+                MockEmployeeCodec.writeEmployee(output, mockEmployee);
+            }
+            output.writeLong(checksum.getValue());
+            output.flush();
+            channel.force(true);
+        }
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(path.getParent());
+        return Files.size(path);
+    }
+
+    /**
+     * @return the last snapshot, empty if none was written
+     * @throws IOException if the snapshot cannot be read or is corrupt
+     */
+    Optional<MockEmployeeStore.Roster> read() throws IOException {
+        final DataInputStream input;
+        final var checksum = new CRC32C();
+        try {
+            input = new DataInputStream(new CheckedInputStream(
+                    new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE), checksum));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        try (input) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT) {
+                throw new IOException("Not a roster snapshot: " + path);
+            }
+            final var version = input.readLong();
+            final var size = input.readInt();
+            final var employees = new ArrayList<MockEmployee>(Math.max(0, Math.min(size, 1 << 20)));
+            for (int i = 0; i < size; i++) {
+                employees.add(MockEmployeeCodec.readEmployee(input));
+            }
+            final var expected = checksum.getValue();
+            if (input.readLong() != expected) {
+                throw new IOException("Checksum mismatch in roster snapshot: " + path);
+            }
+            return Optional.of(new MockEmployeeStore.Roster(version, Collections.unmodifiableList(employees)));
+        }
+    }
+
+    /*
+     * Makes a rename or a new file in the directory durable. Not supported on every platform, where it is skipped.
+     */
+    static void syncDirectory(Path directory) {
+        try (final var channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // Directories cannot be opened for syncing on Windows
+        }
+    }
+}
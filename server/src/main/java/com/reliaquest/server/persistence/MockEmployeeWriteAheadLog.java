@@ -0,0 +1,406 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of roster changes, split into numbered segment files.
+ * <p>
+ * Changes are queued by the writers of the store and written by a single thread with group commit: everything queued
+ * while the previous batch was being synced is written and synced as the next batch, so a burst of writes costs one
+ * fsync instead of one per write. Each record is its payload length, a CRC32C of the payload and the payload itself.
+ * <p>
+ * The log is read before it is opened. A crash while writing can only tear the records at the end of the last
+ * segment, so a record that cannot be read there is truncated, and one anywhere else fails the recovery rather than
+ * silently dropping the changes after it.
+ * <p>
+ * A new segment is started on every startup and on {@link #rotate()}, so segments covered by a snapshot can be deleted
+ * as whole files.
+ */
+@Slf4j
+final class MockEmployeeWriteAheadLog implements AutoCloseable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d{19})\\.log");
+    private static final int MAX_RECORD_LENGTH = 64 << 20;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int RECORD_HEADER_LENGTH = 8;
+
+    private final Path directory;
+    private final Thread writer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queued = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+
+    // Guarded by lock
+    private List<MockEmployeeChange> pending = new ArrayList<>();
+    private long appendedVersion = Long.MIN_VALUE;
+    private long durableVersion = Long.MIN_VALUE;
+    private boolean rotationRequested;
+    private long rotations;
+    private boolean closed;
+    private IOException failure;
+
+    // Written by the writer thread only
+    private FileChannel segment;
+    private volatile long segmentNumber;
+    private volatile long changesWritten;
+    private volatile long bytesWritten;
+    private volatile long syncs;
+    private volatile long syncNanos;
+
+    /**
+     * Changes, bytes and fsyncs written since the log was opened, as of {@code atNanos}.
+     */
+    record Stats(long changes, long bytes, long syncs, long syncNanos, long atNanos) {
+
+        Stats since(Stats previous) {
+            return new Stats(
+                    changes - previous.changes,
+                    bytes - previous.bytes,
+                    syncs - previous.syncs,
+                    syncNanos - previous.syncNanos,
+                    atNanos - previous.atNanos);
+        }
+    }
+
+    /**
+     * Starting point of the segment created by {@link #rotate()}.
+     * @param segment number of the new segment
+     * @param version version of the last change appended before the rotation, every change up to it is durable
+     */
+    record Rotation(long segment, long version) {}
+
+    /**
+     * Opens the log in the given directory, starting a new segment after the existing ones.
+     */
+    MockEmployeeWriteAheadLog(Path directory) throws IOException {
+        this.directory = directory;
+        final var existing = segmentNumbers(directory);
+        openSegment(existing.isEmpty() ? 0 : existing.get(existing.size() - 1) + 1);
+        writer = new Thread(this::run, "mock-employee-wal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Reads the changes logged in a directory, before the log is opened in it. A torn record at the end of the last
+     * segment is truncated, so the next recovery finds the segment ending with a complete record.
+     * @param after version to start after, changes up to it are skipped
+     * @return changes in log order
+     * @throws IOException if a segment cannot be read, or has a record that cannot be read before its end or the end
+     *     of a segment that is not the last one
+     */
+    static List<MockEmployeeChange> read(Path directory, long after) throws IOException {
+        final var changes = new ArrayList<MockEmployeeChange>();
+        final var numbers = segmentNumbers(directory);
+        for (int i = 0; i < numbers.size(); i++) {
+            final var path = segmentPath(directory, numbers.get(i));
+            final var end = readSegment(path, after, changes);
+            if (end == Files.size(path)) {
+                continue;
+            }
+            if (i < numbers.size() - 1) {
+                throw new IOException("Torn record in a write-ahead log segment that is not the last one. segment="
+                        + path + " position=" + end);
+            }
+            log.warn("Truncating torn record at the end of the write-ahead log. segment={} position={}", path, end);
+            try (final var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(end);
+                channel.force(true);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Queues a change for writing. Changes must be appended in version order.
+     */
+    void append(MockEmployeeChange change) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+            pending.add(change);
+            appendedVersion = change.version();
+            queued.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the change with the given version, and every change appended before it, is synced to disk.
+     * @throws UncheckedIOException if the log could not be written
+     */
+    void awaitDurable(long version) {
+        lock.lock();
+        try {
+            final var target = Math.min(version, appendedVersion);
+            while (durableVersion < target && failure == null) {
+                synced.awaitUninterruptibly();
+            }
+            if (durableVersion < target) {
+                throw new UncheckedIOException("Failed to write the write-ahead log", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new segment. Every change appended before the call is in an earlier segment, and durable, once it
+     * returns.
+     */
+    Rotation rotate() throws IOException {
+        lock.lock();
+        try {
+            final var version = appendedVersion;
+            final var target = rotations + 1;
+            rotationRequested = true;
+            queued.signal();
+            while (rotations < target && failure == null && !closed) {
+                synced.awaitUninterruptibly();
+            }
+            if (rotations < target || failure != null) {
+                throw new IOException("Failed to rotate the write-ahead log", failure);
+            }
+            return new Rotation(segmentNumber, version);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the segments before the given one.
+     */
+    void deleteSegmentsBefore(long number) throws IOException {
+        for (final var existing : segmentNumbers(directory)) {
+            if (existing < number) {
+                Files.deleteIfExists(segmentPath(directory, existing));
+            }
+        }
+    }
+
+    Stats stats() {
+        return new Stats(changesWritten, bytesWritten, syncs, syncNanos, System.nanoTime());
+    }
+
+    /**
+     * Writes and syncs the queued changes, then closes the current segment.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            queued.signal();
+            synced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segment.close();
+    }
+
+    private void run() {
+        final var buffer = new ByteArrayOutputStream(BUFFER_SIZE);
+        final var record = new ByteArrayOutputStream(256);
+        final var checksum = new CRC32C();
+        IOException failed = null;
+        while (true) {
+            final List<MockEmployeeChange> batch;
+            final boolean rotation;
+            final boolean closing;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !rotationRequested && !closed) {
+                    queued.awaitUninterruptibly();
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                rotation = rotationRequested;
+                closing = closed;
+            } finally {
+                lock.unlock();
+            }
+
+            // After a failure nothing is written, so the log never has a gap in the middle
+            IOException error = failed;
+            try {
+                if (error != null) {
+                    throw error;
+                }
+                if (!batch.isEmpty()) {
+                    write(batch, buffer, record, checksum);
+                }
+                if (rotation) {
+                    segment.close();
+                    openSegment(segmentNumber + 1);
+                }
+            } catch (IOException e) {
+                if (failed == null) {
+                    log.error(
+                            "Failed to write the write-ahead log. segment={}",
+                            segmentPath(directory, segmentNumber),
+                            e);
+                }
+                error = e;
+                failed = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null && failure == null) {
+                    failure = error;
+                }
+                if (error == null && !batch.isEmpty()) {
+                    durableVersion = batch.get(batch.size() - 1).version();
+                }
+                if (rotation) {
+                    rotationRequested = false;
+                    rotations++;
+                }
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (closing) {
+                return;
+            }
+        }
+    }
+
+    private void write(
+            List<MockEmployeeChange> batch, ByteArrayOutputStream buffer, ByteArrayOutputStream record, CRC32C checksum)
+            throws IOException {
+        buffer.reset();
+        final var output = new DataOutputStream(buffer);
+        final var recordOutput = new DataOutputStream(record);
+        for (final var change : batch) {
+            record.reset();
+            MockEmployeeCodec.writeChange(recordOutput, change);
+            checksum.reset();
+            checksum.update(record.toByteArray());
+            output.writeInt(record.size());
+            output.writeInt((int) checksum.getValue());
+            record.writeTo(output);
+        }
+        final var bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            segment.write(bytes);
+        }
+        final var startNanos = System.nanoTime();
+        segment.force(false);
+        syncNanos += System.nanoTime() - startNanos;
+        syncs++;
+        changesWritten += batch.size();
+        bytesWritten += buffer.size();
+    }
+
+    private void openSegment(long number) throws IOException {
+        segment = FileChannel.open(
+                segmentPath(directory, number), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentNumber = number;
+        MockEmployeeSnapshotFile.syncDirectory(directory);
+    }
+
+    /*
+     * Returns the end of the last record that was read, which is short of the end of the segment if the records after
+     * it are torn: an incomplete header or payload, a checksum mismatch in the last record, or zeros to the end of the
+     * segment where a write was allocated but never made it to disk. Any other record that cannot be read is corrupt.
+     */
+    private static long readSegment(Path path, long after, List<MockEmployeeChange> changes) throws IOException {
+        final var size = Files.size(path);
+        final var checksum = new CRC32C();
+        long position = 0;
+        try (final var input =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+            while (position < size) {
+                final var remaining = size - position - RECORD_HEADER_LENGTH;
+                if (remaining < 0) {
+                    return position;
+                }
+                final var length = input.readInt();
+                final var expected = input.readInt();
+                if (length == 0 && expected == 0 && isZeroFilled(input, remaining)) {
+                    return position;
+                }
+                if (length <= 0 || length > MAX_RECORD_LENGTH) {
+                    throw corrupt(path, position, "invalid record length " + length);
+                }
+                if (length > remaining) {
+                    return position;
+                }
+                final var payload = new byte[length];
+                input.readFully(payload);
+                checksum.reset();
+                checksum.update(payload);
+                if ((int) checksum.getValue() != expected) {
+                    if (length == remaining) {
+                        return position;
+                    }
+                    throw corrupt(path, position, "checksum mismatch");
+                }
+                final var change = MockEmployeeCodec.readChange(new DataInputStream(new ByteArrayInputStream(payload)));
+                if (change.version() > after) {
+                    changes.add(change);
+                }
+                position += RECORD_HEADER_LENGTH + length;
+            }
+            return position;
+        }
+    }
+
+    private static boolean isZeroFilled(DataInputStream input, long length) throws IOException {
+        for (long i = 0; i < length; i++) {
+            if (input.readByte() != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static IOException corrupt(Path path, long position, String reason) {
+        return new IOException(
+                "Corrupt record in the write-ahead log, " + reason + ". segment=" + path + " position=" + position);
+    }
+
+    private static List<Long> segmentNumbers(Path directory) throws IOException {
+        try (final var files = Files.list(directory)) {
+            return files.map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Path segmentPath(Path directory, long number) {
+        return directory.resolve("wal-%019d.log".formatted(number));
+    }
+}
@@ -4,11 +4,14 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.nio.ByteBuffer;
+import java.util.Base64;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,37 +25,115 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.snapshot();
+    }
+
+    public MockEmployeeStore.Roster getRoster() {
+        return mockEmployeeStore.roster();
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
+    }
+
+    /**
+     * Keyset pagination over the employees in id order. The cursor encodes the id of the last employee of the previous
+     * page, so pages stay stable while employees are added or removed elsewhere in the roster.
+     */
+    public MockEmployeePage getPage(String cursor, int size) {
+        final var after = cursor == null ? null : decodeCursor(cursor);
+        final var page = mockEmployeeStore.page(after, size);
+        String nextCursor = null;
+        if (!page.isEmpty() && page.size() == size) {
+            final var lastKey = page.get(page.size() - 1).getKey();
+            if (mockEmployeeStore.hasAfter(lastKey)) {
+                nextCursor = encodeCursor(lastKey);
+            }
+        }
+        return new MockEmployeePage(page.stream().map(Map.Entry::getValue).toList(), nextCursor);
+    }
+
+    /**
+     * Changes of the roster after the given version. Without a version, only the current version is returned, which
+     * lets a client record the version before fetching the full roster.
+     * @return changes, empty if the version is too old to be served from the change log
+     */
+    public Optional<MockEmployeeChanges> getChanges(Long since) {
+        if (since == null) {
+            return Optional.of(new MockEmployeeChanges(mockEmployeeStore.version(), List.of()));
+        }
+        return mockEmployeeStore.changesSince(since);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = newMockEmployee(input);
+        mockEmployeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Creates employees in a single write to the store.
+     * @return created employees, in input order
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var mockEmployees = inputs.stream().map(this::newMockEmployee).toList();
+        mockEmployeeStore.addAll(mockEmployees);
+        log.debug("Added employees: {}", mockEmployees.size());
+        return mockEmployees;
+    }
+
+    public Optional<MockEmployee> deleteById(@NonNull UUID id) {
+        final var mockEmployee = mockEmployeeStore.removeById(id);
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee;
+    }
+
+    /**
+     * Deletes employees by id in a single write to the store.
+     * @return deleted employees, in input order, empty where no employee has the id
+     */
+    public List<Optional<MockEmployee>> deleteAllById(@NonNull List<UUID> ids) {
+        final var removed = mockEmployeeStore.removeAllById(ids);
+        log.debug("Removed employees: {}", removed.stream().filter(Optional::isPresent).count());
+        return removed;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
-        }
+        final var mockEmployee = mockEmployeeStore.removeByName(input.getName());
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
 
-        return false;
+    private MockEmployee newMockEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+    }
+
+    private static String encodeCursor(UUID key) {
+        final var bytes = ByteBuffer.allocate(16)
+                .putLong(key.getMostSignificantBits())
+                .putLong(key.getLeastSignificantBits())
+                .array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static UUID decodeCursor(String cursor) {
+        final byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        final var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
     }
 }
@@ -0,0 +1,466 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.persistence.MockEmployeeJournal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thread safe store of mock employees.
+ * <p>
+ * Lookups by id go to a {@link ConcurrentHashMap} and never block. Writes are serialized by a lock, which keeps the
+ * primary index, the insertion ordered roster and the case-insensitive name index consistent with each other. Listing
+ * all employees returns an immutable snapshot that is built on the first read after a write and shared by readers
+ * until the next one, so a burst of writes costs a single copy of the roster. Pages in id order are read from a
+ * {@link ConcurrentSkipListMap} without blocking writers.
+ * <p>
+ * Every write after construction increments the roster version and is appended to a bounded change log, so clients
+ * holding a copy of the roster can catch up by applying the changes since the version they hold. Each run of the
+ * server starts its versions at a random epoch in the high bits, so a version handed out by a previous run, which may
+ * have run far ahead after large batches, is never taken for one of this run. With a
+ * {@link MockEmployeeJournal}, changes are journaled under the lock and only published to readers, the version and the
+ * change log once they are durable, so no client sees a version that a crash could hand out again. Until then writes
+ * are staged on top of the published roster, so later writes see them. If the journal fails, the store stops taking
+ * writes, because the published roster could no longer be recovered.
+ */
+@Component
+public class MockEmployeeStore {
+
+    private final ConcurrentHashMap<UUID, MockEmployee> employeesById = new ConcurrentHashMap<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Guarded by writeLock. Employees without id are keyed by a random id so they can still be listed and deleted.
+    private final LinkedHashMap<UUID, MockEmployee> roster = new LinkedHashMap<>();
+
+    // Written under writeLock, read without it. Same keys as the roster, in UUID order for keyset pagination.
+    private final ConcurrentSkipListMap<UUID, MockEmployee> employeesByKey = new ConcurrentSkipListMap<>();
+
+    // Guarded by writeLock. Ids by case folded name, in insertion order, so delete by name removes the oldest match.
+    // Includes staged writes.
+    private final Map<String, LinkedHashSet<UUID>> idsByName = new HashMap<>();
+
+    // Guarded by writeLock. Writes waiting to be durable in version order, and the latest of them for each key.
+    private final ArrayDeque<Staged> staged = new ArrayDeque<>();
+    private final Map<UUID, Staged> stagedByKey = new HashMap<>();
+    private long stagedVersion;
+
+    // Guarded by writeLock, set when the journal fails
+    private RuntimeException journalFailure;
+
+    private static final int CHANGE_LOG_CAPACITY = 10_000;
+
+    // Guarded by writeLock. Oldest change first, trimmed to CHANGE_LOG_CAPACITY.
+    private final ArrayDeque<MockEmployeeChange> changeLog = new ArrayDeque<>();
+
+    // Versions count writes in the low bits, under an epoch drawn for each run in the high bits
+    private static final int EPOCH_SHIFT = 40;
+
+    private volatile long version = newEpoch();
+
+    // Null after a write until the next read builds it
+    private volatile Roster snapshot;
+
+    private volatile int size;
+
+    // Null without persistence
+    private final MockEmployeeJournal journal;
+
+    private record Staged(MockEmployeeChange change, UUID key) {}
+
+    public MockEmployeeStore(@NonNull List<MockEmployee> mockEmployees) {
+        this(mockEmployees, Optional.empty());
+    }
+
+    /**
+     * @param mockEmployees initial roster, the recovered one if the journal has recovered a roster
+     * @param journal journal of the writes, empty without persistence
+     */
+    @Autowired
+    public MockEmployeeStore(@NonNull List<MockEmployee> mockEmployees, Optional<MockEmployeeJournal> journal) {
+        this.journal = journal.orElse(null);
+        // A recovered roster is the one the previous run published, so it carries on from its version and epoch
+        journal.flatMap(MockEmployeeJournal::recovered).ifPresent(recovered -> version = recovered.version());
+        stagedVersion = version;
+        for (final var mockEmployee : mockEmployees) {
+            final var key = Objects.requireNonNullElseGet(mockEmployee.getId(), UUID::randomUUID);
+            final var replaced = lookup(key);
+            if (replaced != null) {
+                unindexName(replaced, key);
+            }
+            indexName(mockEmployee, key);
+            publish(key, mockEmployee);
+        }
+        onWrite();
+    }
+
+    /**
+     * @param version roster version the employees are at
+     * @param employees all employees in insertion order, immutable
+     */
+    public record Roster(long version, List<MockEmployee> employees) {
+
+        /**
+         * @return entity tag of the roster: the epoch of the run and the writes of the run up to its version, so a
+         *     roster of a previous run never matches one of this run
+         */
+        public String eTag() {
+            return Long.toHexString(epoch(version)) + "-" + (version & ((1L << EPOCH_SHIFT) - 1));
+        }
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(employeesById.get(id));
+    }
+
+    /**
+     * @return all employees in insertion order, as an immutable list that is consistent with a single point in time
+     */
+    public List<MockEmployee> snapshot() {
+        return roster().employees();
+    }
+
+    /**
+     * @return all employees together with the version they are at
+     */
+    public Roster roster() {
+        final var current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        writeLock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = new Roster(version, List.copyOf(roster.values()));
+            }
+            return snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Publishes the staged writes up to a version before listing the roster. The caller must know them to be durable,
+     * which is the case for the changes the journal has written before it returns.
+     * @param atLeast version of a change the journal has made durable
+     * @return all employees together with the version they are at, which is at least the given one
+     */
+    public Roster roster(long atLeast) {
+        publish(atLeast);
+        return roster();
+    }
+
+    /**
+     * Returns a page of employees in UUID order. Employees without id are ordered by the random key they are stored
+     * under. Pages are weakly consistent: an employee added or removed while paging may or may not be returned.
+     * @param after key of the last employee of the previous page, null for the first page
+     * @param size maximum number of employees in the page
+     * @return employees with a key greater than {@code after}, in key order
+     */
+    public List<Map.Entry<UUID, MockEmployee>> page(UUID after, int size) {
+        final var tail = after == null ? employeesByKey : employeesByKey.tailMap(after, false);
+        final var page = new ArrayList<Map.Entry<UUID, MockEmployee>>(Math.min(size, 1024));
+        final var iterator = tail.entrySet().iterator();
+        while (page.size() < size && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    /**
+     * @return whether there is an employee with a key greater than the given one
+     */
+    public boolean hasAfter(@NonNull UUID key) {
+        return employeesByKey.higherKey(key) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @param since roster version the caller holds
+     * @return changes after the given version, empty if they are no longer in the change log or the version is not
+     *     one of this store
+     */
+    public Optional<MockEmployeeChanges> changesSince(long since) {
+        writeLock.lock();
+        try {
+            if (epoch(since) != epoch(version)
+                    || since > version
+                    || (since < version && (changeLog.isEmpty() || changeLog.peekFirst().version() > since + 1))) {
+                return Optional.empty();
+            }
+            final var changes = new ArrayList<MockEmployeeChange>();
+            final var iterator = changeLog.descendingIterator();
+            while (iterator.hasNext()) {
+                final var change = iterator.next();
+                if (change.version() <= since) {
+                    break;
+                }
+                changes.add(change);
+            }
+            Collections.reverse(changes);
+            return Optional.of(new MockEmployeeChanges(version, changes));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void add(@NonNull MockEmployee mockEmployee) {
+        write(() -> {
+            put(mockEmployee);
+            return null;
+        });
+    }
+
+    /**
+     * Adds employees under a single write, so snapshots and the change log contain either none or all of them.
+     */
+    public void addAll(@NonNull List<MockEmployee> mockEmployees) {
+        if (mockEmployees.isEmpty()) {
+            return;
+        }
+        write(() -> {
+            mockEmployees.forEach(this::put);
+            return null;
+        });
+    }
+
+    /**
+     * Removes employees by id under a single write.
+     * @return the removed employees at the positions of their ids, empty where there was none
+     */
+    public List<Optional<MockEmployee>> removeAllById(@NonNull List<UUID> ids) {
+        return write(() -> {
+            final var removed = new ArrayList<Optional<MockEmployee>>(ids.size());
+            for (final var id : ids) {
+                removed.add(removeIdentified(id));
+            }
+            return removed;
+        });
+    }
+
+    /**
+     * @return the removed employee, empty if there was none with the id
+     */
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        return write(() -> removeIdentified(id));
+    }
+
+    /**
+     * Removes the oldest employee whose name equals the given name, ignoring case.
+     * @return the removed employee, empty if there was none
+     */
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        return write(() -> {
+            final var ids = idsByName.get(normalize(name));
+            return ids == null ? Optional.empty() : remove(ids.iterator().next());
+        });
+    }
+
+    /*
+     * Stages a write under the lock, then waits for it to be durable outside of it, so writes waiting for the same
+     * sync do not block each other, and publishes it. A write that fails to be journaled fences the store: its
+     * changes stay staged and are never published, and later writes are rejected.
+     */
+    private <T> T write(Supplier<T> stage) {
+        final T result;
+        final long written;
+        writeLock.lock();
+        try {
+            if (journalFailure != null) {
+                throw new IllegalStateException("Employee store is read-only after its journal failed", journalFailure);
+            }
+            result = stage.get();
+            written = stagedVersion;
+        } finally {
+            writeLock.unlock();
+        }
+        if (journal != null) {
+            try {
+                journal.awaitDurable(written);
+            } catch (RuntimeException e) {
+                fence(e);
+                throw e;
+            }
+        }
+        publish(written);
+        return result;
+    }
+
+    // Employees without id are stored under a random key, which must not be deletable as an id
+    private Optional<MockEmployee> removeIdentified(UUID id) {
+        final var mockEmployee = lookup(id);
+        return mockEmployee != null && mockEmployee.getId() != null ? remove(id) : Optional.empty();
+    }
+
+    private void put(MockEmployee mockEmployee) {
+        final var key = Objects.requireNonNullElseGet(mockEmployee.getId(), UUID::randomUUID);
+        final var replaced = lookup(key);
+        if (replaced != null) {
+            unindexName(replaced, key);
+        }
+        indexName(mockEmployee, key);
+        stage(MockEmployeeChange.Type.CREATED, mockEmployee, key);
+    }
+
+    private Optional<MockEmployee> remove(UUID key) {
+        final var removed = lookup(key);
+        if (removed == null) {
+            return Optional.empty();
+        }
+        unindexName(removed, key);
+        stage(MockEmployeeChange.Type.DELETED, removed, key);
+        return Optional.of(removed);
+    }
+
+    // The employee under a key as of the last staged write
+    private MockEmployee lookup(UUID key) {
+        final var latest = stagedByKey.get(key);
+        if (latest == null) {
+            return roster.get(key);
+        }
+        return latest.change().type() == MockEmployeeChange.Type.CREATED ? latest.change().employee() : null;
+    }
+
+    private void stage(MockEmployeeChange.Type type, MockEmployee mockEmployee, UUID key) {
+        final var change = new MockEmployeeChange(stagedVersion + 1, type, mockEmployee);
+        if (journal != null) {
+            try {
+                journal.append(change);
+            } catch (RuntimeException e) {
+                fence(e);
+                throw e;
+            }
+        }
+        stagedVersion++;
+        final var next = new Staged(change, key);
+        staged.addLast(next);
+        stagedByKey.put(key, next);
+    }
+
+    private void fence(RuntimeException failure) {
+        writeLock.lock();
+        try {
+            if (journalFailure == null) {
+                journalFailure = failure;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Publishes the staged writes up to a durable version. Writes after a journal failure are never durable.
+    private void publish(long durable) {
+        writeLock.lock();
+        try {
+            if (staged.isEmpty() || staged.peekFirst().change().version() > durable) {
+                return;
+            }
+            while (!staged.isEmpty() && staged.peekFirst().change().version() <= durable) {
+                final var next = staged.removeFirst();
+                final var change = next.change();
+                final var key = next.key();
+                switch (change.type()) {
+                    case CREATED -> publish(key, change.employee());
+                    case DELETED -> {
+                        roster.remove(key);
+                        employeesById.remove(key);
+                        employeesByKey.remove(key);
+                    }
+                }
+                if (changeLog.size() == CHANGE_LOG_CAPACITY) {
+                    changeLog.removeFirst();
+                }
+                changeLog.addLast(change);
+                version = change.version();
+                stagedByKey.remove(key, next);
+            }
+            onWrite();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void publish(UUID key, MockEmployee mockEmployee) {
+        roster.put(key, mockEmployee);
+        employeesByKey.put(key, mockEmployee);
+        if (mockEmployee.getId() != null) {
+            employeesById.put(key, mockEmployee);
+        } else {
+            employeesById.remove(key);
+        }
+    }
+
+    private void indexName(MockEmployee mockEmployee, UUID key) {
+        if (mockEmployee.getName() != null) {
+            idsByName
+                    .computeIfAbsent(normalize(mockEmployee.getName()), ignored -> new LinkedHashSet<>())
+                    .add(key);
+        }
+    }
+
+    private void unindexName(MockEmployee mockEmployee, UUID key) {
+        if (mockEmployee.getName() == null) {
+            return;
+        }
+        final var name = normalize(mockEmployee.getName());
+        final Set<UUID> ids = idsByName.get(name);
+        if (ids != null && ids.remove(key) && ids.isEmpty()) {
+            idsByName.remove(name);
+        }
+    }
+
+    /*
+     * Leaves 2^40 writes to a run before its versions reach the next epoch. A restarted server draws the same epoch
+     * once in 2^23 restarts.
+     */
+    private static long newEpoch() {
+        return ThreadLocalRandom.current().nextLong(1, 1L << (Long.SIZE - 1 - EPOCH_SHIFT)) << EPOCH_SHIFT;
+    }
+
+    private static long epoch(long version) {
+        return version >>> EPOCH_SHIFT;
+    }
+
+    private void onWrite() {
+        size = roster.size();
+        snapshot = null;
+    }
+
+    /*
+     * Folds every code point the way String.equalsIgnoreCase compares them, upper then lower case, so that two names
+     * have the same key exactly when equalsIgnoreCase matches them. toLowerCase alone would not, e.g. for a dotted
+     * capital I and an i.
+     */
+    private static String normalize(String name) {
+        final var folded = new StringBuilder(name.length());
+        name.codePoints().forEach(c -> folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c))));
+        return folded.toString();
+    }
+}
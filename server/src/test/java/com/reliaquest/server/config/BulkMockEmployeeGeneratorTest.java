@@ -0,0 +1,56 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class BulkMockEmployeeGeneratorTest {
+
+    // Large enough for the parallel stream to split the work
+    private static final int SIZE = 50_000;
+
+    @Test
+    void generate_SameSeedGivesTheSameRoster() {
+        final var roster = new BulkMockEmployeeGenerator(42).generate(SIZE);
+
+        assertEquals(SIZE, roster.size());
+        assertEquals(fields(roster), fields(new BulkMockEmployeeGenerator(42).generate(SIZE)));
+        // Employees depend on their position only, not on the size or how the work was split
+        assertEquals(fields(roster.subList(0, 100)), fields(new BulkMockEmployeeGenerator(42).generate(100)));
+    }
+
+    @Test
+    void generate_SameRosterOnASingleThread() throws Exception {
+        final var generator = new BulkMockEmployeeGenerator(42);
+        final var pool = new ForkJoinPool(1);
+        try {
+            assertEquals(
+                    fields(generator.generate(SIZE)),
+                    fields(pool.submit(() -> generator.generate(SIZE)).get()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void generate_DifferentSeedGivesADifferentRoster() {
+        final var roster = fields(new BulkMockEmployeeGenerator(42).generate(100));
+        final var other = fields(new BulkMockEmployeeGenerator(43).generate(100));
+
+        assertNotEquals(roster, other);
+        for (int i = 0; i < roster.size(); i++) {
+            assertNotEquals(roster.get(i).get(0), other.get(i).get(0));
+        }
+    }
+
+    // Id, name and salary of each employee
+    private static List<List<Object>> fields(List<MockEmployee> employees) {
+        return employees.stream()
+                .map(employee -> List.<Object>of(employee.getId(), employee.getName(), employee.getSalary()))
+                .toList();
+    }
+}
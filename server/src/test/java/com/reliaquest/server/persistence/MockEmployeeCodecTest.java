@@ -0,0 +1,76 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeCodecTest {
+
+    @Test
+    void writeChange_RoundTrips() throws IOException {
+        final var mockEmployee = new MockEmployee(
+                UUID.randomUUID(), "Tiger Nixon", 320800, 61, "System Architect", "tnixon@company.com");
+
+        for (final var type : MockEmployeeChange.Type.values()) {
+            final var change = new MockEmployeeChange(1_700_000_000_000L, type, mockEmployee);
+            assertEquals(change, MockEmployeeCodec.readChange(input(encode(change))));
+        }
+    }
+
+    @Test
+    void writeEmployee_RoundTripsMissingFields() throws IOException {
+        final var anonymous = new MockEmployee(null, null, null, null, null, null);
+        final var partial = new MockEmployee(UUID.randomUUID(), "Garrett Winters", null, 63, null, null);
+
+        for (final var mockEmployee : new MockEmployee[] {anonymous, partial}) {
+            final var bytes = new ByteArrayOutputStream();
+            MockEmployeeCodec.writeEmployee(new DataOutputStream(bytes), mockEmployee);
+            assertEquals(mockEmployee, MockEmployeeCodec.readEmployee(input(bytes.toByteArray())));
+        }
+    }
+
+    @Test
+    void writeEmployee_RoundTripsNonAsciiNames() throws IOException {
+        final var mockEmployee = new MockEmployee(
+                UUID.randomUUID(), "\u0130lker Y\u0131lmaz \u5f20\u4f1f", 100000, 30, "Engineer", "iy@company.com");
+        final var bytes = new ByteArrayOutputStream();
+
+        MockEmployeeCodec.writeEmployee(new DataOutputStream(bytes), mockEmployee);
+
+        assertEquals(mockEmployee, MockEmployeeCodec.readEmployee(input(bytes.toByteArray())));
+    }
+
+    @Test
+    void readChange_RejectsUnknownTypesAndTruncatedInput() throws IOException {
+        final var encoded = encode(new MockEmployeeChange(
+                1, MockEmployeeChange.Type.CREATED, new MockEmployee(UUID.randomUUID(), "Ashton Cox", 1, 1, "", "")));
+
+        final var unknownType = encoded.clone();
+        unknownType[Long.BYTES] = (byte) MockEmployeeChange.Type.values().length;
+        assertThrows(IOException.class, () -> MockEmployeeCodec.readChange(input(unknownType)));
+
+        final var truncated = Arrays.copyOf(encoded, encoded.length - 1);
+        assertThrows(EOFException.class, () -> MockEmployeeCodec.readChange(input(truncated)));
+    }
+
+    private static byte[] encode(MockEmployeeChange change) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        MockEmployeeCodec.writeChange(new DataOutputStream(bytes), change);
+        return bytes.toByteArray();
+    }
+
+    private static DataInputStream input(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeePersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recovers_SnapshotWithTheChangesLoggedAfterIt() throws Exception {
+        final var tiger = employee("Tiger Nixon");
+        final var garrett = employee("Garrett Winters");
+        final var ashton = employee("Ashton Cox");
+        new MockEmployeeSnapshotFile(directory).write(new MockEmployeeStore.Roster(10, List.of(tiger, garrett)));
+        // The snapshot already includes the changes up to its version
+        log(
+                new MockEmployeeChange(9, MockEmployeeChange.Type.CREATED, tiger),
+                new MockEmployeeChange(10, MockEmployeeChange.Type.CREATED, garrett),
+                new MockEmployeeChange(11, MockEmployeeChange.Type.CREATED, ashton),
+                new MockEmployeeChange(12, MockEmployeeChange.Type.DELETED, tiger));
+
+        final var persistence = open();
+        try {
+            assertEquals(
+                    Optional.of(new MockEmployeeStore.Roster(12, List.of(garrett, ashton))), persistence.recovered());
+        } finally {
+            persistence.close();
+        }
+    }
+
+    @Test
+    void recovers_NothingWithoutSnapshot() throws Exception {
+        log(new MockEmployeeChange(1, MockEmployeeChange.Type.CREATED, employee("Tiger Nixon")));
+
+        final var persistence = open();
+        try {
+            assertEquals(Optional.empty(), persistence.recovered());
+        } finally {
+            persistence.close();
+        }
+    }
+
+    @Test
+    void replay_RejectsChangesThatDoNotFollowOnFromTheSnapshot() {
+        final var snapshot = new MockEmployeeStore.Roster(10, List.of());
+        final var created = employee("Tiger Nixon");
+
+        assertThrows(
+                IOException.class,
+                () -> MockEmployeePersistence.replay(
+                        snapshot, List.of(new MockEmployeeChange(12, MockEmployeeChange.Type.CREATED, created))));
+        assertThrows(
+                IOException.class,
+                () -> MockEmployeePersistence.replay(
+                        snapshot,
+                        List.of(
+                                new MockEmployeeChange(11, MockEmployeeChange.Type.CREATED, created),
+                                new MockEmployeeChange(11, MockEmployeeChange.Type.DELETED, created))));
+    }
+
+    @Test
+    void open_FailsWithoutOpeningTheLogWhenRecoveryFails() throws Exception {
+        new MockEmployeeSnapshotFile(directory).write(new MockEmployeeStore.Roster(10, List.of()));
+        log(new MockEmployeeChange(12, MockEmployeeChange.Type.CREATED, employee("Tiger Nixon")));
+
+        assertThrows(UncheckedIOException.class, this::open);
+
+        // No segment was started for a roster that could not be recovered
+        try (final var files = Files.list(directory)) {
+            assertEquals(1, files.filter(file -> file.getFileName().toString().startsWith("wal-")).count());
+        }
+    }
+
+    @Test
+    void open_FailsOnACorruptSnapshot() throws Exception {
+        new MockEmployeeSnapshotFile(directory).write(new MockEmployeeStore.Roster(10, List.of()));
+        final var path = directory.resolve("roster.snapshot");
+        final var bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+
+        assertThrows(UncheckedIOException.class, this::open);
+    }
+
+    // The store is only looked up once the application is ready
+    private MockEmployeePersistence open() {
+        return new MockEmployeePersistence(null, directory, Duration.ofMinutes(5));
+    }
+
+    private void log(MockEmployeeChange... changes) throws IOException {
+        try (final var writeAheadLog = new MockEmployeeWriteAheadLog(directory)) {
+            for (final var change : changes) {
+                writeAheadLog.append(change);
+            }
+            writeAheadLog.awaitDurable(changes[changes.length - 1].version());
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100000, 30, "Engineer", "someone@company.com");
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void write_IsReadBack() throws IOException {
+        final var snapshotFile = new MockEmployeeSnapshotFile(directory);
+        final var roster = new MockEmployeeStore.Roster(
+                42,
+                List.of(
+                        new MockEmployee(UUID.randomUUID(), "Tiger Nixon", 320800, 61, "Architect", "t@company.com"),
+                        new MockEmployee(null, "Garrett Winters", null, null, null, null)));
+
+        final var bytes = snapshotFile.write(roster);
+
+        assertEquals(Files.size(directory.resolve("roster.snapshot")), bytes);
+        assertEquals(Optional.of(roster), snapshotFile.read());
+        assertTrue(Files.notExists(directory.resolve("roster.snapshot.tmp")));
+    }
+
+    @Test
+    void write_ReplacesThePreviousSnapshot() throws IOException {
+        final var snapshotFile = new MockEmployeeSnapshotFile(directory);
+        snapshotFile.write(new MockEmployeeStore.Roster(1, List.of(employee("Tiger Nixon"))));
+        final var roster = new MockEmployeeStore.Roster(2, List.of());
+
+        snapshotFile.write(roster);
+
+        assertEquals(Optional.of(roster), snapshotFile.read());
+    }
+
+    @Test
+    void read_EmptyWithoutSnapshot() throws IOException {
+        assertEquals(Optional.empty(), new MockEmployeeSnapshotFile(directory).read());
+    }
+
+    @Test
+    void read_RejectsChecksumMismatch() throws IOException {
+        final var snapshotFile = new MockEmployeeSnapshotFile(directory);
+        snapshotFile.write(new MockEmployeeStore.Roster(7, List.of(employee("Ashton Cox"))));
+        final var path = directory.resolve("roster.snapshot");
+        final var bytes = Files.readAllBytes(path);
+        // Last byte of the email, the length prefixes still match
+        bytes[bytes.length - Long.BYTES - 1] ^= 1;
+        Files.write(path, bytes);
+
+        final var thrown = assertThrows(IOException.class, snapshotFile::read);
+        assertTrue(thrown.getMessage().startsWith("Checksum mismatch"));
+    }
+
+    @Test
+    void read_RejectsCorruptSnapshots() throws IOException {
+        final var snapshotFile = new MockEmployeeSnapshotFile(directory);
+        snapshotFile.write(new MockEmployeeStore.Roster(7, List.of(employee("Ashton Cox"))));
+        final var path = directory.resolve("roster.snapshot");
+        final var bytes = Files.readAllBytes(path);
+
+        final var badMagic = bytes.clone();
+        badMagic[0] ^= 1;
+        Files.write(path, badMagic);
+        assertThrows(IOException.class, snapshotFile::read);
+
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, snapshotFile::read);
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100000, 30, "Engineer", "someone@company.com");
+    }
+}
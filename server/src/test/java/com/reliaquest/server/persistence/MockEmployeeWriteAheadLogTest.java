@@ -0,0 +1,216 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_ReturnsTheChangesAfterTheVersionAcrossSegments() throws IOException {
+        final var changes = changes(1, 6);
+        log(changes.subList(0, 3));
+        log(changes.subList(3, 6));
+
+        assertEquals(2, segments().size());
+        assertEquals(changes, MockEmployeeWriteAheadLog.read(directory, 0));
+        assertEquals(changes.subList(2, 6), MockEmployeeWriteAheadLog.read(directory, 2));
+        assertEquals(List.of(), MockEmployeeWriteAheadLog.read(directory, 6));
+    }
+
+    @Test
+    void read_TruncatesTornRecordAtTheEndOfTheLastSegment() throws IOException {
+        final var changes = changes(1, 3);
+        log(changes);
+        final var segment = segments().get(0);
+        final var size = Files.size(segment);
+
+        // Header of a record whose payload never made it to disk
+        Files.write(segment, new byte[] {0, 0, 0, 100, 1, 2, 3, 4, 5, 6}, StandardOpenOption.APPEND);
+        assertEquals(changes, MockEmployeeWriteAheadLog.read(directory, 0));
+        assertEquals(size, Files.size(segment));
+
+        // Incomplete header
+        Files.write(segment, new byte[] {0, 0}, StandardOpenOption.APPEND);
+        assertEquals(changes, MockEmployeeWriteAheadLog.read(directory, 0));
+        assertEquals(size, Files.size(segment));
+
+        // Space allocated for a write that was never made
+        Files.write(segment, new byte[64], StandardOpenOption.APPEND);
+        assertEquals(changes, MockEmployeeWriteAheadLog.read(directory, 0));
+        assertEquals(size, Files.size(segment));
+    }
+
+    @Test
+    void read_TruncatesLastRecordWithChecksumMismatch() throws IOException {
+        final var changes = changes(1, 3);
+        log(changes);
+        final var segment = segments().get(0);
+        final var bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(segment, bytes);
+
+        assertEquals(changes.subList(0, 2), MockEmployeeWriteAheadLog.read(directory, 0));
+        assertEquals(bytes.length - recordLength(changes.get(2)), Files.size(segment));
+    }
+
+    @Test
+    void read_RejectsCorruptionBeforeTheEndOfTheLog() throws IOException {
+        log(changes(1, 3));
+        final var segment = segments().get(0);
+        final var bytes = Files.readAllBytes(segment);
+
+        // Payload of the first record
+        final var checksumMismatch = bytes.clone();
+        checksumMismatch[8 + 2] ^= 1;
+        Files.write(segment, checksumMismatch);
+        assertThrows(IOException.class, () -> MockEmployeeWriteAheadLog.read(directory, 0));
+        assertEquals(bytes.length, Files.size(segment));
+
+        // Length of the second record
+        final var invalidLength = bytes.clone();
+        invalidLength[recordLength(changes(1, 1).get(0))] = (byte) 0x80;
+        Files.write(segment, invalidLength);
+        assertThrows(IOException.class, () -> MockEmployeeWriteAheadLog.read(directory, 0));
+        assertEquals(bytes.length, Files.size(segment));
+    }
+
+    @Test
+    void read_RejectsTornRecordInASegmentBeforeTheLast() throws IOException {
+        log(changes(1, 2));
+        log(changes(3, 4));
+        final var first = segments().get(0);
+        final var size = Files.size(first);
+        Files.write(first, new byte[] {0, 0, 0, 100, 1, 2, 3, 4, 5, 6}, StandardOpenOption.APPEND);
+
+        assertThrows(IOException.class, () -> MockEmployeeWriteAheadLog.read(directory, 0));
+        assertEquals(size + 10, Files.size(first));
+    }
+
+    @Test
+    void rotate_StartsASegmentAfterTheChangesAppendedBeforeIt() throws IOException {
+        final var changes = changes(1, 3);
+        try (final var writeAheadLog = new MockEmployeeWriteAheadLog(directory)) {
+            writeAheadLog.append(changes.get(0));
+            writeAheadLog.append(changes.get(1));
+
+            final var rotation = writeAheadLog.rotate();
+
+            assertEquals(2, rotation.version());
+            assertEquals(changes.subList(0, 2), MockEmployeeWriteAheadLog.read(directory, 0));
+            writeAheadLog.append(changes.get(2));
+            writeAheadLog.awaitDurable(3);
+            assertEquals(2, segments().size());
+
+            writeAheadLog.deleteSegmentsBefore(rotation.segment());
+
+            assertEquals(1, segments().size());
+            assertEquals(changes.subList(2, 3), MockEmployeeWriteAheadLog.read(directory, 0));
+        }
+    }
+
+    @Test
+    void awaitDurable_SharesSyncsBetweenConcurrentWriters() throws Exception {
+        final int writers = 8;
+        final int changesPerWriter = 200;
+        final var start = new CountDownLatch(1);
+        // Changes are appended in version order, as under the write lock of the store
+        final var appendLock = new ReentrantLock();
+        final var nextVersion = new long[] {1};
+        final ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try (final var writeAheadLog = new MockEmployeeWriteAheadLog(directory)) {
+            final var futures = new ArrayList<Future<?>>();
+            for (int writer = 0; writer < writers; writer++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < changesPerWriter; i++) {
+                        final long version;
+                        appendLock.lock();
+                        try {
+                            version = nextVersion[0]++;
+                            writeAheadLog.append(changes(version, version).get(0));
+                        } finally {
+                            appendLock.unlock();
+                        }
+                        writeAheadLog.awaitDurable(version);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            final var stats = writeAheadLog.stats();
+            assertEquals(writers * changesPerWriter, stats.changes());
+            assertTrue(stats.syncs() < stats.changes(), "syncs=" + stats.syncs());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var read = MockEmployeeWriteAheadLog.read(directory, 0);
+        assertEquals(writers * changesPerWriter, read.size());
+        for (int i = 0; i < read.size(); i++) {
+            assertEquals(i + 1, read.get(i).version());
+        }
+    }
+
+    private void log(List<MockEmployeeChange> changes) throws IOException {
+        try (final var writeAheadLog = new MockEmployeeWriteAheadLog(directory)) {
+            changes.forEach(writeAheadLog::append);
+            writeAheadLog.awaitDurable(changes.get(changes.size() - 1).version());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (final var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("wal-"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // Header and payload of a logged change
+    private static int recordLength(MockEmployeeChange change) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        MockEmployeeCodec.writeChange(new DataOutputStream(bytes), change);
+        return 8 + bytes.size();
+    }
+
+    private static List<MockEmployeeChange> changes(long from, long to) {
+        final var changes = new ArrayList<MockEmployeeChange>();
+        for (long version = from; version <= to; version++) {
+            final var type = version % 3 == 0 ? MockEmployeeChange.Type.DELETED : MockEmployeeChange.Type.CREATED;
+            changes.add(new MockEmployeeChange(
+                    version,
+                    type,
+                    new MockEmployee(
+                            new UUID(0, version), "Employee " + version, 100000, 30, "Engineer", "e@company.com")));
+        }
+        return changes;
+    }
+}
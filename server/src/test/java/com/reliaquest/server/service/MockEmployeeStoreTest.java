@@ -0,0 +1,382 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.persistence.MockEmployeeJournal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    @Test
+    void add_IsListedInInsertionOrderAndFoundById() {
+        final var store = new MockEmployeeStore(List.of());
+        final var first = employee("Tiger Nixon");
+        final var second = employee("Garrett Winters");
+
+        store.add(first);
+        store.add(second);
+
+        assertEquals(List.of(first, second), store.snapshot());
+        assertEquals(Optional.of(second), store.findById(second.getId()));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void removeByName_RemovesOldestMatchIgnoringCase() {
+        final var oldest = employee("Tiger Nixon");
+        final var middle = employee("TIGER NIXON");
+        final var newest = employee("tiger nixon");
+        final var other = employee("Tiger Nixons");
+        final var store = new MockEmployeeStore(List.of(oldest, middle, other, newest));
+
+        assertEquals(Optional.of(oldest), store.removeByName("tIGER nIXON"));
+        assertEquals(Optional.of(middle), store.removeByName("Tiger Nixon"));
+        assertEquals(Optional.of(newest), store.removeByName("Tiger Nixon"));
+        assertEquals(Optional.empty(), store.removeByName("Tiger Nixon"));
+        assertEquals(List.of(other), store.snapshot());
+    }
+
+    @Test
+    void removeByName_MatchesNamesLikeEqualsIgnoreCase() {
+        // A dotted capital I equals an i ignoring case, although their lower case forms differ
+        final var dotted = employee("\u0130lker Yilmaz");
+        final var store = new MockEmployeeStore(List.of(dotted));
+
+        assertTrue("ilker yilmaz".equalsIgnoreCase(dotted.getName()));
+        assertEquals(Optional.of(dotted), store.removeByName("ilker yilmaz"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void removeByName_SkipsEmployeesRemovedById() {
+        final var oldest = employee("Ashton Cox");
+        final var newest = employee("Ashton Cox");
+        final var store = new MockEmployeeStore(List.of(oldest, newest));
+
+        assertEquals(Optional.of(oldest), store.removeById(oldest.getId()));
+        assertEquals(Optional.of(newest), store.removeByName("ashton cox"));
+        assertEquals(Optional.empty(), store.removeById(oldest.getId()));
+        assertEquals(List.of(), store.snapshot());
+    }
+
+    @Test
+    void add_ReplacingAnIdReindexesTheName() {
+        final var original = employee("Cedric Kelly");
+        final var store = new MockEmployeeStore(List.of(original));
+        final var renamed = new MockEmployee(original.getId(), "Airi Satou", 162700, 33, "Accountant", "a@company.com");
+
+        store.add(renamed);
+
+        assertEquals(Optional.empty(), store.removeByName("Cedric Kelly"));
+        assertEquals(Optional.of(renamed), store.removeByName("Airi Satou"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void employeesWithoutIdAreListedAndDeletableByNameOnly() {
+        final var anonymous = new MockEmployee(null, "Brielle Williamson", 372000, 61, "Integration", null);
+        final var store = new MockEmployeeStore(List.of(anonymous));
+
+        assertEquals(List.of(anonymous), store.snapshot());
+        assertEquals(Optional.of(anonymous), store.removeByName("brielle williamson"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void concurrentAddsAndRemoves_KeepIndexesConsistent() throws Exception {
+        final var store = new MockEmployeeStore(List.of());
+        final int threads = 8;
+        final int employeesPerThread = 500;
+        final var kept = ConcurrentHashMap.<MockEmployee>newKeySet();
+        final var start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var futures = new ArrayList<Future<?>>();
+            for (int thread = 0; thread < threads; thread++) {
+                final int owner = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < employeesPerThread; i++) {
+                        // Names are unique per thread, so the oldest match by name is always this thread's own
+                        final var mockEmployee = employee("Employee " + owner + "-" + i / 2);
+                        store.add(mockEmployee);
+                        if (i % 3 == 0) {
+                            assertEquals(Optional.of(mockEmployee), store.removeById(mockEmployee.getId()));
+                        } else {
+                            kept.add(mockEmployee);
+                        }
+                        // Readers see consistent snapshots while other threads write
+                        final var snapshot = store.snapshot();
+                        assertEquals(snapshot.size(), new HashSet<>(snapshot).size());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(kept.size(), store.size());
+        assertEquals(kept, Set.copyOf(store.snapshot()));
+        assertEquals(kept.size(), store.page(null, Integer.MAX_VALUE).size());
+        for (final var mockEmployee : kept) {
+            assertEquals(Optional.of(mockEmployee), store.findById(mockEmployee.getId()));
+        }
+        // Every remaining employee is still reachable through the name index
+        for (final var mockEmployee : kept) {
+            assertTrue(store.removeByName(mockEmployee.getName()).isPresent());
+        }
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void changesSince_ReturnsChangesAfterTheVersion() {
+        final var store = new MockEmployeeStore(List.of());
+        final long start = store.version();
+        final var first = employee("Tiger Nixon");
+        final var second = employee("Garrett Winters");
+
+        store.add(first);
+        store.removeById(first.getId());
+        store.add(second);
+
+        assertEquals(start + 3, store.version());
+        assertEquals(
+                Optional.of(new MockEmployeeChanges(
+                        start + 3,
+                        List.of(
+                                new MockEmployeeChange(start + 1, MockEmployeeChange.Type.CREATED, first),
+                                new MockEmployeeChange(start + 2, MockEmployeeChange.Type.DELETED, first),
+                                new MockEmployeeChange(start + 3, MockEmployeeChange.Type.CREATED, second)))),
+                store.changesSince(start));
+        assertEquals(
+                List.of(new MockEmployeeChange(start + 3, MockEmployeeChange.Type.CREATED, second)),
+                store.changesSince(start + 2).orElseThrow().changes());
+        assertEquals(Optional.of(new MockEmployeeChanges(start + 3, List.of())), store.changesSince(start + 3));
+    }
+
+    @Test
+    void changesSince_EmptyChangeLog() {
+        // A restarted server has an empty change log
+        final var store = new MockEmployeeStore(List.of(employee("Tiger Nixon")));
+
+        assertEquals(Optional.empty(), store.changesSince(store.version() - 1));
+        assertEquals(Optional.empty(), store.changesSince(0));
+        assertEquals(
+                Optional.of(new MockEmployeeChanges(store.version(), List.of())), store.changesSince(store.version()));
+    }
+
+    @Test
+    void changesSince_VersionOfAPreviousRunAheadOfTheClock() {
+        final var batch = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 10_000; i++) {
+            batch.add(employee("Employee " + i));
+        }
+        final var previousRun = new MockEmployeeStore(List.of());
+        for (int i = 0; i < 3; i++) {
+            previousRun.addAll(batch);
+        }
+        final long since = previousRun.version();
+
+        // Restarted within the lead of the previous run over the wall clock, and written to as much
+        final var store = new MockEmployeeStore(List.of());
+        for (int i = 0; i < 3; i++) {
+            store.addAll(batch);
+        }
+        store.add(employee("Tiger Nixon"));
+
+        assertNotEquals(since, store.version());
+        assertEquals(Optional.empty(), store.changesSince(since));
+        assertEquals(Optional.empty(), store.changesSince(since - 1));
+    }
+
+    @Test
+    void eTag_ChangesWithEveryWriteAndRun() {
+        final var tiger = employee("Tiger Nixon");
+        final var store = new MockEmployeeStore(List.of(tiger));
+        final var eTag = store.roster().eTag();
+
+        assertEquals(eTag, store.roster().eTag());
+        // Another run at the same number of writes
+        assertNotEquals(eTag, new MockEmployeeStore(List.of(tiger)).roster().eTag());
+        store.add(employee("Garrett Winters"));
+        assertNotEquals(eTag, store.roster().eTag());
+    }
+
+    @Test
+    void changesSince_VersionAheadOfTheServer() {
+        final var store = new MockEmployeeStore(List.of());
+        store.add(employee("Tiger Nixon"));
+
+        assertEquals(Optional.empty(), store.changesSince(store.version() + 1));
+    }
+
+    @Test
+    void changesSince_TrimmedChangeLog() {
+        final var store = new MockEmployeeStore(List.of());
+        final long start = store.version();
+        final var mockEmployees = new ArrayList<MockEmployee>();
+        for (int i = 0; i <= 10_000; i++) {
+            mockEmployees.add(employee("Employee " + i));
+        }
+
+        store.addAll(mockEmployees);
+
+        // The change log keeps the last 10,000 changes, the first one has been trimmed
+        assertEquals(Optional.empty(), store.changesSince(start));
+        final var changes = store.changesSince(start + 1).orElseThrow().changes();
+        assertEquals(10_000, changes.size());
+        assertEquals(start + 2, changes.get(0).version());
+        assertEquals(mockEmployees.get(1), changes.get(0).employee());
+    }
+
+    @Test
+    void writes_ArePublishedOnceDurable() throws Exception {
+        final var journal = new BlockingJournal();
+        final var store = new MockEmployeeStore(List.of(), Optional.of(journal));
+        final long start = store.version();
+        final var mockEmployee = employee("Tiger Nixon");
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final var added = executor.submit(() -> store.add(mockEmployee));
+            journal.awaitAppended(1);
+
+            // Journaled but not durable, so neither visible nor versioned
+            assertEquals(List.of(), store.snapshot());
+            assertEquals(Optional.empty(), store.findById(mockEmployee.getId()));
+            assertEquals(start, store.version());
+            assertEquals(Optional.of(new MockEmployeeChanges(start, List.of())), store.changesSince(start));
+
+            // Later writes see the staged one
+            final var removed = executor.submit(() -> store.removeById(mockEmployee.getId()));
+            journal.awaitAppended(2);
+            assertEquals(start, store.version());
+
+            journal.durable.countDown();
+            added.get(30, TimeUnit.SECONDS);
+            assertEquals(Optional.of(mockEmployee), removed.get(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(start + 2, store.version());
+        assertEquals(List.of(), store.snapshot());
+        assertEquals(
+                List.of(
+                        new MockEmployeeChange(start + 1, MockEmployeeChange.Type.CREATED, mockEmployee),
+                        new MockEmployeeChange(start + 2, MockEmployeeChange.Type.DELETED, mockEmployee)),
+                store.changesSince(start).orElseThrow().changes());
+    }
+
+    @Test
+    void roster_PublishesTheWritesUpToADurableVersion() throws Exception {
+        final var journal = new BlockingJournal();
+        final var store = new MockEmployeeStore(List.of(), Optional.of(journal));
+        final long start = store.version();
+        final var mockEmployee = employee("Tiger Nixon");
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final var added = executor.submit(() -> store.add(mockEmployee));
+            journal.awaitAppended(1);
+
+            // As the persistence does once a rotation has made the write durable
+            assertEquals(new MockEmployeeStore.Roster(start + 1, List.of(mockEmployee)), store.roster(start + 1));
+
+            journal.durable.countDown();
+            added.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(start + 1, store.version());
+        assertEquals(List.of(mockEmployee), store.snapshot());
+    }
+
+    @Test
+    void journalFailure_FencesTheStore() {
+        final var journal = new BlockingJournal();
+        journal.failure = new UncheckedIOException(new IOException("Disk full"));
+        journal.durable.countDown();
+        final var existing = employee("Garrett Winters");
+        final var store = new MockEmployeeStore(List.of(existing), Optional.of(journal));
+        final long start = store.version();
+
+        assertThrows(UncheckedIOException.class, () -> store.add(employee("Tiger Nixon")));
+        assertThrows(IllegalStateException.class, () -> store.add(employee("Ashton Cox")));
+        assertThrows(IllegalStateException.class, () -> store.removeById(existing.getId()));
+
+        // The failed write was never published, and later ones were not journaled
+        assertEquals(List.of(existing), store.snapshot());
+        assertEquals(start, store.version());
+        assertEquals(1, journal.appended.size());
+    }
+
+    /*
+     * Makes writes durable once released, or fails them.
+     */
+    private static final class BlockingJournal implements MockEmployeeJournal {
+
+        private final List<MockEmployeeChange> appended = new CopyOnWriteArrayList<>();
+        private final CountDownLatch durable = new CountDownLatch(1);
+        private volatile RuntimeException failure;
+
+        @Override
+        public Optional<MockEmployeeStore.Roster> recovered() {
+            return Optional.empty();
+        }
+
+        @Override
+        public void append(MockEmployeeChange change) {
+            appended.add(change);
+        }
+
+        @Override
+        public void awaitDurable(long version) {
+            try {
+                durable.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        void awaitAppended(int changes) throws InterruptedException {
+            final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (appended.size() < changes) {
+                assertTrue(System.nanoTime() < deadline, "appended=" + appended.size());
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100000, 30, "Engineer", "someone@company.com");
+    }
+}